@@ -0,0 +1,349 @@
+package com.ishan.moviereservation.analytics;
+
+import com.ishan.moviereservation.dto.ShowtimeSelection;
+import com.ishan.moviereservation.dto.ShowtimeStart;
+import com.ishan.moviereservation.dto.SoldSeatSummary;
+import com.ishan.moviereservation.dto.TakenSeat;
+import com.ishan.moviereservation.event.ShowtimeChangedEvent;
+import com.ishan.moviereservation.event.SoldSeatsChangedEvent;
+import com.ishan.moviereservation.repository.SeatReservationRepository;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Sold seats of every showtime as a bitmap over seat ordinals of its screen, for set questions across
+ * showtimes ("seats sold in every Friday evening showing of a movie", "seats sold at all on a screen this
+ * month") answered with AND, OR and cardinality instead of self-joins on {@code seat_reservations}.
+ * Ordinals are handed out per screen as sold seats are first seen, so bitmaps stay dense even where seat
+ * ids are not. The whole index is rebuilt from the database at startup and periodically, and patched with
+ * the seats the booking path sells and gives back after commit; other nodes' sales appear on rebuild.
+ * Sales and showtime changes announced while a rebuild or a showtime reload reads from the database are
+ * replayed onto what it read before that is swapped in.
+ */
+@Component
+@Slf4j
+public class SoldSeatIndex {
+
+    public static final int MAX_SELECTION_DAYS = 366;
+
+    // Keeps IN lists well below database parameter limits
+    private static final int LOAD_CHUNK = 1000;
+
+    private final ShowtimeRepository showtimeRepository;
+    private final SeatReservationRepository seatReservationRepository;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    // Rebuilds and showtime reloads reading from the database, with what was announced meanwhile; guarded by this
+    private final List<Reading> readings = new ArrayList<>();
+
+    public SoldSeatIndex(ShowtimeRepository showtimeRepository, SeatReservationRepository seatReservationRepository) {
+        this.showtimeRepository = showtimeRepository;
+        this.seatReservationRepository = seatReservationRepository;
+    }
+
+    /**
+     * Read every showtime and paid seat into a fresh index, replay what was announced meanwhile and swap it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.analytics.sold-seats-rebuild-interval:21600000}",
+        initialDelayString = "${app.analytics.sold-seats-rebuild-interval:21600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            Reading reading = begin(List.of());
+            try {
+                Snapshot fresh = new Snapshot();
+                try (Stream<ShowtimeStart> starts = showtimeRepository.streamStarts()) {
+                    starts.forEach(fresh::put);
+                }
+                long seats;
+                try (Stream<TakenSeat> sold = seatReservationRepository.streamSoldSeats()) {
+                    seats = sold.filter(seat -> fresh.mark(seat.getShowtimeId(), seat.getSeatId(), true)).count();
+                }
+                synchronized (this) {
+                    List<Long> changed = new ArrayList<>(reading.showtimeIds);
+                    if (!changed.isEmpty()) {
+                        replace(fresh, changed, load(changed), List.of());
+                    }
+                    reading.sales.forEach(fresh::apply);
+                    snapshot = fresh;
+                }
+                log.info("Sold seat index rebuilt with {} showtimes and {} sold seats", fresh.byId.size(), seats);
+            } finally {
+                end(reading);
+            }
+        }
+    }
+
+    /**
+     * Seats sold in every and in any of the selected showtimes, with the total sold, per screen
+     */
+    public List<SoldSeatSummary> summarize(ShowtimeSelection selection) {
+        if (selection.getFrom() == null || selection.getTo() == null || !selection.getFrom().isBefore(selection.getTo())) {
+            throw new RuntimeException("Selection needs a start before its end");
+        }
+        if (ChronoUnit.DAYS.between(selection.getFrom(), selection.getTo()) >= MAX_SELECTION_DAYS) {
+            throw new RuntimeException("Selection must span less than " + MAX_SELECTION_DAYS + " days");
+        }
+
+        Snapshot current = snapshot;
+        Map<Long, Totals> byScreen = new TreeMap<>();
+        for (Entry entry : current.byStart.subMap(new StartKey(selection.getFrom(), Long.MIN_VALUE),
+                new StartKey(selection.getTo(), Long.MIN_VALUE)).values()) {
+            if (matches(entry, selection)) {
+                byScreen.computeIfAbsent(entry.showtime.getScreenId(), id -> new Totals()).add(entry);
+            }
+        }
+
+        List<SoldSeatSummary> summaries = new ArrayList<>();
+        byScreen.forEach((screenId, totals) -> {
+            Layout layout = current.layouts.get(screenId);
+            summaries.add(new SoldSeatSummary(screenId, totals.showtimes, totals.soldSeats,
+                layout.seatIds(totals.soldInEvery), layout.seatIds(totals.soldInAny)));
+        });
+        return summaries;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSoldSeatsChanged(SoldSeatsChangedEvent event) {
+        readings.forEach(reading -> reading.sales.add(event));
+        snapshot.apply(event);
+    }
+
+    /**
+     * Re-read the changed showtimes: new ones join, rescheduled ones may have moved, deleted ones go.
+     * Each entry is replaced in one step, so the showtimes never drop out of the index while they are read.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        List<Long> ids = event.getShowtimeIds();
+        Reading reading = begin(ids);
+        try {
+            Loaded loaded = load(ids);
+            synchronized (this) {
+                // Showtimes changed again since are left to the reload that began after this one
+                List<Long> unchanged = ids.stream().filter(id -> !reading.showtimeIds.contains(id)).toList();
+                replace(snapshot, unchanged, loaded, reading.sales);
+            }
+        } finally {
+            end(reading);
+        }
+    }
+
+    /**
+     * Start collecting what is announced while reading; the changed showtimes are handed to readings already under way
+     */
+    private synchronized Reading begin(List<Long> changedShowtimeIds) {
+        readings.forEach(reading -> reading.showtimeIds.addAll(changedShowtimeIds));
+        Reading reading = new Reading();
+        readings.add(reading);
+        return reading;
+    }
+
+    private synchronized void end(Reading reading) {
+        readings.remove(reading);
+    }
+
+    private Loaded load(List<Long> ids) {
+        List<ShowtimeStart> starts = new ArrayList<>();
+        List<TakenSeat> sold = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + LOAD_CHUNK));
+            starts.addAll(showtimeRepository.findStartsByIdIn(chunk));
+            sold.addAll(seatReservationRepository.findSoldSeatsByShowtimeIdIn(chunk));
+        }
+        return new Loaded(starts, sold);
+    }
+
+    /**
+     * Swap in freshly read entries for the showtimes, with the given sales replayed onto them; showtimes no longer found go
+     */
+    private static void replace(Snapshot target, List<Long> ids, Loaded loaded, List<SoldSeatsChangedEvent> sales) {
+        Map<Long, Entry> entries = new HashMap<>();
+        for (ShowtimeStart start : loaded.starts()) {
+            entries.put(start.getShowtimeId(), target.entry(start));
+        }
+        for (TakenSeat seat : loaded.sold()) {
+            Entry entry = entries.get(seat.getShowtimeId());
+            if (entry != null) {
+                entry.mark(seat.getSeatId(), true);
+            }
+        }
+        for (SoldSeatsChangedEvent sale : sales) {
+            Entry entry = entries.get(sale.getShowtimeId());
+            if (entry != null) {
+                entry.apply(sale);
+            }
+        }
+        ids.forEach(id -> target.replace(id, entries.get(id)));
+    }
+
+    private static boolean matches(Entry entry, ShowtimeSelection selection) {
+        ShowtimeStart showtime = entry.showtime;
+        LocalTime time = showtime.getStartTime().toLocalTime();
+        return (selection.getMovieId() == null || selection.getMovieId().equals(showtime.getMovieId()))
+            && (selection.getScreenId() == null || selection.getScreenId().equals(showtime.getScreenId()))
+            && (selection.getDayOfWeek() == null || selection.getDayOfWeek() == showtime.getStartTime().getDayOfWeek())
+            && (selection.getStartsAfter() == null || !time.isBefore(selection.getStartsAfter()))
+            && (selection.getStartsBefore() == null || time.isBefore(selection.getStartsBefore()));
+    }
+
+    private record Loaded(List<ShowtimeStart> starts, List<TakenSeat> sold) {
+    }
+
+    /**
+     * Sales and showtime changes announced while a rebuild or a showtime reload reads
+     */
+    private static final class Reading {
+        private final List<SoldSeatsChangedEvent> sales = new ArrayList<>();
+        private final Set<Long> showtimeIds = new LinkedHashSet<>();
+    }
+
+    private record StartKey(LocalDateTime startTime, long showtimeId) implements Comparable<StartKey> {
+        @Override
+        public int compareTo(StartKey other) {
+            int byTime = startTime.compareTo(other.startTime);
+            return byTime != 0 ? byTime : Long.compare(showtimeId, other.showtimeId);
+        }
+    }
+
+    /**
+     * Showtimes by id and by start time, and the seat ordinals of each screen
+     */
+    private static final class Snapshot {
+        private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+        private final NavigableMap<StartKey, Entry> byStart = new ConcurrentSkipListMap<>();
+        private final Map<Long, Layout> layouts = new ConcurrentHashMap<>();
+
+        private Entry entry(ShowtimeStart showtime) {
+            return new Entry(showtime, layouts.computeIfAbsent(showtime.getScreenId(), id -> new Layout()));
+        }
+
+        private void put(ShowtimeStart showtime) {
+            replace(showtime.getShowtimeId(), entry(showtime));
+        }
+
+        /**
+         * Point the showtime at the new entry, or drop it when there is none, keeping the start-time order in step
+         */
+        private void replace(Long showtimeId, Entry entry) {
+            Entry previous = entry != null ? byId.put(showtimeId, entry) : byId.remove(showtimeId);
+            if (entry != null) {
+                byStart.put(entry.key(), entry);
+            }
+            if (previous != null && (entry == null || !previous.key().equals(entry.key()))) {
+                byStart.remove(previous.key());
+            }
+        }
+
+        private boolean mark(Long showtimeId, Long seatId, boolean sold) {
+            Entry entry = byId.get(showtimeId);
+            if (entry == null) {
+                return false;
+            }
+            entry.mark(seatId, sold);
+            return true;
+        }
+
+        private void apply(SoldSeatsChangedEvent event) {
+            Entry entry = byId.get(event.getShowtimeId());
+            if (entry != null) {
+                entry.apply(event);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final ShowtimeStart showtime;
+        private final Layout layout;
+        private final BitSet sold = new BitSet();
+
+        private Entry(ShowtimeStart showtime, Layout layout) {
+            this.showtime = showtime;
+            this.layout = layout;
+        }
+
+        private StartKey key() {
+            return new StartKey(showtime.getStartTime(), showtime.getShowtimeId());
+        }
+
+        private void mark(Long seatId, boolean isSold) {
+            int ordinal = layout.ordinal(seatId);
+            synchronized (this) {
+                sold.set(ordinal, isSold);
+            }
+        }
+
+        private void apply(SoldSeatsChangedEvent event) {
+            event.getSoldSeatIds().forEach(seatId -> mark(seatId, true));
+            event.getUnsoldSeatIds().forEach(seatId -> mark(seatId, false));
+        }
+
+        private synchronized BitSet copy() {
+            return (BitSet) sold.clone();
+        }
+    }
+
+    /**
+     * Seat ordinals of one screen, handed out in the order sold seats are first seen and never reused
+     */
+    private static final class Layout {
+        private final Map<Long, Integer> ordinalBySeatId = new HashMap<>();
+        private final List<Long> seatIdByOrdinal = new ArrayList<>();
+
+        private synchronized int ordinal(Long seatId) {
+            return ordinalBySeatId.computeIfAbsent(seatId, id -> {
+                seatIdByOrdinal.add(id);
+                return seatIdByOrdinal.size() - 1;
+            });
+        }
+
+        private synchronized List<Long> seatIds(BitSet ordinals) {
+            return ordinals.stream().mapToObj(seatIdByOrdinal::get).sorted().toList();
+        }
+    }
+
+    private static final class Totals {
+        private int showtimes;
+        private long soldSeats;
+        private BitSet soldInEvery;
+        private final BitSet soldInAny = new BitSet();
+
+        private void add(Entry entry) {
+            BitSet sold = entry.copy();
+            showtimes++;
+            soldSeats += sold.cardinality();
+            soldInAny.or(sold);
+            if (soldInEvery == null) {
+                soldInEvery = sold;
+            } else {
+                soldInEvery.and(sold);
+            }
+        }
+    }
+}
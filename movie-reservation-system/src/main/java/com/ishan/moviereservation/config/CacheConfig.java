@@ -0,0 +1,60 @@
+package com.ishan.moviereservation.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+@Configuration
+// Run the cache advice outside the transaction advice so cache hits never open a transaction
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String MOVIES = "movies";
+    public static final String MOVIES_BY_GENRE = "moviesByGenre";
+    public static final String MOVIE_PAGES = "moviePages";
+    public static final String CATALOG_VERSIONS = "catalogVersions";
+    public static final String SEAT_POPULARITY = "seatPopularity";
+
+    // Only the first catalogue pages are hot enough to be worth caching
+    public static final int CACHED_MOVIE_PAGES = 5;
+
+    @Value("${app.cache.movies:maximumSize=5000,expireAfterWrite=10m}")
+    private String moviesSpec;
+
+    @Value("${app.cache.movies-by-genre:maximumSize=200,expireAfterWrite=5m}")
+    private String moviesByGenreSpec;
+
+    @Value("${app.cache.movie-pages:maximumSize=100,expireAfterWrite=1m}")
+    private String moviePagesSpec;
+
+    @Value("${app.cache.catalog-versions:maximumSize=10,expireAfterWrite=1m}")
+    private String catalogVersionsSpec;
+
+    @Value("${app.cache.seat-popularity:maximumSize=1000,expireAfterWrite=15m}")
+    private String seatPopularitySpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Unknown cache names are a programming error, not something to create on the fly
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(MOVIES, caffeine(moviesSpec));
+        cacheManager.registerCustomCache(MOVIES_BY_GENRE, caffeine(moviesByGenreSpec));
+        cacheManager.registerCustomCache(MOVIE_PAGES, caffeine(moviePagesSpec));
+        cacheManager.registerCustomCache(CATALOG_VERSIONS, caffeine(catalogVersionsSpec));
+        cacheManager.registerCustomCache(SEAT_POPULARITY, caffeine(seatPopularitySpec));
+        return cacheManager;
+    }
+
+    private Cache<Object, Object> caffeine(String spec) {
+        return Caffeine.from(spec).recordStats().build();
+    }
+}
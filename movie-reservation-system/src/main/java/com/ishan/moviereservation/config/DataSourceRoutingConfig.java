@@ -0,0 +1,77 @@
+package com.ishan.moviereservation.config;
+
+import com.ishan.moviereservation.metrics.ConnectionHoldTimeTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting: read-only transactions go to the replica pools, everything else to the
+ * primary from spring.datasource. Off by default; to try it locally, point the replica URLs at a
+ * second Postgres or simply at the primary's own URL.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Value("${app.datasource.routing.replica-urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.routing.replica-username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.routing.replica-password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.routing.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Bean(destroyMethod = "close", autowireCandidate = false)
+    ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                      ConnectionHoldTimeTracker connectionHoldTimeTracker) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // Same pool settings Spring Boot would have applied to its own DataSource
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setMetricsTrackerFactory(connectionHoldTimeTracker);
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(url);
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setPoolName(primary.getPoolName() + "-replica-" + replicas.size());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        log.info("Routing read-only transactions to {} replica(s), read-your-writes window {}", replicas.size(), readYourWritesWindow);
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesWindow);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ConnectionHoldTimeTracker connectionHoldTimeTracker) {
+        // Defers borrowing a connection until the first statement, by when the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource(properties, environment, connectionHoldTimeTracker));
+    }
+}
@@ -0,0 +1,51 @@
+package com.ishan.moviereservation.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class JpaConfig {
+
+    /**
+     * Fetch size for the streaming finders, so PostgreSQL reads through a server-side cursor
+     * (it only does so inside a transaction, which the pool's disabled auto-commit guarantees)
+     */
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Fail fast on data access outside a transaction instead of silently borrowing another connection
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.jpa.strict-transactions", havingValue = "true")
+    public HibernatePropertiesCustomizer strictTransactionsCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StrictTransactionStatementInspector());
+    }
+
+    /**
+     * Wrap every Spring Data repository in the {@link ResultSizeGuard}, which reports oversized results after
+     * they are read; a limit of 0 turns the guard off
+     */
+    @Bean
+    static BeanPostProcessor resultSizeGuardPostProcessor(Environment environment) {
+        // Read from the environment: placeholders are not resolved yet when post-processors are created
+        int maxUnboundedRows = environment.getProperty("app.jpa.max-unbounded-rows", Integer.class, 10000);
+        ResultSizeGuard guard = new ResultSizeGuard(maxUnboundedRows);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // Before afterPropertiesSet, which is when the factory bean creates the repository proxy
+                if (maxUnboundedRows > 0 && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(guard)));
+                }
+                return bean;
+            }
+        };
+    }
+}
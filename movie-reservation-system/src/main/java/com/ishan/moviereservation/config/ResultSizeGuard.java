@@ -0,0 +1,68 @@
+package com.ishan.moviereservation.config;
+
+import com.ishan.moviereservation.exception.ResultSetTooLargeException;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+/**
+ * Rejects repository calls that return more than the configured number of rows without being bounded
+ * by a Pageable, Limit, scroll position or an explicit id collection; an unpaged {@link Slice} or
+ * {@link Page} counts as unbounded. The check runs after the rows are loaded, so it does not protect
+ * the heap from the call that trips it: it makes a finder that has outgrown its data fail loudly and
+ * show up in the logs instead of growing quietly. Use the paged or streaming variant instead.
+ */
+@Slf4j
+class ResultSizeGuard implements MethodInterceptor {
+
+    private final int maxRows;
+
+    ResultSizeGuard(int maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        int size = size(result);
+        if (size > maxRows && !isBounded(invocation.getArguments())) {
+            Method method = invocation.getMethod();
+            String message = method.getDeclaringClass().getSimpleName() + "." + method.getName() + " returned "
+                + size + " rows, more than the unbounded query limit of " + maxRows;
+            log.error("{}; use a paged or streaming variant", message);
+            throw new ResultSetTooLargeException(message);
+        }
+        return result;
+    }
+
+    private static int size(Object result) {
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        return 0;
+    }
+
+    // Pageable.unpaged() and Limit.unlimited() do not count
+    private static boolean isBounded(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Pageable pageable && pageable.isPaged()
+                    || argument instanceof Limit limit && limit.isLimited()
+                    || argument instanceof ScrollPosition
+                    || argument instanceof Iterable<?>) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
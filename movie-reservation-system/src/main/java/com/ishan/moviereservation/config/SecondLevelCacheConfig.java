@@ -0,0 +1,101 @@
+package com.ishan.moviereservation.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for reference data (theaters, screens, seats, movies), backed by
+ * Caffeine through JCache. Every region is created here with its own size and TTL; Hibernate is
+ * told to fail on any region it would otherwise create unbounded.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String THEATERS = "theaters";
+    public static final String SCREENS = "screens";
+    public static final String SEATS = "seats";
+    public static final String SEAT_NATURAL_IDS = "seatNaturalIds";
+    public static final String MOVIES = "movies";
+    public static final String SEAT_QUERIES = "seatQueries";
+
+    @Value("${app.cache.regions.theaters:maximumSize=1000,expireAfterWrite=1h}")
+    private String theatersSpec;
+
+    @Value("${app.cache.regions.screens:maximumSize=5000,expireAfterWrite=1h}")
+    private String screensSpec;
+
+    @Value("${app.cache.regions.seats:maximumSize=200000,expireAfterWrite=1h}")
+    private String seatsSpec;
+
+    @Value("${app.cache.regions.seat-natural-ids:maximumSize=200000,expireAfterWrite=1h}")
+    private String seatNaturalIdsSpec;
+
+    @Value("${app.cache.regions.movies:maximumSize=5000,expireAfterWrite=30m}")
+    private String moviesSpec;
+
+    @Value("${app.cache.regions.seat-queries:maximumSize=5000,expireAfterWrite=10m}")
+    private String seatQueriesSpec;
+
+    @Value("${app.cache.regions.query-results:maximumSize=1000,expireAfterWrite=5m}")
+    private String queryResultsSpec;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jcacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        cacheManager.createCache(THEATERS, region(theatersSpec));
+        cacheManager.createCache(SCREENS, region(screensSpec));
+        cacheManager.createCache(SEATS, region(seatsSpec));
+        cacheManager.createCache(SEAT_NATURAL_IDS, region(seatNaturalIdsSpec));
+        cacheManager.createCache(MOVIES, region(moviesSpec));
+        cacheManager.createCache(SEAT_QUERIES, region(seatQueriesSpec));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryResultsSpec));
+        // Table timestamps must outlive every cached query result, so this region is never evicted
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(""));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jcacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, jcacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    /**
+     * Region configuration from a "maximumSize=...,expireAfterWrite=..." spec
+     */
+    private static CaffeineConfiguration<Object, Object> region(String spec) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores immutable disassembled state, so copying entries on every read is wasted work
+        configuration.setStoreByValue(false);
+        for (String option : spec.split(",")) {
+            if (option.isBlank()) {
+                continue;
+            }
+            String[] keyValue = option.trim().split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Invalid cache region option: " + option);
+            }
+            switch (keyValue[0]) {
+                case "maximumSize" -> configuration.setMaximumSize(OptionalLong.of(Long.parseLong(keyValue[1])));
+                case "expireAfterWrite" -> configuration.setExpireAfterWrite(
+                    OptionalLong.of(DurationStyle.SIMPLE.parse(keyValue[1]).toNanos()));
+                default -> throw new IllegalArgumentException("Unsupported cache region option: " + option);
+            }
+        }
+        return configuration;
+    }
+}
@@ -5,6 +5,7 @@ import com.ishan.moviereservation.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -41,6 +42,7 @@ public class SecurityConfig {
                 .requestMatchers("/admin/**").hasRole("ADMIN")
                 .requestMatchers("/movies/**").permitAll()
                 .requestMatchers("/showtimes/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/theaters/**").permitAll()
                 .requestMatchers("/reservations/**").hasRole("USER")
                 .requestMatchers("/users/**").hasRole("USER")
                 .anyRequest().authenticated()
@@ -0,0 +1,20 @@
+package com.ishan.moviereservation.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Rejects any SQL Hibernate issues outside a Spring-managed transaction, such as a lazy
+ * association touched after the service returned. Enabled by app.jpa.strict-transactions,
+ * which is meant for tests; in production the same mistake only costs an extra connection borrow.
+ */
+class StrictTransactionStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("SQL issued outside a transaction (lazy loading after the service returned?): " + sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ishan.moviereservation.controller;
+
+import com.ishan.moviereservation.analytics.SoldSeatIndex;
+import com.ishan.moviereservation.dto.ShowtimeSelection;
+import com.ishan.moviereservation.dto.SoldSeatSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/analytics")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminAnalyticsController {
+
+    private final SoldSeatIndex soldSeatIndex;
+
+    @GetMapping("/sold-seats")
+    public ResponseEntity<List<SoldSeatSummary>> getSoldSeats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long movieId,
+            @RequestParam(required = false) Long screenId,
+            @RequestParam(required = false) DayOfWeek dayOfWeek,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime startsAfter,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "HH:mm") LocalTime startsBefore) {
+        ShowtimeSelection selection = new ShowtimeSelection(from, to, movieId, screenId, dayOfWeek, startsAfter, startsBefore);
+        log.info("Summarizing sold seats of {}", selection);
+        return ResponseEntity.ok(soldSeatIndex.summarize(selection));
+    }
+
+    @PostMapping("/sold-seats/rebuild")
+    public ResponseEntity<Void> rebuildSoldSeats() {
+        log.info("Rebuilding sold seat index from the database");
+        soldSeatIndex.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.ishan.moviereservation.controller;
+
+import com.ishan.moviereservation.service.CacheStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/cache")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminCacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        log.info("Fetching cache statistics");
+        return ResponseEntity.ok(cacheStatsService.getCacheStats());
+    }
+
+    @GetMapping("/stats/second-level")
+    public ResponseEntity<Map<String, Map<String, Object>>> getSecondLevelCacheStats() {
+        log.info("Fetching second-level cache statistics");
+        return ResponseEntity.ok(cacheStatsService.getSecondLevelCacheStats());
+    }
+}
@@ -0,0 +1,71 @@
+package com.ishan.moviereservation.controller;
+
+import com.ishan.moviereservation.dto.SalesMinute;
+import com.ishan.moviereservation.metrics.ConnectionHoldTimeTracker;
+import com.ishan.moviereservation.metrics.ReservationCounters;
+import com.ishan.moviereservation.metrics.SalesTicker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/metrics")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminMetricsController {
+
+    private final ConnectionHoldTimeTracker connectionHoldTimeTracker;
+    private final ReservationCounters reservationCounters;
+    private final SalesTicker salesTicker;
+
+    @GetMapping("/connections")
+    public ResponseEntity<Map<String, Object>> getConnectionStats() {
+        log.info("Fetching connection hold time statistics");
+        return ResponseEntity.ok(connectionHoldTimeTracker.getStats());
+    }
+
+    @DeleteMapping("/connections")
+    public ResponseEntity<Void> resetConnectionStats() {
+        log.info("Resetting connection hold time statistics");
+        connectionHoldTimeTracker.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/reservations")
+    public ResponseEntity<Map<String, Object>> getReservationCounts() {
+        log.info("Fetching reservation counters");
+        return ResponseEntity.ok(reservationCounters.getCounts());
+    }
+
+    @PostMapping("/reservations/resync")
+    public ResponseEntity<Map<String, Object>> resyncReservationCounts() {
+        log.info("Re-reading reservation counters from the database");
+        reservationCounters.resync();
+        return ResponseEntity.ok(reservationCounters.getCounts());
+    }
+
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesMinute>> getSales() {
+        log.info("Fetching sales of the last 24 hours");
+        return ResponseEntity.ok(salesTicker.getLast24Hours());
+    }
+
+    @GetMapping(value = "/sales/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSales() throws IOException {
+        log.info("Opening sales ticker stream");
+        return salesTicker.subscribe();
+    }
+}
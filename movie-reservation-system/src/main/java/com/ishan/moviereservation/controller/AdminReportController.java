@@ -0,0 +1,91 @@
+package com.ishan.moviereservation.controller;
+
+import com.ishan.moviereservation.dto.OccupancyHeatmap;
+import com.ishan.moviereservation.dto.SalesSummary;
+import com.ishan.moviereservation.service.OccupancyReportService;
+import com.ishan.moviereservation.service.SalesRollupBackfill;
+import com.ishan.moviereservation.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/reports")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminReportController {
+
+    private final SalesRollupService salesRollupService;
+    private final SalesRollupBackfill salesRollupBackfill;
+    private final OccupancyReportService occupancyReportService;
+
+    @GetMapping("/revenue")
+    public ResponseEntity<Map<String, Object>> getRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Fetching revenue from {} to {}", from, to);
+        BigDecimal revenue = salesRollupService.getRevenue(from, to);
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "revenue", revenue));
+    }
+
+    @GetMapping("/sales")
+    public ResponseEntity<Page<SalesSummary>> getSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(defaultValue = "movie") String groupBy,
+            Pageable pageable) {
+        log.info("Fetching sales by {} and {} from {} to {}, page {}", granularity, groupBy, from, to, pageable);
+        return ResponseEntity.ok(salesRollupService.getSales(granularity, groupBy, from, to, pageable));
+    }
+
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Rebuilding sales rollups from {} to {}", from, to);
+        int days = salesRollupBackfill.rebuild(from, to);
+        return ResponseEntity.ok(Map.of("from", from, "to", to, "days", days));
+    }
+
+    @GetMapping("/theaters/{theaterId}/occupancy")
+    public ResponseEntity<OccupancyHeatmap> getOccupancyHeatmap(
+            @PathVariable Long theaterId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Fetching occupancy heatmap of theater {} from {} to {}", theaterId, from, to);
+        return ResponseEntity.ok(occupancyReportService.getHeatmap(theaterId, from, to));
+    }
+
+    @GetMapping(value = "/theaters/{theaterId}/occupancy/csv", produces = "text/csv")
+    public ResponseEntity<String> getOccupancyHeatmapCsv(
+            @PathVariable Long theaterId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Exporting occupancy heatmap of theater {} from {} to {}", theaterId, from, to);
+        OccupancyHeatmap heatmap = occupancyReportService.getHeatmap(theaterId, from, to);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"occupancy-" + theaterId + "-" + from + "-" + to + ".csv\"")
+            .body(occupancyReportService.toCsv(heatmap));
+    }
+}
@@ -2,16 +2,22 @@ package com.ishan.moviereservation.controller;
 
 import com.ishan.moviereservation.dto.ScreenRequest;
 import com.ishan.moviereservation.dto.ScreenResponse;
+import com.ishan.moviereservation.dto.SeatPopularity;
+import com.ishan.moviereservation.dto.VersionStamp;
 import com.ishan.moviereservation.service.ScreenService;
+import com.ishan.moviereservation.service.SeatService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -22,6 +28,7 @@ import java.util.List;
 public class AdminScreenController {
 
     private final ScreenService screenService;
+    private final SeatService seatService;
 
     @PostMapping("/theater/{theaterId}")
     public ResponseEntity<ScreenResponse> createScreen(@PathVariable Long theaterId, @Valid @RequestBody ScreenRequest request) {
@@ -45,17 +52,23 @@ public class AdminScreenController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<ScreenResponse>> getAllScreens(Pageable pageable) {
+    public ResponseEntity<Page<ScreenResponse>> getAllScreens(Pageable pageable, WebRequest webRequest) {
         log.info("Fetching all screens with pagination");
+        VersionStamp version = screenService.getScreenListVersion();
+        String eTag = HttpCaching.eTag("screens", version);
+        if (webRequest.checkNotModified(eTag)) {
+            return HttpCaching.notModified(HttpCaching.ADMIN);
+        }
         Page<ScreenResponse> screens = screenService.getAllScreens(pageable);
-        return ResponseEntity.ok(screens);
+        return HttpCaching.ok(screens, eTag, HttpCaching.ADMIN);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ScreenResponse> getScreenById(@PathVariable Long id) {
         log.info("Fetching screen with id: {}", id);
         ScreenResponse screen = screenService.getScreenById(id);
-        return ResponseEntity.ok(screen);
+        return HttpCaching.ok(screen, HttpCaching.eTag("screen", screen.getId(), screen.getUpdatedAt()),
+            HttpCaching.lastModified(screen.getUpdatedAt()), HttpCaching.ADMIN);
     }
 
     @GetMapping("/theater/{theaterId}")
@@ -64,4 +77,13 @@ public class AdminScreenController {
         List<ScreenResponse> screens = screenService.getScreensByTheater(theaterId);
         return ResponseEntity.ok(screens);
     }
+
+    @GetMapping("/{id}/seat-popularity")
+    public ResponseEntity<SeatPopularity> getSeatPopularity(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Fetching seat popularity of screen {} from {} to {}", id, from, to);
+        return ResponseEntity.ok(seatService.getSeatPopularity(id, from, to));
+    }
 }
@@ -0,0 +1,47 @@
+package com.ishan.moviereservation.controller;
+
+import com.ishan.moviereservation.dto.BulkShowtimeRequest;
+import com.ishan.moviereservation.dto.BulkShowtimeResponse;
+import com.ishan.moviereservation.dto.RecurringShowtimeRequest;
+import com.ishan.moviereservation.dto.ScheduleProposalRequest;
+import com.ishan.moviereservation.dto.ScheduleProposalResponse;
+import com.ishan.moviereservation.service.SchedulePackingService;
+import com.ishan.moviereservation.service.ShowtimeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/showtimes")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminShowtimeController {
+
+    private final ShowtimeService showtimeService;
+    private final SchedulePackingService schedulePackingService;
+
+    @PostMapping("/recurring")
+    public ResponseEntity<BulkShowtimeResponse> scheduleRecurring(@Valid @RequestBody RecurringShowtimeRequest request) {
+        log.info("Scheduling recurring showtimes for movie: {}", request.getMovieId());
+        BulkShowtimeResponse response = showtimeService.scheduleRecurring(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkShowtimeResponse> scheduleBulk(@Valid @RequestBody BulkShowtimeRequest request) {
+        log.info("Scheduling {} showtime slots", request.getSlots().size());
+        BulkShowtimeResponse response = showtimeService.scheduleSlots(request.getSlots());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/proposals")
+    public ResponseEntity<ScheduleProposalResponse> proposeSchedule(@Valid @RequestBody ScheduleProposalRequest request) {
+        log.info("Proposing schedule for theater: {}", request.getTheaterId());
+        ScheduleProposalResponse response = schedulePackingService.proposeSchedule(request);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,6 +2,7 @@ package com.ishan.moviereservation.controller;
 
 import com.ishan.moviereservation.dto.TheaterRequest;
 import com.ishan.moviereservation.dto.TheaterResponse;
+import com.ishan.moviereservation.dto.VersionStamp;
 import com.ishan.moviereservation.service.TheaterService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/admin/theaters")
@@ -43,9 +47,21 @@ public class AdminTheaterController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<TheaterResponse>> getAllTheaters(Pageable pageable) {
+    public ResponseEntity<Page<TheaterResponse>> getAllTheaters(Pageable pageable, WebRequest webRequest) {
         log.info("Fetching all theaters with pagination");
+        VersionStamp version = theaterService.getTheaterListVersion();
+        String eTag = HttpCaching.eTag("theaters", version);
+        if (webRequest.checkNotModified(eTag)) {
+            return HttpCaching.notModified(HttpCaching.ADMIN);
+        }
         Page<TheaterResponse> theaters = theaterService.getAllTheaters(pageable);
+        return HttpCaching.ok(theaters, eTag, HttpCaching.ADMIN);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TheaterResponse>> searchTheaters(@RequestParam("q") String searchTerm) {
+        log.info("Searching theaters by name or address: {}", searchTerm);
+        List<TheaterResponse> theaters = theaterService.searchTheaters(searchTerm);
         return ResponseEntity.ok(theaters);
     }
 
@@ -53,6 +69,7 @@ public class AdminTheaterController {
     public ResponseEntity<TheaterResponse> getTheaterById(@PathVariable Long id) {
         log.info("Fetching theater with id: {}", id);
         TheaterResponse theater = theaterService.getTheaterById(id);
-        return ResponseEntity.ok(theater);
+        return HttpCaching.ok(theater, HttpCaching.eTag("theater", theater.getId(), theater.getUpdatedAt()),
+            HttpCaching.lastModified(theater.getUpdatedAt()), HttpCaching.ADMIN);
     }
 }
@@ -0,0 +1,78 @@
+package com.ishan.moviereservation.controller;
+
+import com.ishan.moviereservation.dto.VersionStamp;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ETag, Last-Modified and Cache-Control helpers shared by the read endpoints.
+ * Conditional checks themselves are done with {@link org.springframework.web.context.request.WebRequest#checkNotModified}.
+ */
+final class HttpCaching {
+
+    // Anonymous catalogue data: shareable by browsers and proxies, revalidated with ETags once stale
+    static final CacheControl CATALOG_ITEM = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+    static final CacheControl CATALOG_LIST = CacheControl.maxAge(1, TimeUnit.MINUTES).cachePublic();
+
+    // Seat availability changes with every booking; a few seconds of staleness is fine for listing badges
+    static final CacheControl LIVE = CacheControl.maxAge(5, TimeUnit.SECONDS).cachePublic();
+
+    // Admin data: never stored by shared caches and always revalidated
+    static final CacheControl ADMIN = CacheControl.noCache().cachePrivate();
+
+    private HttpCaching() {
+    }
+
+    /**
+     * Strong ETag for a single entity, derived from its id and last modification
+     */
+    static String eTag(String resource, Long id, LocalDateTime updatedAt) {
+        return resource + "-" + id + "-" + micros(updatedAt);
+    }
+
+    /**
+     * Strong ETag for a collection, derived from its version stamp. Collections are validated by ETag alone:
+     * deleting a row changes the count but not the latest timestamp, so a Last-Modified would answer 304 after it.
+     */
+    static String eTag(String resource, VersionStamp version) {
+        return resource + "-" + version.getCount() + "-" + micros(version.getLastModified());
+    }
+
+    /**
+     * Epoch milliseconds for Last-Modified, or -1 when unknown
+     */
+    static long lastModified(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toInstant(ZoneOffset.UTC).toEpochMilli() : -1;
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String eTag, CacheControl cacheControl) {
+        return ok(body, eTag, -1, cacheControl);
+    }
+
+    static <T> ResponseEntity<T> ok(T body, String eTag, long lastModified, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .cacheControl(cacheControl)
+            .eTag(eTag);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder.body(body);
+    }
+
+    static <T> ResponseEntity<T> notModified(CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .cacheControl(cacheControl)
+            .build();
+    }
+
+    private static long micros(LocalDateTime timestamp) {
+        return timestamp != null
+            ? timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000
+            : 0;
+    }
+}
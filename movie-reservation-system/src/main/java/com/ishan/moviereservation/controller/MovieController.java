@@ -1,6 +1,7 @@
 package com.ishan.moviereservation.controller;
 
 import com.ishan.moviereservation.dto.MovieResponse;
+import com.ishan.moviereservation.dto.VersionStamp;
 import com.ishan.moviereservation.service.MovieService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,8 +9,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/movies")
@@ -20,75 +25,55 @@ public class MovieController {
     private final MovieService movieService;
 
     @GetMapping
-    public ResponseEntity<Page<MovieResponse>> getAllMovies(Pageable pageable) {
+    public ResponseEntity<Page<MovieResponse>> getAllMovies(Pageable pageable, WebRequest webRequest) {
         log.info("Public request: Fetching all movies with pagination");
+        VersionStamp version = movieService.getCatalogVersion();
+        String eTag = HttpCaching.eTag("movies", version);
+        if (webRequest.checkNotModified(eTag)) {
+            return HttpCaching.notModified(HttpCaching.CATALOG_LIST);
+        }
         Page<MovieResponse> movies = movieService.getAllMovies(pageable);
-        return ResponseEntity.ok(movies);
+        return HttpCaching.ok(movies, eTag, HttpCaching.CATALOG_LIST);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<MovieResponse> getMovieById(@PathVariable Long id) {
         log.info("Public request: Fetching movie with id: {}", id);
         MovieResponse movie = movieService.getMovieById(id);
-        return ResponseEntity.ok(movie);
+        // The body comes from the movie cache; a matching If-None-Match is answered 304 before serialization
+        return HttpCaching.ok(movie, HttpCaching.eTag("movie", movie.getId(), movie.getUpdatedAt()),
+            HttpCaching.lastModified(movie.getUpdatedAt()), HttpCaching.CATALOG_ITEM);
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<MovieResponse>> searchMovies(
             @RequestParam(required = false) String title,
-            @RequestParam(required = false) String genre) {
+            @RequestParam(required = false) String genre,
+            WebRequest webRequest) {
         
         log.info("Public request: Searching movies with title: {}, genre: {}", title, genre);
-        
-        List<MovieResponse> movies;
-        if (title != null && genre != null) {
-            movies = movieService.searchByTitleAndGenre(title, genre)
-                .stream()
-                .map(this::convertToResponse)
-                .toList();
-        } else if (title != null) {
-            movies = movieService.searchByTitle(title)
-                .stream()
-                .map(this::convertToResponse)
-                .toList();
-        } else if (genre != null) {
-            movies = movieService.searchByGenre(genre)
-                .stream()
-                .map(this::convertToResponse)
-                .toList();
-        } else {
-            movies = movieService.findAllOrderByTitle()
-                .stream()
-                .map(this::convertToResponse)
-                .toList();
+
+        // Search results can only change when the catalogue does, so its version stamp validates every query
+        VersionStamp version = movieService.getCatalogVersion();
+        String eTag = HttpCaching.eTag("movies-search", version);
+        if (webRequest.checkNotModified(eTag)) {
+            return HttpCaching.notModified(HttpCaching.CATALOG_LIST);
         }
         
-        return ResponseEntity.ok(movies);
+        List<MovieResponse> movies = movieService.searchMovies(title, genre);
+        return HttpCaching.ok(movies, eTag, HttpCaching.CATALOG_LIST);
     }
 
     @GetMapping("/genre/{genre}")
     public ResponseEntity<List<MovieResponse>> getMoviesByGenre(@PathVariable String genre) {
         log.info("Public request: Fetching movies by genre: {}", genre);
-        List<MovieResponse> movies = movieService.findByGenre(genre)
-            .stream()
-            .map(this::convertToResponse)
-            .toList();
-        return ResponseEntity.ok(movies);
-    }
-
-    /**
-     * Convert Movie entity to MovieResponse DTO
-     */
-    private MovieResponse convertToResponse(com.ishan.moviereservation.entity.Movie movie) {
-        return new MovieResponse(
-            movie.getId(),
-            movie.getTitle(),
-            movie.getDescription(),
-            movie.getPosterUrl(),
-            movie.getGenre(),
-            movie.getDurationMinutes(),
-            movie.getCreatedAt(),
-            movie.getUpdatedAt()
-        );
+        List<MovieResponse> movies = movieService.getMoviesByGenre(genre);
+        LocalDateTime lastUpdated = movies.stream()
+            .map(MovieResponse::getUpdatedAt)
+            .filter(Objects::nonNull)
+            .max(Comparator.naturalOrder())
+            .orElse(null);
+        VersionStamp version = new VersionStamp(movies.size(), lastUpdated);
+        return HttpCaching.ok(movies, HttpCaching.eTag("movies-genre", version), HttpCaching.CATALOG_LIST);
     }
 }
@@ -0,0 +1,53 @@
+package com.ishan.moviereservation.controller;
+
+import com.ishan.moviereservation.dto.OccupancySummary;
+import com.ishan.moviereservation.dto.ShowtimeSummary;
+import com.ishan.moviereservation.service.ShowtimeOccupancyService;
+import com.ishan.moviereservation.service.ShowtimeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/showtimes")
+@RequiredArgsConstructor
+@Slf4j
+public class ShowtimeController {
+
+    private final ShowtimeService showtimeService;
+    private final ShowtimeOccupancyService occupancyService;
+
+    @GetMapping
+    public ResponseEntity<List<ShowtimeSummary>> getSchedule(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long theaterId,
+            @RequestParam(required = false) Integer seatsTogether) {
+
+        LocalDate day = date != null ? date : LocalDate.now();
+        log.info("Public request: Fetching schedule for date: {}, theater: {}, seats together: {}", day, theaterId, seatsTogether);
+        if (seatsTogether != null) {
+            // Depends on live seat availability, so it cannot be cached like the catalog
+            return ResponseEntity.ok()
+                .cacheControl(HttpCaching.LIVE)
+                .body(showtimeService.getSchedule(day, theaterId, seatsTogether));
+        }
+        List<ShowtimeSummary> showtimes = showtimeService.getSchedule(day, theaterId);
+        return ResponseEntity.ok()
+            .cacheControl(HttpCaching.CATALOG_LIST)
+            .body(showtimes);
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<List<OccupancySummary>> getAvailability(@RequestParam List<Long> ids) {
+        log.info("Public request: Fetching availability for {} showtimes", ids.size());
+        List<OccupancySummary> availability = occupancyService.getAvailability(ids);
+        return ResponseEntity.ok()
+            .cacheControl(HttpCaching.LIVE)
+            .body(availability);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ishan.moviereservation.controller;
+
+import com.ishan.moviereservation.dto.NearbyTheaterResponse;
+import com.ishan.moviereservation.service.TheaterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/theaters")
+@RequiredArgsConstructor
+@Slf4j
+public class TheaterController {
+
+    private final TheaterService theaterService;
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyTheaterResponse>> getNearbyTheaters(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") double radius,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("Public request: Fetching theaters within {} km of ({}, {})", radius, lat, lon);
+        List<NearbyTheaterResponse> theaters = theaterService.findNearbyTheaters(lat, lon, radius, limit);
+        return ResponseEntity.ok(theaters);
+    }
+}
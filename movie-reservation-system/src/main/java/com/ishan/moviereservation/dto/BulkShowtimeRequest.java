@@ -0,0 +1,19 @@
+package com.ishan.moviereservation.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkShowtimeRequest {
+
+    @NotEmpty(message = "At least one slot is required")
+    @Valid
+    private List<ShowtimeSlot> slots;
+}
@@ -0,0 +1,17 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkShowtimeResponse {
+    private int requested;
+    private int created;
+    private int rejected;
+    private List<ShowtimeSlotResult> slots;
+}
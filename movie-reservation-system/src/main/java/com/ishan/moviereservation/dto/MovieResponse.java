@@ -18,4 +18,12 @@ public class MovieResponse {
     private Integer durationMinutes;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Catalogue list row: everything but the description, which only the movie detail carries
+     */
+    public MovieResponse(Long id, String title, String posterUrl, String genre, Integer durationMinutes,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, null, posterUrl, genre, durationMinutes, createdAt, updatedAt);
+    }
 }
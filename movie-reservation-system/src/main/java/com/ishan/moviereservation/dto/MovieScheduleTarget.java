@@ -0,0 +1,27 @@
+package com.ishan.moviereservation.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovieScheduleTarget {
+
+    @NotNull(message = "Movie is required")
+    private Long movieId;
+
+    // Showtimes wanted over the whole period, across all screens
+    @NotNull(message = "Target showtime count is required")
+    @Positive(message = "Target showtime count must be positive")
+    private Integer targetShowtimes;
+
+    @NotNull(message = "Ticket price is required")
+    @Positive(message = "Ticket price must be positive")
+    private BigDecimal ticketPrice;
+}
@@ -0,0 +1,20 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyTheaterResponse {
+    private Long id;
+    private String name;
+    private String address;
+    private double latitude;
+    private double longitude;
+    private double distanceKm;
+    private List<ShowtimeSummary> upcomingShowtimes;
+}
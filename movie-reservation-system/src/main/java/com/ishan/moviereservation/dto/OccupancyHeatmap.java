@@ -0,0 +1,36 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupancy of a theater's screens by day and hour. Each day holds matrices indexed {@code [screen][hour]},
+ * screens in the order of {@code screenIds}; a showtime counts in the hour it starts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyHeatmap {
+    private Long theaterId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<Long> screenIds;
+    private List<String> screenNames;
+    private List<Day> days;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Day {
+        private LocalDate date;
+        private int[][] showtimes;
+        private int[][] sold;
+        private int[][] capacity;
+        // Sold seats as a whole percentage of capacity, 0 where nothing was scheduled
+        private int[][] occupancyPercent;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancySummary {
+    private Long showtimeId;
+    private int capacity;
+    private int sold;
+    private int held;
+
+    public int getAvailable() {
+        return Math.max(0, capacity - sold - held);
+    }
+}
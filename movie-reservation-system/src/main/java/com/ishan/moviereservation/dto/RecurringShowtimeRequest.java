@@ -0,0 +1,43 @@
+package com.ishan.moviereservation.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringShowtimeRequest {
+
+    @NotNull(message = "Movie is required")
+    private Long movieId;
+
+    @NotEmpty(message = "At least one screen is required")
+    private List<Long> screenIds;
+
+    // Days of the week to schedule on; empty means every day
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotEmpty(message = "At least one start time is required")
+    private List<LocalTime> startTimes;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Ticket price is required")
+    @Positive(message = "Ticket price must be positive")
+    private BigDecimal ticketPrice;
+}
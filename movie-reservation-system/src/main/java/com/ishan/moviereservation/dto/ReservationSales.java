@@ -0,0 +1,24 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One reservation's contribution to the sales rollups: where it belongs and its taken seats and amount.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSales {
+    private LocalDateTime createdAt;
+    private Long showtimeId;
+    private String status;
+    private Long movieId;
+    private Long theaterId;
+    private long tickets;
+    private BigDecimal amount;
+}
@@ -0,0 +1,22 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Net reservations sold, their tickets and amount within the minute starting at {@code minute};
+ * refunds of earlier sales count negative
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesMinute {
+    private LocalDateTime minute;
+    private long reservations;
+    private long tickets;
+    private BigDecimal amount;
+}
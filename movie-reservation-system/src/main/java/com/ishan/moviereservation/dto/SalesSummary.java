@@ -0,0 +1,24 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reservations, taken seats and amount of one movie, theater or showtime ({@code groupId}) in one status,
+ * for reservations created in the hour or day starting at {@code bucketStart}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesSummary {
+    private LocalDateTime bucketStart;
+    private Long groupId;
+    private String status;
+    private long reservations;
+    private long tickets;
+    private BigDecimal amount;
+}
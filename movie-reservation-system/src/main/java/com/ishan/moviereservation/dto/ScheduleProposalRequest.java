@@ -0,0 +1,49 @@
+package com.ishan.moviereservation.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleProposalRequest {
+
+    @NotNull(message = "Theater is required")
+    private Long theaterId;
+
+    // Screens to program; empty means every screen of the theater
+    private List<Long> screenIds;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    // First possible start of each day
+    @NotNull(message = "Opening time is required")
+    private LocalTime openingTime = LocalTime.of(10, 0);
+
+    // Latest possible end of each day; at or before opening time means after midnight
+    @NotNull(message = "Closing time is required")
+    private LocalTime closingTime = LocalTime.of(23, 30);
+
+    @PositiveOrZero(message = "Cleaning buffer must not be negative")
+    private Integer cleaningBufferMinutes = 15;
+
+    // Keep filling free time once every target is met
+    private boolean fillGaps;
+
+    @NotEmpty(message = "At least one movie is required")
+    @Valid
+    private List<MovieScheduleTarget> movies;
+}
@@ -0,0 +1,24 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Proposed schedule; {@code slots} can be committed unchanged through the bulk scheduling endpoint.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleProposalResponse {
+    private Long theaterId;
+    private List<ShowtimeSlot> slots;
+    private Map<Long, Integer> targetByMovie;
+    private Map<Long, Integer> placedByMovie;
+    // Share of opening hours occupied by showtimes and cleaning, per screen
+    private Map<Long, Double> utilizationByScreen;
+    private long computeMillis;
+}
@@ -10,6 +10,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ScreenResponse {
+
+    // Default assumption until rows and seats per row are stored on the screen
+    private static final int DEFAULT_SEATS_PER_ROW = 10;
+
     private Long id;
     private String name;
     private Integer numberOfRows;
@@ -20,4 +24,18 @@ public class ScreenResponse {
     private String theaterName;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    public ScreenResponse(Long id, String name, Integer capacity, Long theaterId, String theaterName,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.totalSeats = capacity;
+        this.seatsPerRow = DEFAULT_SEATS_PER_ROW;
+        // Round up for partial rows
+        this.numberOfRows = (capacity + DEFAULT_SEATS_PER_ROW - 1) / DEFAULT_SEATS_PER_ROW;
+        this.theaterId = theaterId;
+        this.theaterName = theaterName;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
@@ -0,0 +1,24 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * How often each seat of a screen was held or sold for showtimes starting from {@code from} through {@code to}.
+ * {@code bookings[i]} belongs to {@code seatIds[i]} and {@code labels[i]}, in screen layout order (row, then column).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatPopularity {
+    private Long screenId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<Long> seatIds;
+    private List<String> labels;
+    private int[] bookings;
+}
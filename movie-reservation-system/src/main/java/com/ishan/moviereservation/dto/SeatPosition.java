@@ -0,0 +1,15 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatPosition {
+    private Long seatId;
+    private Long screenId;
+    private String rowLabel;
+    private Integer col;
+}
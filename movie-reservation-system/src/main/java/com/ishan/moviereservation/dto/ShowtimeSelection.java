@@ -0,0 +1,27 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Showtimes starting in [{@code from}, {@code to}), optionally only of one movie or screen, on one day of
+ * the week, or starting at or after {@code startsAfter} and before {@code startsBefore} in the day.
+ * Null fields do not filter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowtimeSelection {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Long movieId;
+    private Long screenId;
+    private DayOfWeek dayOfWeek;
+    private LocalTime startsAfter;
+    private LocalTime startsBefore;
+}
@@ -0,0 +1,35 @@
+package com.ishan.moviereservation.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One candidate showtime for bulk scheduling.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowtimeSlot {
+
+    @NotNull(message = "Movie is required")
+    private Long movieId;
+
+    @NotNull(message = "Screen is required")
+    private Long screenId;
+
+    @NotNull(message = "Start time is required")
+    private LocalDateTime startTime;
+
+    @NotNull(message = "End time is required")
+    private LocalDateTime endTime;
+
+    @NotNull(message = "Ticket price is required")
+    @Positive(message = "Ticket price must be positive")
+    private BigDecimal ticketPrice;
+}
@@ -0,0 +1,30 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one candidate slot in a bulk scheduling request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowtimeSlotResult {
+
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        INVALID
+    }
+
+    private Long movieId;
+    private Long screenId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Status status;
+    private Long showtimeId;
+    private String message;
+}
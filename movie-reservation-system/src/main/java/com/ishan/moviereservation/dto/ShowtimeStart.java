@@ -0,0 +1,17 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowtimeStart {
+    private Long showtimeId;
+    private Long screenId;
+    private Long movieId;
+    private LocalDateTime startTime;
+}
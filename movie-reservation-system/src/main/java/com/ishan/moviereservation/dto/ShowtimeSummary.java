@@ -0,0 +1,26 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat showtime listing entry with the movie, screen and theater it belongs to.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShowtimeSummary {
+    private Long id;
+    private Long movieId;
+    private String movieTitle;
+    private Long screenId;
+    private String screenName;
+    private Long theaterId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BigDecimal ticketPrice;
+}
@@ -0,0 +1,22 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Sold seats of the selected showtimes on one screen: the seats sold in every one of them, the seats sold
+ * in at least one, and the total number of seats sold across them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SoldSeatSummary {
+    private Long screenId;
+    private int showtimes;
+    private long soldSeats;
+    private List<Long> soldInEvery;
+    private List<Long> soldInAny;
+}
@@ -0,0 +1,17 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of rows in one status belonging to one movie or theater ({@code groupId})
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusCount {
+    private Long groupId;
+    private String status;
+    private long count;
+}
@@ -0,0 +1,19 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Minimal theater projection held by the in-memory geo index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TheaterLocation {
+    private Long id;
+    private String name;
+    private String address;
+    private double latitude;
+    private double longitude;
+}
@@ -18,7 +18,20 @@ public class TheaterResponse {
     private String state;
     private String zipCode;
     private String phoneNumber;
+    private Double latitude;
+    private Double longitude;
     private List<ScreenResponse> screens;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    public TheaterResponse(Long id, String name, String address, Double latitude, Double longitude,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.address = address;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
@@ -0,0 +1,36 @@
+package com.ishan.moviereservation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Cheap aggregate describing the current state of a collection: row count and latest modification.
+ * Any insert, update or delete changes at least one of the two.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionStamp {
+    private long count;
+    private LocalDateTime lastModified;
+
+    public VersionStamp(Long count, LocalDateTime maxUpdatedAt, LocalDateTime maxCreatedAt) {
+        this(count != null ? count : 0L, latest(maxUpdatedAt, maxCreatedAt));
+    }
+
+    public VersionStamp(Long count, LocalDateTime maxUpdatedAt, LocalDateTime maxCreatedAt, LocalDateTime maxParentUpdatedAt) {
+        this(count != null ? count : 0L, latest(maxUpdatedAt, maxCreatedAt, maxParentUpdatedAt));
+    }
+
+    private static LocalDateTime latest(LocalDateTime... timestamps) {
+        return Stream.of(timestamps)
+            .filter(Objects::nonNull)
+            .max(LocalDateTime::compareTo)
+            .orElse(null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ishan.moviereservation.entity;
+
+import jakarta.persistence.*;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Sales rollup by the day a reservation was created in; {@code bucketStart} is the start of that day.
+ */
+@Entity
+@Table(name = "sales_daily")
+@IdClass(SalesRollupId.class)
+@NoArgsConstructor
+public class DailySales extends SalesRollup {
+
+    public DailySales(LocalDateTime bucketStart, Long showtimeId, String status, Long movieId, Long theaterId,
+                     long reservations, long tickets, BigDecimal amount) {
+        super(bucketStart, showtimeId, status, movieId, theaterId, reservations, tickets, amount);
+    }
+}
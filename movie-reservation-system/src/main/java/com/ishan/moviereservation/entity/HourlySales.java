@@ -0,0 +1,22 @@
+package com.ishan.moviereservation.entity;
+
+import jakarta.persistence.*;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Sales rollup by the hour a reservation was created in; {@code bucketStart} is the start of that hour.
+ */
+@Entity
+@Table(name = "sales_hourly")
+@IdClass(SalesRollupId.class)
+@NoArgsConstructor
+public class HourlySales extends SalesRollup {
+
+    public HourlySales(LocalDateTime bucketStart, Long showtimeId, String status, Long movieId, Long theaterId,
+                     long reservations, long tickets, BigDecimal amount) {
+        super(bucketStart, showtimeId, status, movieId, theaterId, reservations, tickets, amount);
+    }
+}
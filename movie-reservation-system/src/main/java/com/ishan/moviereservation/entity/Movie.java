@@ -1,22 +1,27 @@
 package com.ishan.moviereservation.entity;
 
+import com.ishan.moviereservation.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "movies")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.MOVIES)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = {"showtimes"})
-@EqualsAndHashCode(callSuper = true, exclude = {"showtimes"})
+@ToString(exclude = {"description", "posterUrl", "showtimes"})
+@EqualsAndHashCode(callSuper = true, exclude = {"description", "posterUrl", "showtimes"})
 public class Movie extends BaseEntity {
 
     @NotBlank(message = "Title is required")
@@ -24,9 +29,12 @@ public class Movie extends BaseEntity {
     @Column(name = "title", nullable = false)
     private String title;
 
+    // TEXT columns, loaded together on first access (needs bytecode enhancement); list views project what they need
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "poster_url", columnDefinition = "TEXT")
     private String posterUrl;
 
@@ -39,6 +47,7 @@ public class Movie extends BaseEntity {
     private String genre;
 
     // Relationships
+    @BatchSize(size = 32)
     @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Showtime> showtimes = new ArrayList<>();
 
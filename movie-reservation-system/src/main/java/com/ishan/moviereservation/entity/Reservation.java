@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,6 +13,11 @@ import java.util.List;
 
 @Entity
 @Table(name = "reservations")
+@NamedEntityGraph(
+    name = "Reservation.showtime",
+    attributeNodes = @NamedAttributeNode(value = "showtime", subgraph = "showtime"),
+    subgraphs = @NamedSubgraph(name = "showtime", attributeNodes = {@NamedAttributeNode("movie"), @NamedAttributeNode("screen")})
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,6 +48,7 @@ public class Reservation extends BaseEntity {
     private LocalDateTime holdExpiry;
 
     // Relationships
+    @BatchSize(size = 32)
     @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<SeatReservation> seatReservations = new ArrayList<>();
 
@@ -0,0 +1,48 @@
+package com.ishan.moviereservation.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reservations, taken seats and reserved amount of one showtime in one status, for reservations created
+ * within one time bucket. Rows are only ever changed through the upsert and rebuild queries of
+ * {@code SalesRollupRepository}; movie and theater are copied from the showtime so reports need no joins.
+ */
+@MappedSuperclass
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public abstract class SalesRollup {
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "showtime_id", nullable = false)
+    private Long showtimeId;
+
+    @Id
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "movie_id", nullable = false)
+    private Long movieId;
+
+    @Column(name = "theater_id", nullable = false)
+    private Long theaterId;
+
+    @Column(name = "reservations", nullable = false)
+    private long reservations;
+
+    @Column(name = "tickets", nullable = false)
+    private long tickets;
+
+    @Column(name = "amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount;
+}
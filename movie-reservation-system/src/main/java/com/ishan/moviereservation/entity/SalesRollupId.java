@@ -0,0 +1,16 @@
+package com.ishan.moviereservation.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SalesRollupId implements Serializable {
+    private LocalDateTime bucketStart;
+    private Long showtimeId;
+    private String status;
+}
@@ -1,16 +1,22 @@
 package com.ishan.moviereservation.entity;
 
+import com.ishan.moviereservation.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "screens")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.SCREENS)
+@NamedEntityGraph(name = "Screen.theater", attributeNodes = @NamedAttributeNode("theater"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -34,9 +40,11 @@ public class Screen extends BaseEntity {
     private Integer capacity;
 
     // Relationships
+    @BatchSize(size = 32)
     @OneToMany(mappedBy = "screen", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Seat> seats = new ArrayList<>();
 
+    @BatchSize(size = 32)
     @OneToMany(mappedBy = "screen", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Showtime> showtimes = new ArrayList<>();
 
@@ -1,16 +1,24 @@
 package com.ishan.moviereservation.entity;
 
+import com.ishan.moviereservation.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "seats")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.SEATS)
+@NaturalIdCache(region = SecondLevelCacheConfig.SEAT_NATURAL_IDS)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,11 +28,13 @@ import java.util.List;
 public class Seat extends BaseEntity {
 
     @NotNull(message = "Screen is required")
+    @NaturalId(mutable = true)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "screen_id", nullable = false)
     private Screen screen;
 
     @NotBlank(message = "Seat label is required")
+    @NaturalId(mutable = true)
     @Size(max = 16, message = "Seat label must not exceed 16 characters")
     @Column(name = "label", nullable = false, length = 16)
     private String label;
@@ -37,6 +47,7 @@ public class Seat extends BaseEntity {
     private Integer col;
 
     // Relationships
+    @BatchSize(size = 32)
     @OneToMany(mappedBy = "seat", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<SeatReservation> seatReservations = new ArrayList<>();
 
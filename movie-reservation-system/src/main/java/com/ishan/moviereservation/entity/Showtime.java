@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,6 +13,11 @@ import java.util.List;
 
 @Entity
 @Table(name = "showtimes")
+@NamedEntityGraph(
+    name = "Showtime.movieAndScreen",
+    attributeNodes = {@NamedAttributeNode("movie"), @NamedAttributeNode(value = "screen", subgraph = "screen")},
+    subgraphs = @NamedSubgraph(name = "screen", attributeNodes = @NamedAttributeNode("theater"))
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -44,9 +50,11 @@ public class Showtime extends BaseEntity {
     private BigDecimal ticketPrice;
 
     // Relationships
+    @BatchSize(size = 32)
     @OneToMany(mappedBy = "showtime", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Reservation> reservations = new ArrayList<>();
 
+    @BatchSize(size = 32)
     @OneToMany(mappedBy = "showtime", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<SeatReservation> seatReservations = new ArrayList<>();
 
@@ -0,0 +1,32 @@
+package com.ishan.moviereservation.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Sold and held seat counters of one showtime. Rows are created with the showtime and only ever
+ * changed through the increment queries in {@code ShowtimeOccupancyRepository}, so concurrent
+ * bookings never overwrite each other's counts.
+ */
+@Entity
+@Table(name = "showtime_occupancy")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+public class ShowtimeOccupancy {
+
+    @Id
+    @Column(name = "showtime_id")
+    private Long showtimeId;
+
+    @Column(name = "capacity", nullable = false)
+    private int capacity;
+
+    @Column(name = "sold", nullable = false)
+    private int sold;
+
+    @Column(name = "held", nullable = false)
+    private int held;
+}
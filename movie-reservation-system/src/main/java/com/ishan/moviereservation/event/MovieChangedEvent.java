@@ -0,0 +1,19 @@
+package com.ishan.moviereservation.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Set;
+
+/**
+ * Published when a movie is created, updated or deleted.
+ * Carries every genre the change touched so listeners can invalidate precisely.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class MovieChangedEvent {
+    private final Long movieId;
+    private final Set<String> genres;
+}
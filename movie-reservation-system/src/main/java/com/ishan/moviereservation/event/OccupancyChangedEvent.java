@@ -0,0 +1,17 @@
+package com.ishan.moviereservation.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when the sold or held seat counters of a showtime were changed by the given amounts
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class OccupancyChangedEvent {
+    private final Long showtimeId;
+    private final int soldDelta;
+    private final int heldDelta;
+}
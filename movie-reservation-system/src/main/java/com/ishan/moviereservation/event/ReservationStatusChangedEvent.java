@@ -0,0 +1,23 @@
+package com.ishan.moviereservation.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when a reservation of the given movie and theater went from one status to another
+ * (null when created or deleted), carrying its taken seats and amount at that moment
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ReservationStatusChangedEvent {
+    private final Long movieId;
+    private final Long theaterId;
+    private final String fromStatus;
+    private final String toStatus;
+    private final long tickets;
+    private final BigDecimal amount;
+}
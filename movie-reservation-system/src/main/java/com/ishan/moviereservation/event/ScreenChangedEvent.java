@@ -0,0 +1,15 @@
+package com.ishan.moviereservation.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a screen is created, updated or deleted.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ScreenChangedEvent {
+    private final Long screenId;
+}
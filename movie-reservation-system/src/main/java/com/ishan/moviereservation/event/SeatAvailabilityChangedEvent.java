@@ -0,0 +1,19 @@
+package com.ishan.moviereservation.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Published when seats of a showtime were taken (held or sold) or put back on sale
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class SeatAvailabilityChangedEvent {
+    private final Long showtimeId;
+    private final List<Long> takenSeatIds;
+    private final List<Long> releasedSeatIds;
+}
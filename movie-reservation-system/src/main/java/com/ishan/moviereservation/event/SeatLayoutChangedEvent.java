@@ -0,0 +1,15 @@
+package com.ishan.moviereservation.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when seats are added to, moved between or removed from screens
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class SeatLayoutChangedEvent {
+    private final Long screenId;
+}
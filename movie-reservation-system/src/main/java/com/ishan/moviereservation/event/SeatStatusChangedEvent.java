@@ -0,0 +1,17 @@
+package com.ishan.moviereservation.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when the given number of seat reservations went from one status to another (null when created or deleted)
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class SeatStatusChangedEvent {
+    private final String fromStatus;
+    private final String toStatus;
+    private final int seats;
+}
@@ -0,0 +1,22 @@
+package com.ishan.moviereservation.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Published when showtimes are created, updated or deleted.
+ * Bulk scheduling publishes one event for the whole batch.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ShowtimeChangedEvent {
+    private final List<Long> showtimeIds;
+
+    public ShowtimeChangedEvent(Long showtimeId) {
+        this(List.of(showtimeId));
+    }
+}
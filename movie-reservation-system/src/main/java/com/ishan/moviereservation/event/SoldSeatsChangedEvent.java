@@ -0,0 +1,19 @@
+package com.ishan.moviereservation.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Published when seats of a showtime were paid for or a paid seat was given back
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class SoldSeatsChangedEvent {
+    private final Long showtimeId;
+    private final List<Long> soldSeatIds;
+    private final List<Long> unsoldSeatIds;
+}
@@ -0,0 +1,15 @@
+package com.ishan.moviereservation.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published when a theater is created, updated or deleted.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class TheaterChangedEvent {
+    private final Long theaterId;
+}
@@ -0,0 +1,7 @@
+package com.ishan.moviereservation.exception;
+
+public class ResultSetTooLargeException extends RuntimeException {
+    public ResultSetTooLargeException(String message) {
+        super(message);
+    }
+}
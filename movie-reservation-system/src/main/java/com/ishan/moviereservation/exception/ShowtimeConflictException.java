@@ -0,0 +1,7 @@
+package com.ishan.moviereservation.exception;
+
+public class ShowtimeConflictException extends RuntimeException {
+    public ShowtimeConflictException(String message) {
+        super(message);
+    }
+}
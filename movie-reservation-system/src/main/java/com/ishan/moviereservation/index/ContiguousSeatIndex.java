@@ -0,0 +1,320 @@
+package com.ishan.moviereservation.index;
+
+import com.ishan.moviereservation.dto.SeatPosition;
+import com.ishan.moviereservation.dto.ShowtimeSummary;
+import com.ishan.moviereservation.dto.TakenSeat;
+import com.ishan.moviereservation.event.SeatAvailabilityChangedEvent;
+import com.ishan.moviereservation.event.SeatLayoutChangedEvent;
+import com.ishan.moviereservation.event.ShowtimeChangedEvent;
+import com.ishan.moviereservation.repository.SeatRepository;
+import com.ishan.moviereservation.repository.SeatReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Longest run of free seats side by side in one row, per showtime, for "N seats together" filtering.
+ * Each screen's seats are laid out on a bitset row by row with a gap bit between rows, so a run of
+ * free bits never spans two rows; a showtime keeps a copy with its held and sold seats cleared and the
+ * length of the longest remaining run. Filtering is then one map lookup per showtime.
+ * Showtimes are loaded in batches on first use and patched after commit by the booking path. Holds and
+ * releases announced while a batch reads are replayed onto it before it is published, and a batch whose
+ * showtimes or screens are invalidated meanwhile answers its own caller but is not kept. A seat taken and
+ * given back by two commits whose announcements overtake each other can still end up with the wrong bit,
+ * and other nodes' bookings are never announced here; both are corrected when everything is dropped on
+ * the occupancy refresh interval.
+ */
+@Component
+@Slf4j
+public class ContiguousSeatIndex {
+
+    // Keeps IN lists well below database parameter limits
+    private static final int LOAD_CHUNK = 1000;
+
+    private final SeatRepository seatRepository;
+    private final SeatReservationRepository seatReservationRepository;
+    private final Map<Long, ScreenLayout> layouts = new ConcurrentHashMap<>();
+    private final Map<Long, ShowtimeSeats> showtimes = new ConcurrentHashMap<>();
+
+    // Batches being read, with what was announced about their showtimes meanwhile; guarded by this
+    private final List<Loading> loading = new ArrayList<>();
+
+    public ContiguousSeatIndex(SeatRepository seatRepository, SeatReservationRepository seatReservationRepository) {
+        this.seatRepository = seatRepository;
+        this.seatReservationRepository = seatReservationRepository;
+    }
+
+    /**
+     * The showtimes, in the given order, that still have at least {@code seats} free seats next to each other in a row
+     */
+    public List<ShowtimeSummary> withSeatsTogether(List<ShowtimeSummary> candidates, int seats) {
+        Map<Long, ShowtimeSeats> entries = entries(candidates);
+        List<ShowtimeSummary> result = new ArrayList<>();
+        for (ShowtimeSummary candidate : candidates) {
+            ShowtimeSeats entry = entries.get(candidate.getId());
+            if (entry != null && entry.longestFreeRun >= seats) {
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Most free seats side by side in one row of the showtime
+     */
+    public int maxSeatsTogether(ShowtimeSummary showtime) {
+        ShowtimeSeats entry = entries(List.of(showtime)).get(showtime.getId());
+        return entry != null ? entry.longestFreeRun : 0;
+    }
+
+    /**
+     * Apply committed holds and releases to showtimes already in memory
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSeatAvailabilityChanged(SeatAvailabilityChangedEvent event) {
+        for (Loading load : loading) {
+            if (load.screenByShowtime.containsKey(event.getShowtimeId())) {
+                load.changes.add(event);
+            }
+        }
+        ShowtimeSeats entry = showtimes.get(event.getShowtimeId());
+        if (entry != null) {
+            entry.update(event.getTakenSeatIds(), event.getReleasedSeatIds());
+        }
+    }
+
+    /**
+     * A rescheduled showtime may have moved screens, and a deleted one must go
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onShowtimeChanged(ShowtimeChangedEvent event) {
+        loading.forEach(load -> load.screenByShowtime.keySet().removeAll(event.getShowtimeIds()));
+        event.getShowtimeIds().forEach(showtimes::remove);
+    }
+
+    /**
+     * Drop the screen's layout and every showtime laid out with it
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        loading.forEach(load -> load.screenIds.remove(event.getScreenId()));
+        layouts.remove(event.getScreenId());
+        showtimes.values().removeIf(entry -> entry.layout.screenId.equals(event.getScreenId()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.occupancy.refresh-interval:300000}")
+    public synchronized void invalidateAll() {
+        loading.forEach(Loading::invalidate);
+        showtimes.clear();
+        layouts.clear();
+    }
+
+    private Map<Long, ShowtimeSeats> entries(List<ShowtimeSummary> candidates) {
+        Map<Long, ShowtimeSeats> entries = new HashMap<>();
+        List<ShowtimeSummary> missing = new ArrayList<>();
+        for (ShowtimeSummary candidate : candidates) {
+            ShowtimeSeats entry = showtimes.get(candidate.getId());
+            if (entry != null) {
+                entries.put(candidate.getId(), entry);
+            } else {
+                missing.add(candidate);
+            }
+        }
+        if (!missing.isEmpty()) {
+            entries.putAll(load(missing));
+        }
+        return entries;
+    }
+
+    private Map<Long, ShowtimeSeats> load(List<ShowtimeSummary> missing) {
+        Loading load = new Loading(missing);
+        synchronized (this) {
+            loading.add(load);
+        }
+        try {
+            Map<Long, ScreenLayout> screenLayouts = new HashMap<>();
+            Set<Long> screenIds = new LinkedHashSet<>();
+            for (ShowtimeSummary showtime : missing) {
+                ScreenLayout layout = layouts.get(showtime.getScreenId());
+                if (layout != null) {
+                    screenLayouts.put(showtime.getScreenId(), layout);
+                } else {
+                    screenIds.add(showtime.getScreenId());
+                }
+            }
+            Map<Long, List<SeatPosition>> seatsByScreen = new HashMap<>();
+            for (List<Long> chunk : chunks(new ArrayList<>(screenIds))) {
+                for (SeatPosition seat : seatRepository.findPositionsByScreenIdIn(chunk)) {
+                    seatsByScreen.computeIfAbsent(seat.getScreenId(), id -> new ArrayList<>()).add(seat);
+                }
+            }
+            for (Long screenId : screenIds) {
+                screenLayouts.put(screenId, ScreenLayout.of(screenId, seatsByScreen.getOrDefault(screenId, List.of())));
+            }
+
+            Map<Long, List<Long>> takenByShowtime = new HashMap<>();
+            for (List<Long> chunk : chunks(missing.stream().map(ShowtimeSummary::getId).toList())) {
+                for (TakenSeat taken : seatReservationRepository.findTakenSeatsByShowtimeIdIn(chunk)) {
+                    takenByShowtime.computeIfAbsent(taken.getShowtimeId(), id -> new ArrayList<>()).add(taken.getSeatId());
+                }
+            }
+
+            Map<Long, ShowtimeSeats> loaded = new HashMap<>();
+            for (ShowtimeSummary showtime : missing) {
+                loaded.put(showtime.getId(), new ShowtimeSeats(screenLayouts.get(showtime.getScreenId()),
+                    takenByShowtime.getOrDefault(showtime.getId(), List.of())));
+            }
+            synchronized (this) {
+                for (SeatAvailabilityChangedEvent change : load.changes) {
+                    loaded.get(change.getShowtimeId()).update(change.getTakenSeatIds(), change.getReleasedSeatIds());
+                }
+                for (Long screenId : screenIds) {
+                    if (load.screenIds.contains(screenId)) {
+                        layouts.putIfAbsent(screenId, screenLayouts.get(screenId));
+                    }
+                }
+                for (Map.Entry<Long, ShowtimeSeats> entry : loaded.entrySet()) {
+                    Long screenId = load.screenByShowtime.get(entry.getKey());
+                    if (screenId != null && load.screenIds.contains(screenId)) {
+                        ShowtimeSeats current = showtimes.putIfAbsent(entry.getKey(), entry.getValue());
+                        if (current != null) {
+                            entry.setValue(current);
+                        }
+                    }
+                }
+            }
+            log.debug("Loaded seat runs of {} showtimes on {} new screen layouts", missing.size(), screenIds.size());
+            return loaded;
+        } finally {
+            synchronized (this) {
+                loading.remove(load);
+            }
+        }
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + LOAD_CHUNK)));
+        }
+        return chunks;
+    }
+
+    static int longestRun(BitSet bits) {
+        int longest = 0;
+        for (int start = bits.nextSetBit(0); start >= 0; ) {
+            int end = bits.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = bits.nextSetBit(end);
+        }
+        return longest;
+    }
+
+    /**
+     * Bit position of every seat of a screen: rows in label order, seats at their column, one gap bit after each row.
+     * Seats without a row or column stand alone.
+     */
+    private static final class ScreenLayout {
+        private final Long screenId;
+        private final Map<Long, Integer> bitBySeatId;
+        private final BitSet seats;
+
+        private ScreenLayout(Long screenId, Map<Long, Integer> bitBySeatId, BitSet seats) {
+            this.screenId = screenId;
+            this.bitBySeatId = bitBySeatId;
+            this.seats = seats;
+        }
+
+        static ScreenLayout of(Long screenId, List<SeatPosition> positions) {
+            Map<String, List<SeatPosition>> rows = new TreeMap<>();
+            List<SeatPosition> loose = new ArrayList<>();
+            for (SeatPosition position : positions) {
+                if (position.getRowLabel() == null || position.getCol() == null) {
+                    loose.add(position);
+                } else {
+                    rows.computeIfAbsent(position.getRowLabel(), row -> new ArrayList<>()).add(position);
+                }
+            }
+
+            Map<Long, Integer> bitBySeatId = new HashMap<>();
+            BitSet seats = new BitSet();
+            int offset = 0;
+            for (List<SeatPosition> row : rows.values()) {
+                row.sort(Comparator.comparing(SeatPosition::getCol));
+                int firstCol = row.get(0).getCol();
+                for (SeatPosition position : row) {
+                    int bit = offset + position.getCol() - firstCol;
+                    bitBySeatId.put(position.getSeatId(), bit);
+                    seats.set(bit);
+                }
+                offset += row.get(row.size() - 1).getCol() - firstCol + 2;
+            }
+            for (SeatPosition position : loose) {
+                bitBySeatId.put(position.getSeatId(), offset);
+                seats.set(offset);
+                offset += 2;
+            }
+            return new ScreenLayout(screenId, bitBySeatId, seats);
+        }
+    }
+
+    /**
+     * A batch being read: its showtimes and screens still valid to publish, and the changes announced for them meanwhile
+     */
+    private static final class Loading {
+        private final Map<Long, Long> screenByShowtime = new HashMap<>();
+        private final Set<Long> screenIds = new HashSet<>();
+        private final List<SeatAvailabilityChangedEvent> changes = new ArrayList<>();
+
+        private Loading(List<ShowtimeSummary> showtimes) {
+            for (ShowtimeSummary showtime : showtimes) {
+                screenByShowtime.put(showtime.getId(), showtime.getScreenId());
+                screenIds.add(showtime.getScreenId());
+            }
+        }
+
+        private void invalidate() {
+            screenByShowtime.clear();
+            screenIds.clear();
+        }
+    }
+
+    private static final class ShowtimeSeats {
+        private final ScreenLayout layout;
+        private final BitSet free;
+        private volatile int longestFreeRun;
+
+        private ShowtimeSeats(ScreenLayout layout, Collection<Long> takenSeatIds) {
+            this.layout = layout;
+            this.free = (BitSet) layout.seats.clone();
+            update(takenSeatIds, List.of());
+        }
+
+        private synchronized void update(Collection<Long> takenSeatIds, Collection<Long> releasedSeatIds) {
+            takenSeatIds.forEach(seatId -> mark(seatId, false));
+            releasedSeatIds.forEach(seatId -> mark(seatId, true));
+            longestFreeRun = longestRun(free);
+        }
+
+        private void mark(Long seatId, boolean isFree) {
+            Integer bit = layout.bitBySeatId.get(seatId);
+            if (bit != null) {
+                free.set(bit, isFree);
+            }
+        }
+    }
+}
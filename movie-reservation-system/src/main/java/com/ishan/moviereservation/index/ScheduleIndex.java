@@ -0,0 +1,240 @@
+package com.ishan.moviereservation.index;
+
+import com.ishan.moviereservation.dto.ShowtimeSummary;
+import com.ishan.moviereservation.event.MovieChangedEvent;
+import com.ishan.moviereservation.event.ScreenChangedEvent;
+import com.ishan.moviereservation.event.ShowtimeChangedEvent;
+import com.ishan.moviereservation.event.TheaterChangedEvent;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * "What's on" index: showtime summaries grouped by day and theater for a rolling window of days.
+ * Built at startup, rebuilt daily to roll the window forward, and patched after every committed
+ * showtime change and every movie, screen or theater change its summaries copy names from.
+ * Per-theater lists are immutable and replaced on write, so readers never lock. Writers serialize
+ * on the index; changes that arrive while a rebuild loads are recorded and replayed onto the new
+ * snapshot before it is swapped in.
+ */
+@Component
+@Slf4j
+public class ScheduleIndex {
+
+    private static final Comparator<ShowtimeSummary> BY_START_TIME =
+        Comparator.comparing(ShowtimeSummary::getStartTime).thenComparing(ShowtimeSummary::getId);
+
+    // Keeps IN lists well below database parameter limits
+    private static final int LOAD_CHUNK = 1000;
+
+    private final ShowtimeRepository showtimeRepository;
+    private final int windowDays;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Snapshot snapshot = new Snapshot(LocalDate.MIN, LocalDate.MIN);
+
+    // Changes seen while a rebuild loads, replayed onto its snapshot; null when no rebuild runs (guarded by this)
+    private Set<Long> pendingIds;
+    private List<Predicate<ShowtimeSummary>> pendingMatches;
+
+    public ScheduleIndex(ShowtimeRepository showtimeRepository,
+                         @Value("${app.schedule.window-days:14}") int windowDays) {
+        if (windowDays < 1) {
+            throw new IllegalArgumentException("Schedule window must cover at least one day: " + windowDays);
+        }
+        this.showtimeRepository = showtimeRepository;
+        this.windowDays = windowDays;
+    }
+
+    /**
+     * Reload the window starting today
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.schedule.refresh-cron:0 5 0 * * *}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            LocalDate firstDay = LocalDate.now();
+            Snapshot fresh = new Snapshot(firstDay, firstDay.plusDays(windowDays));
+            synchronized (this) {
+                pendingIds = new HashSet<>();
+                pendingMatches = new ArrayList<>();
+            }
+            try {
+                try (Stream<ShowtimeSummary> summaries = showtimeRepository.streamSummariesByStartTimeRange(
+                        fresh.firstDay.atStartOfDay(), fresh.endDay.atStartOfDay())) {
+                    summaries.forEach(fresh::add);
+                }
+                synchronized (this) {
+                    Set<Long> replay = new HashSet<>(pendingIds);
+                    pendingMatches.forEach(affected -> replay.addAll(fresh.idsMatching(affected)));
+                    refresh(fresh, replay);
+                    snapshot = fresh;
+                    log.info("Schedule index built for {} to {} with {} showtimes ({} replayed)",
+                        fresh.firstDay, fresh.endDay.minusDays(1), fresh.locations.size(), replay.size());
+                }
+            } finally {
+                synchronized (this) {
+                    pendingIds = null;
+                    pendingMatches = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-read changed showtimes once their transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onShowtimeChanged(ShowtimeChangedEvent event) {
+        log.debug("Refreshing schedule index for {}", event);
+        refresh(snapshot, event.getShowtimeIds());
+        if (pendingIds != null) {
+            pendingIds.addAll(event.getShowtimeIds());
+        }
+    }
+
+    /**
+     * Re-read the showtimes of a renamed movie
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        refreshMatching(summary -> summary.getMovieId().equals(event.getMovieId()));
+    }
+
+    /**
+     * Re-read the showtimes of a renamed or moved screen
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScreenChanged(ScreenChangedEvent event) {
+        refreshMatching(summary -> summary.getScreenId().equals(event.getScreenId()));
+    }
+
+    /**
+     * Re-read the showtimes of a changed theater
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTheaterChanged(TheaterChangedEvent event) {
+        refreshMatching(summary -> summary.getTheaterId().equals(event.getTheaterId()));
+    }
+
+    /**
+     * Whether the day is inside the indexed window
+     */
+    public boolean covers(LocalDate day) {
+        Snapshot current = snapshot;
+        return !day.isBefore(current.firstDay) && day.isBefore(current.endDay);
+    }
+
+    /**
+     * Showtimes of one theater on one day, by start time
+     */
+    public List<ShowtimeSummary> getSchedule(Long theaterId, LocalDate day) {
+        Map<Long, List<ShowtimeSummary>> theaters = snapshot.days.get(day);
+        return theaters != null ? theaters.getOrDefault(theaterId, List.of()) : List.of();
+    }
+
+    /**
+     * Showtimes of every theater on one day, by start time
+     */
+    public List<ShowtimeSummary> getSchedule(LocalDate day) {
+        Map<Long, List<ShowtimeSummary>> theaters = snapshot.days.get(day);
+        if (theaters == null) {
+            return List.of();
+        }
+        List<ShowtimeSummary> all = new ArrayList<>();
+        theaters.values().forEach(all::addAll);
+        all.sort(BY_START_TIME);
+        return all;
+    }
+
+    public int size() {
+        return snapshot.locations.size();
+    }
+
+    private synchronized void refreshMatching(Predicate<ShowtimeSummary> affected) {
+        refresh(snapshot, snapshot.idsMatching(affected));
+        if (pendingMatches != null) {
+            pendingMatches.add(affected);
+        }
+    }
+
+    // Replace the given showtimes with their current summaries; deleted ones just drop out
+    private void refresh(Snapshot target, Collection<Long> showtimeIds) {
+        List<Long> ids = List.copyOf(showtimeIds);
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + LOAD_CHUNK));
+            List<ShowtimeSummary> summaries = showtimeRepository.findSummariesByIdIn(chunk);
+            chunk.forEach(target::remove);
+            summaries.forEach(target::add);
+        }
+    }
+
+    private static final class Snapshot {
+        private final LocalDate firstDay;
+        private final LocalDate endDay;
+        private final Map<LocalDate, Map<Long, List<ShowtimeSummary>>> days = new ConcurrentHashMap<>();
+        // Where each showtime currently sits, so updates and deletes can find it
+        private final Map<Long, ShowtimeSummary> locations = new ConcurrentHashMap<>();
+
+        private Snapshot(LocalDate firstDay, LocalDate endDay) {
+            this.firstDay = firstDay;
+            this.endDay = endDay;
+        }
+
+        List<Long> idsMatching(Predicate<ShowtimeSummary> affected) {
+            return locations.values().stream().filter(affected).map(ShowtimeSummary::getId).toList();
+        }
+
+        void add(ShowtimeSummary summary) {
+            LocalDate day = summary.getStartTime().toLocalDate();
+            if (day.isBefore(firstDay) || !day.isBefore(endDay)) {
+                return;
+            }
+            days.computeIfAbsent(day, d -> new ConcurrentHashMap<>())
+                .compute(summary.getTheaterId(), (theaterId, current) -> {
+                    List<ShowtimeSummary> updated = current != null ? new ArrayList<>(current) : new ArrayList<>();
+                    updated.add(summary);
+                    updated.sort(BY_START_TIME);
+                    return List.copyOf(updated);
+                });
+            locations.put(summary.getId(), summary);
+        }
+
+        void remove(Long showtimeId) {
+            ShowtimeSummary previous = locations.remove(showtimeId);
+            if (previous == null) {
+                return;
+            }
+            Map<Long, List<ShowtimeSummary>> theaters = days.get(previous.getStartTime().toLocalDate());
+            if (theaters == null) {
+                return;
+            }
+            theaters.computeIfPresent(previous.getTheaterId(), (theaterId, current) -> {
+                List<ShowtimeSummary> updated = current.stream()
+                    .filter(summary -> !summary.getId().equals(showtimeId))
+                    .toList();
+                return updated.isEmpty() ? null : updated;
+            });
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.ishan.moviereservation.index;
+
+import com.ishan.moviereservation.dto.ShowtimeSummary;
+import com.ishan.moviereservation.event.ShowtimeChangedEvent;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-screen timelines of upcoming {@code [startTime, endTime)} intervals for fast conflict checks.
+ * Intervals on a screen never overlap (the database exclusion constraint guarantees it), so a
+ * start-ordered map also has ordered ends and a conflict probe only walks back from the last
+ * interval starting before the candidate ends.
+ * Timelines are loaded lazily per screen and patched after commit; the database constraint
+ * remains the source of truth when another node has scheduled in the meantime.
+ */
+@Component
+@Slf4j
+public class ShowtimeIntervalIndex {
+
+    private final ShowtimeRepository showtimeRepository;
+    private final Map<Long, ScreenTimeline> timelines = new ConcurrentHashMap<>();
+
+    public ShowtimeIntervalIndex(ShowtimeRepository showtimeRepository) {
+        this.showtimeRepository = showtimeRepository;
+    }
+
+    /**
+     * Id of a showtime on the screen overlapping {@code [start, end)}, ignoring {@code excludeShowtimeId}
+     */
+    public Optional<Long> findConflict(Long screenId, LocalDateTime start, LocalDateTime end, Long excludeShowtimeId) {
+        return timeline(screenId).findConflict(start, end, excludeShowtimeId);
+    }
+
+    /**
+     * Timeline of one screen, loading it on first use
+     */
+    public ScreenTimeline timeline(Long screenId) {
+        return timelines.computeIfAbsent(screenId, this::load);
+    }
+
+    /**
+     * Forget a screen so its next check reloads from the database
+     */
+    public void invalidate(Long screenId) {
+        timelines.remove(screenId);
+    }
+
+    /**
+     * Drop every timeline daily so finished showtimes do not accumulate
+     */
+    @Scheduled(cron = "${app.schedule.refresh-cron:0 5 0 * * *}")
+    public void invalidateAll() {
+        timelines.clear();
+    }
+
+    /**
+     * Re-read changed showtimes once their transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        log.debug("Refreshing showtime interval index for {}", event);
+        List<ShowtimeSummary> summaries = showtimeRepository.findSummariesByIdIn(event.getShowtimeIds());
+        timelines.values().forEach(timeline -> event.getShowtimeIds().forEach(timeline::remove));
+        for (ShowtimeSummary summary : summaries) {
+            ScreenTimeline timeline = timelines.get(summary.getScreenId());
+            if (timeline != null) {
+                timeline.add(summary.getId(), summary.getStartTime(), summary.getEndTime());
+            }
+        }
+    }
+
+    private ScreenTimeline load(Long screenId) {
+        ScreenTimeline timeline = new ScreenTimeline();
+        // Only intervals still running can collide with a new showtime, which must start in the future
+        for (ShowtimeSummary summary : showtimeRepository.findSummariesByScreenIdAndEndTimeAfter(screenId, LocalDateTime.now())) {
+            timeline.add(summary.getId(), summary.getStartTime(), summary.getEndTime());
+        }
+        log.debug("Loaded interval timeline for screen {} with {} showtimes", screenId, timeline.size());
+        return timeline;
+    }
+
+    public record Interval(Long showtimeId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * Non-overlapping intervals of one screen, keyed by start time
+     */
+    public static final class ScreenTimeline {
+        private final TreeMap<LocalDateTime, Interval> byStart = new TreeMap<>();
+        private final Map<Long, LocalDateTime> startById = new HashMap<>();
+
+        public synchronized Optional<Long> findConflict(LocalDateTime start, LocalDateTime end, Long excludeShowtimeId) {
+            Map.Entry<LocalDateTime, Interval> entry = byStart.lowerEntry(end);
+            while (entry != null) {
+                Interval interval = entry.getValue();
+                if (!interval.end().isAfter(start)) {
+                    // Ends are ordered like starts, so nothing earlier can overlap
+                    return Optional.empty();
+                }
+                if (!interval.showtimeId().equals(excludeShowtimeId)) {
+                    return Optional.of(interval.showtimeId());
+                }
+                entry = byStart.lowerEntry(entry.getKey());
+            }
+            return Optional.empty();
+        }
+
+        /**
+         * Intervals overlapping {@code [from, to)}, by start time
+         */
+        public synchronized List<Interval> between(LocalDateTime from, LocalDateTime to) {
+            List<Interval> intervals = new ArrayList<>();
+            Map.Entry<LocalDateTime, Interval> before = byStart.lowerEntry(from);
+            if (before != null && before.getValue().end().isAfter(from)) {
+                intervals.add(before.getValue());
+            }
+            intervals.addAll(byStart.subMap(from, true, to, false).values());
+            return intervals;
+        }
+
+        public synchronized void add(Long showtimeId, LocalDateTime start, LocalDateTime end) {
+            remove(showtimeId);
+            byStart.put(start, new Interval(showtimeId, start, end));
+            startById.put(showtimeId, start);
+        }
+
+        public synchronized void remove(Long showtimeId) {
+            LocalDateTime start = startById.remove(showtimeId);
+            if (start != null) {
+                byStart.remove(start);
+            }
+        }
+
+        public synchronized int size() {
+            return byStart.size();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.ishan.moviereservation.index;
+
+import com.ishan.moviereservation.dto.OccupancySummary;
+import com.ishan.moviereservation.entity.ShowtimeOccupancy;
+import com.ishan.moviereservation.event.OccupancyChangedEvent;
+import com.ishan.moviereservation.event.SeatLayoutChangedEvent;
+import com.ishan.moviereservation.event.ShowtimeChangedEvent;
+import com.ishan.moviereservation.repository.ShowtimeOccupancyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory mirror of the {@code showtime_occupancy} counters. Showtimes are loaded on first use, many
+ * at once with a single primary-key query, and afterwards patched with the deltas of committed bookings
+ * so that busy showtimes never contend on a lock. The table stays the source of truth: changes made by
+ * other nodes, or a load racing a booking that just committed, are only corrected once the mirror is
+ * dropped on its refresh interval.
+ */
+@Component
+@Slf4j
+public class ShowtimeOccupancyIndex {
+
+    private final ShowtimeOccupancyRepository occupancyRepository;
+    private final Map<Long, Counters> counters = new ConcurrentHashMap<>();
+
+    public ShowtimeOccupancyIndex(ShowtimeOccupancyRepository occupancyRepository) {
+        this.occupancyRepository = occupancyRepository;
+    }
+
+    /**
+     * Occupancy of the given showtimes in request order, loading the ones not in memory in one query.
+     * Showtimes without counters are left out.
+     */
+    public Map<Long, OccupancySummary> get(Collection<Long> showtimeIds) {
+        List<Long> missing = new ArrayList<>();
+        for (Long showtimeId : showtimeIds) {
+            if (!counters.containsKey(showtimeId)) {
+                missing.add(showtimeId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (ShowtimeOccupancy occupancy : occupancyRepository.findAllById(missing)) {
+                counters.putIfAbsent(occupancy.getShowtimeId(), new Counters(occupancy));
+            }
+            log.debug("Loaded occupancy of {} showtimes", missing.size());
+        }
+
+        Map<Long, OccupancySummary> result = new LinkedHashMap<>();
+        for (Long showtimeId : showtimeIds) {
+            Counters entry = counters.get(showtimeId);
+            if (entry != null) {
+                result.put(showtimeId, entry.summary(showtimeId));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Apply committed counter changes to showtimes already in memory; others load fresh when asked for
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOccupancyChanged(OccupancyChangedEvent event) {
+        Counters entry = counters.get(event.getShowtimeId());
+        if (entry != null) {
+            entry.sold.add(event.getSoldDelta());
+            entry.held.add(event.getHeldDelta());
+        }
+    }
+
+    /**
+     * A rescheduled showtime may have moved screens, and a deleted one must go
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        event.getShowtimeIds().forEach(counters::remove);
+    }
+
+    /**
+     * Capacities of the screen's showtimes changed; layouts change rarely, so start over
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        log.debug("Dropping occupancy mirror after {}", event);
+        counters.clear();
+    }
+
+    /**
+     * Drop everything periodically so finished showtimes and other nodes' bookings do not linger
+     */
+    @Scheduled(fixedDelayString = "${app.occupancy.refresh-interval:300000}")
+    public void invalidateAll() {
+        counters.clear();
+    }
+
+    private static final class Counters {
+        private final int capacity;
+        private final LongAdder sold = new LongAdder();
+        private final LongAdder held = new LongAdder();
+
+        private Counters(ShowtimeOccupancy occupancy) {
+            this.capacity = occupancy.getCapacity();
+            sold.add(occupancy.getSold());
+            held.add(occupancy.getHeld());
+        }
+
+        private OccupancySummary summary(Long showtimeId) {
+            return new OccupancySummary(showtimeId, capacity, sold.intValue(), held.intValue());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.ishan.moviereservation.index;
+
+import com.ishan.moviereservation.dto.TheaterLocation;
+import com.ishan.moviereservation.event.TheaterChangedEvent;
+import com.ishan.moviereservation.repository.TheaterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Uniform latitude/longitude grid over all geocoded theaters.
+ * Built once at startup and patched after every committed theater change,
+ * so nearby lookups only visit the cells covering the search radius.
+ */
+@Component
+@Slf4j
+public class TheaterGeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private final TheaterRepository theaterRepository;
+    private final double cellSizeDegrees;
+    private final int rows;
+    private final int columns;
+
+    private volatile Grid grid = new Grid();
+
+    public TheaterGeoIndex(TheaterRepository theaterRepository,
+                           @Value("${app.geo.cell-size-degrees:0.1}") double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 10) {
+            throw new IllegalArgumentException("Geo index cell size must be in (0, 10] degrees: " + cellSizeDegrees);
+        }
+        this.theaterRepository = theaterRepository;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.rows = (int) Math.ceil(180 / cellSizeDegrees);
+        this.columns = (int) Math.ceil(360 / cellSizeDegrees);
+    }
+
+    /**
+     * Load every geocoded theater into a fresh grid
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Grid fresh = new Grid();
+        try (Stream<TheaterLocation> locations = theaterRepository.streamAllLocations()) {
+            locations.forEach(fresh::put);
+        }
+        grid = fresh;
+        log.info("Theater geo index built with {} theaters", fresh.byId.size());
+    }
+
+    /**
+     * Re-read a changed theater once its transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTheaterChanged(TheaterChangedEvent event) {
+        log.debug("Refreshing theater geo index for {}", event);
+        theaterRepository.findLocationById(event.getTheaterId())
+            .ifPresentOrElse(this::put, () -> remove(event.getTheaterId()));
+    }
+
+    /**
+     * Insert or move a theater
+     */
+    public synchronized void put(TheaterLocation location) {
+        grid.remove(location.getId());
+        grid.put(location);
+    }
+
+    /**
+     * Drop a theater from the index
+     */
+    public synchronized void remove(Long theaterId) {
+        grid.remove(theaterId);
+    }
+
+    public int size() {
+        return grid.byId.size();
+    }
+
+    /**
+     * Up to {@code limit} theaters within {@code radiusKm} of the point, nearest first
+     */
+    public List<Hit> findNearest(double latitude, double longitude, double radiusKm, int limit) {
+        Grid current = grid;
+        PriorityQueue<Hit> farthestFirst = new PriorityQueue<>(Comparator.comparingDouble(Hit::distanceKm).reversed());
+
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        int rowMin = row(Math.max(-90, latitude - latDelta));
+        int rowMax = row(Math.min(90, latitude + latDelta));
+
+        // Longitude degrees shrink towards the poles; the widest row of the box decides the span
+        double widestLat = Math.min(89.999, Math.max(Math.abs(latitude - latDelta), Math.abs(latitude + latDelta)));
+        double lonDelta = radiusKm / (KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(widestLat)));
+        int colMin = (int) Math.floor((longitude - lonDelta + 180) / cellSizeDegrees);
+        int colMax = (int) Math.floor((longitude + lonDelta + 180) / cellSizeDegrees);
+        if (lonDelta >= 180 || colMax - colMin + 1 >= columns) {
+            colMin = 0;
+            colMax = columns - 1;
+        }
+
+        for (int r = rowMin; r <= rowMax; r++) {
+            for (int c = colMin; c <= colMax; c++) {
+                Map<Long, TheaterLocation> cell = current.cells.get(key(r, Math.floorMod(c, columns)));
+                if (cell == null) {
+                    continue;
+                }
+                for (TheaterLocation location : cell.values()) {
+                    double distance = distanceKm(latitude, longitude, location.getLatitude(), location.getLongitude());
+                    if (distance > radiusKm) {
+                        continue;
+                    }
+                    if (farthestFirst.size() < limit) {
+                        farthestFirst.add(new Hit(location, distance));
+                    } else if (distance < farthestFirst.peek().distanceKm()) {
+                        farthestFirst.poll();
+                        farthestFirst.add(new Hit(location, distance));
+                    }
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(farthestFirst);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    /**
+     * Great-circle distance in kilometres (haversine)
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellSizeDegrees));
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellSizeDegrees), columns);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    public record Hit(TheaterLocation location, double distanceKm) {
+    }
+
+    private class Grid {
+        private final Map<Long, Map<Long, TheaterLocation>> cells = new ConcurrentHashMap<>();
+        private final Map<Long, TheaterLocation> byId = new ConcurrentHashMap<>();
+
+        void put(TheaterLocation location) {
+            long cellKey = key(row(location.getLatitude()), column(location.getLongitude()));
+            cells.computeIfAbsent(cellKey, k -> new ConcurrentHashMap<>()).put(location.getId(), location);
+            byId.put(location.getId(), location);
+        }
+
+        void remove(Long theaterId) {
+            TheaterLocation previous = byId.remove(theaterId);
+            if (previous == null) {
+                return;
+            }
+            long cellKey = key(row(previous.getLatitude()), column(previous.getLongitude()));
+            Map<Long, TheaterLocation> cell = cells.get(cellKey);
+            if (cell != null) {
+                cell.remove(theaterId);
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.ishan.moviereservation.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how long each HTTP request keeps pooled JDBC connections checked out.
+ * Hikari reports every borrow and return to the thread doing it; {@link ConnectionHoldTimeFilter}
+ * brackets each request so the totals can be attributed to its route.
+ */
+@Component
+public class ConnectionHoldTimeTracker implements MetricsTrackerFactory {
+
+    private static final String UNMAPPED = "unmapped";
+
+    private final ThreadLocal<RequestUsage> currentRequest = new ThreadLocal<>();
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final Map<String, PoolUsage> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolUsage pool = new PoolUsage(poolStats);
+        pools.put(poolName, pool);
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                pool.peakActive.accumulate(pool.borrowed.incrementAndGet());
+                RequestUsage usage = currentRequest.get();
+                if (usage != null) {
+                    usage.acquisitions++;
+                    usage.waitNanos += elapsedAcquiredNanos;
+                }
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                pool.borrowed.decrementAndGet();
+                RequestUsage usage = currentRequest.get();
+                if (usage != null) {
+                    usage.heldMillis += elapsedBorrowedMillis;
+                }
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                pool.timeouts.increment();
+            }
+        };
+    }
+
+    void beginRequest() {
+        currentRequest.set(new RequestUsage());
+    }
+
+    /**
+     * Close the current request's tally and return the milliseconds it held connections
+     */
+    long endRequest(String route) {
+        RequestUsage usage = currentRequest.get();
+        currentRequest.remove();
+        if (usage == null) {
+            return 0;
+        }
+        routes.computeIfAbsent(route != null ? route : UNMAPPED, r -> new RouteStats()).record(usage);
+        return usage.heldMillis;
+    }
+
+    /**
+     * Per-route hold times and current pool occupancy
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> routeStats = new LinkedHashMap<>();
+        routes.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> routeStats.put(entry.getKey(), entry.getValue().toMap()));
+
+        Map<String, Object> poolStats = new LinkedHashMap<>();
+        pools.forEach((name, pool) -> poolStats.put(name, pool.toMap()));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pools", poolStats);
+        stats.put("routes", routeStats);
+        return stats;
+    }
+
+    /**
+     * Forget the per-route totals and pool peaks, e.g. before a load test
+     */
+    public void reset() {
+        routes.clear();
+        pools.values().forEach(pool -> {
+            pool.peakActive.reset();
+            pool.peakActive.accumulate(pool.borrowed.get());
+        });
+    }
+
+    private static final class RequestUsage {
+        private int acquisitions;
+        private long waitNanos;
+        private long heldMillis;
+    }
+
+    private static final class RouteStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder requestsWithConnection = new LongAdder();
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder heldMillis = new LongAdder();
+        private final LongAccumulator maxHeldMillis = new LongAccumulator(Math::max, 0);
+
+        void record(RequestUsage usage) {
+            requests.increment();
+            if (usage.acquisitions > 0) {
+                requestsWithConnection.increment();
+            }
+            acquisitions.add(usage.acquisitions);
+            waitNanos.add(usage.waitNanos);
+            heldMillis.add(usage.heldMillis);
+            maxHeldMillis.accumulate(usage.heldMillis);
+        }
+
+        Map<String, Object> toMap() {
+            long count = requests.sum();
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("requests", count);
+            values.put("requestsWithConnection", requestsWithConnection.sum());
+            values.put("acquisitions", acquisitions.sum());
+            values.put("avgHeldMillis", count == 0 ? 0.0 : (double) heldMillis.sum() / count);
+            values.put("maxHeldMillis", maxHeldMillis.get());
+            values.put("avgWaitMillis", count == 0 ? 0.0 : waitNanos.sum() / 1_000_000.0 / count);
+            return values;
+        }
+    }
+
+    private static final class PoolUsage {
+        private final PoolStats poolStats;
+        // Exact count of checked-out connections; Hikari's own gauges are refreshed only periodically
+        private final AtomicInteger borrowed = new AtomicInteger();
+        private final LongAccumulator peakActive = new LongAccumulator(Math::max, 0);
+        private final LongAdder timeouts = new LongAdder();
+
+        private PoolUsage(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("active", borrowed.get());
+            values.put("idle", poolStats.getIdleConnections());
+            values.put("pending", poolStats.getPendingThreads());
+            values.put("max", poolStats.getMaxConnections());
+            values.put("peakActive", peakActive.get());
+            values.put("timeouts", timeouts.sum());
+            return values;
+        }
+    }
+}
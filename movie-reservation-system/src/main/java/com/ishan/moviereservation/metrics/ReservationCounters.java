@@ -0,0 +1,188 @@
+package com.ishan.moviereservation.metrics;
+
+import com.ishan.moviereservation.dto.StatusCount;
+import com.ishan.moviereservation.event.ReservationStatusChangedEvent;
+import com.ishan.moviereservation.event.SeatStatusChangedEvent;
+import com.ishan.moviereservation.repository.ReservationRepository;
+import com.ishan.moviereservation.repository.SeatReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reservations by status, overall and per movie and theater, and seat reservations by status, counted
+ * in memory so dashboards never group the tables. Seeded with grouped queries at startup and then moved
+ * by the transitions the booking path announces after commit. Only this node's transitions are seen,
+ * so with several nodes the counts drift until {@link #resync()} re-reads them. Transitions announced
+ * while a resync reads are replayed onto its counts before they are swapped in; one that commits just
+ * before a grouped query reads, but is announced after, is counted twice until the next resync.
+ */
+@Component
+@Slf4j
+public class ReservationCounters {
+
+    private final ReservationRepository reservationRepository;
+    private final SeatReservationRepository seatReservationRepository;
+
+    private final Object resyncLock = new Object();
+
+    private volatile Counts counts = new Counts();
+
+    // Transitions announced while a resync reads, replayed onto its counts; null when no resync runs (guarded by this)
+    private List<Consumer<Counts>> pending;
+
+    public ReservationCounters(ReservationRepository reservationRepository, SeatReservationRepository seatReservationRepository) {
+        this.reservationRepository = reservationRepository;
+        this.seatReservationRepository = seatReservationRepository;
+    }
+
+    /**
+     * Re-read every count from the database into a fresh set of counters
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void resync() {
+        synchronized (resyncLock) {
+            Counts fresh = new Counts();
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            try {
+                try (Stream<StatusCount> byMovie = reservationRepository.countByMovieAndStatus()) {
+                    byMovie.forEach(count -> {
+                        fresh.add(fresh.byMovie, count.getGroupId(), count.getStatus(), count.getCount());
+                        fresh.add(fresh.reservations, count.getStatus(), count.getCount());
+                    });
+                }
+                try (Stream<StatusCount> byTheater = reservationRepository.countByTheaterAndStatus()) {
+                    byTheater.forEach(count -> fresh.add(fresh.byTheater, count.getGroupId(), count.getStatus(), count.getCount()));
+                }
+                for (Object[] row : seatReservationRepository.findSeatReservationCountByStatus()) {
+                    fresh.add(fresh.seatReservations, (String) row[0], (Long) row[1]);
+                }
+                synchronized (this) {
+                    pending.forEach(transition -> transition.accept(fresh));
+                    counts = fresh;
+                    log.info("Reservation counters seeded for {} movies and {} theaters ({} transitions replayed)",
+                        fresh.byMovie.size(), fresh.byTheater.size(), pending.size());
+                }
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationStatusChanged(ReservationStatusChangedEvent event) {
+        apply(current -> {
+            if (event.getFromStatus() != null) {
+                current.add(current.reservations, event.getFromStatus(), -1);
+                current.add(current.byMovie, event.getMovieId(), event.getFromStatus(), -1);
+                current.add(current.byTheater, event.getTheaterId(), event.getFromStatus(), -1);
+            }
+            if (event.getToStatus() != null) {
+                current.add(current.reservations, event.getToStatus(), 1);
+                current.add(current.byMovie, event.getMovieId(), event.getToStatus(), 1);
+                current.add(current.byTheater, event.getTheaterId(), event.getToStatus(), 1);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatStatusChanged(SeatStatusChangedEvent event) {
+        apply(current -> {
+            if (event.getFromStatus() != null) {
+                current.add(current.seatReservations, event.getFromStatus(), -event.getSeats());
+            }
+            if (event.getToStatus() != null) {
+                current.add(current.seatReservations, event.getToStatus(), event.getSeats());
+            }
+        });
+    }
+
+    /**
+     * Reservation count per status, as {status, count} rows
+     */
+    public List<Object[]> getReservationCountByStatus() {
+        return rows(counts.reservations);
+    }
+
+    /**
+     * Seat reservation count per status, as {status, count} rows
+     */
+    public List<Object[]> getSeatReservationCountByStatus() {
+        return rows(counts.seatReservations);
+    }
+
+    /**
+     * Every count: reservations and seat reservations by status, and reservations by status per movie and per theater
+     */
+    public Map<String, Object> getCounts() {
+        Counts current = counts;
+        Map<String, Object> snapshot = new TreeMap<>();
+        snapshot.put("reservations", snapshot(current.reservations));
+        snapshot.put("seatReservations", snapshot(current.seatReservations));
+        snapshot.put("movies", snapshotByGroup(current.byMovie));
+        snapshot.put("theaters", snapshotByGroup(current.byTheater));
+        return snapshot;
+    }
+
+    // Only picking the counts and queueing for a running resync is locked; the adders themselves are not
+    private void apply(Consumer<Counts> transition) {
+        Counts current;
+        synchronized (this) {
+            current = counts;
+            if (pending != null) {
+                pending.add(transition);
+            }
+        }
+        transition.accept(current);
+    }
+
+    private static List<Object[]> rows(Map<String, LongAdder> byStatus) {
+        List<Object[]> rows = new ArrayList<>();
+        snapshot(byStatus).forEach((status, count) -> rows.add(new Object[]{status, count}));
+        return rows;
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> byStatus) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        byStatus.forEach((status, count) -> snapshot.put(status, count.sum()));
+        return snapshot;
+    }
+
+    private static Map<Long, Map<String, Long>> snapshotByGroup(Map<Long, Map<String, LongAdder>> byGroup) {
+        Map<Long, Map<String, Long>> snapshot = new TreeMap<>();
+        byGroup.forEach((groupId, byStatus) -> snapshot.put(groupId, snapshot(byStatus)));
+        return snapshot;
+    }
+
+    private static final class Counts {
+        private final Map<String, LongAdder> reservations = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> seatReservations = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, LongAdder>> byMovie = new ConcurrentHashMap<>();
+        private final Map<Long, Map<String, LongAdder>> byTheater = new ConcurrentHashMap<>();
+
+        private void add(Map<String, LongAdder> byStatus, String status, long delta) {
+            byStatus.computeIfAbsent(status, s -> new LongAdder()).add(delta);
+        }
+
+        private void add(Map<Long, Map<String, LongAdder>> byGroup, Long groupId, String status, long delta) {
+            add(byGroup.computeIfAbsent(groupId, id -> new ConcurrentHashMap<>()), status, delta);
+        }
+    }
+}
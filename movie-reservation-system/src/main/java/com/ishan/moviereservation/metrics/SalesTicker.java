@@ -0,0 +1,148 @@
+package com.ishan.moviereservation.metrics;
+
+import com.ishan.moviereservation.dto.SalesMinute;
+import com.ishan.moviereservation.event.ReservationStatusChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sales per minute over the last 24 hours, in a ring of one slot per minute of the day. A slot still
+ * holding the same minute a day earlier is swapped for a fresh one with a compare-and-set, so recording
+ * never locks. A reservation counts as sold once CONFIRMED or COMPLETED; cancelling a sold one records a
+ * refund. Covers this node's sales since it started.
+ */
+@Component
+@Slf4j
+public class SalesTicker {
+
+    static final int MINUTES = 24 * 60;
+
+    private static final long STREAM_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final AtomicReferenceArray<Minute> minutes = new AtomicReferenceArray<>(MINUTES);
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationStatusChanged(ReservationStatusChangedEvent event) {
+        int sold = (isSold(event.getToStatus()) ? 1 : 0) - (isSold(event.getFromStatus()) ? 1 : 0);
+        if (sold != 0) {
+            record(currentMinute(), sold, sold * event.getTickets(), event.getAmount().multiply(BigDecimal.valueOf(sold)));
+        }
+    }
+
+    /**
+     * Every minute of the last 24 hours that saw a sale or refund, oldest first
+     */
+    public List<SalesMinute> getLast24Hours() {
+        return range(currentMinute() - MINUTES + 1, currentMinute());
+    }
+
+    /**
+     * Open a server-sent event stream: the last 24 hours as one {@code history} event, then the current
+     * minute as a {@code minute} event on every publish interval
+     */
+    public SseEmitter subscribe() throws IOException {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        emitter.send(SseEmitter.event().name("history").data(getLast24Hours()));
+        subscribers.add(emitter);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.metrics.sales-ticker-interval:5000}")
+    public void publish() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long now = currentMinute();
+        SalesMinute current = summary(now, minutes.get(slot(now)));
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event().name("minute").data(current));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping sales ticker subscriber: {}", e.getMessage());
+                subscribers.remove(emitter);
+            }
+        }
+    }
+
+    void record(long minute, long reservations, long tickets, BigDecimal amount) {
+        Minute bucket = bucket(minute);
+        bucket.reservations.add(reservations);
+        bucket.tickets.add(tickets);
+        bucket.cents.add(amount.movePointRight(2).longValue());
+    }
+
+    List<SalesMinute> range(long fromMinute, long toMinute) {
+        List<SalesMinute> result = new ArrayList<>();
+        for (long minute = fromMinute; minute <= toMinute; minute++) {
+            Minute bucket = minutes.get(slot(minute));
+            if (bucket != null && bucket.minute == minute) {
+                result.add(summary(minute, bucket));
+            }
+        }
+        return result;
+    }
+
+    private Minute bucket(long minute) {
+        int slot = slot(minute);
+        while (true) {
+            Minute bucket = minutes.get(slot);
+            if (bucket != null && bucket.minute >= minute) {
+                return bucket;
+            }
+            Minute fresh = new Minute(minute);
+            if (minutes.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static SalesMinute summary(long minute, Minute bucket) {
+        LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochSecond(minute * 60), ZoneOffset.UTC);
+        if (bucket == null || bucket.minute != minute) {
+            return new SalesMinute(start, 0, 0, BigDecimal.ZERO.setScale(2));
+        }
+        return new SalesMinute(start, bucket.reservations.sum(), bucket.tickets.sum(), BigDecimal.valueOf(bucket.cents.sum(), 2));
+    }
+
+    private static int slot(long minute) {
+        return (int) Math.floorMod(minute, (long) MINUTES);
+    }
+
+    private static long currentMinute() {
+        return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+    }
+
+    private static boolean isSold(String status) {
+        return "CONFIRMED".equals(status) || "COMPLETED".equals(status);
+    }
+
+    private static final class Minute {
+        private final long minute;
+        private final LongAdder reservations = new LongAdder();
+        private final LongAdder tickets = new LongAdder();
+        private final LongAdder cents = new LongAdder();
+
+        private Minute(long minute) {
+            this.minute = minute;
+        }
+    }
+}
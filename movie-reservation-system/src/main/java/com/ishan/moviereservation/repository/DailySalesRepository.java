@@ -0,0 +1,8 @@
+package com.ishan.moviereservation.repository;
+
+import com.ishan.moviereservation.entity.DailySales;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DailySalesRepository extends SalesRollupRepository<DailySales> {
+}
@@ -0,0 +1,8 @@
+package com.ishan.moviereservation.repository;
+
+import com.ishan.moviereservation.entity.HourlySales;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HourlySalesRepository extends SalesRollupRepository<HourlySales> {
+}
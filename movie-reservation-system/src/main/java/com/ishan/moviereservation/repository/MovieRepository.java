@@ -1,15 +1,21 @@
 package com.ishan.moviereservation.repository;
 
+import com.ishan.moviereservation.dto.MovieResponse;
+import com.ishan.moviereservation.dto.VersionStamp;
 import com.ishan.moviereservation.entity.Movie;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface MovieRepository extends JpaRepository<Movie, Long> {
 
     // Find by title (exact match)
@@ -57,4 +63,61 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     // Find movies with no showtimes (for cleanup)
     @Query("SELECT m FROM Movie m WHERE m.showtimes IS EMPTY")
     List<Movie> findMoviesWithoutShowtimes();
+
+    // DTO projection for the paginated catalogue (no managed entities, no description)
+    @Query(value = "SELECT new com.ishan.moviereservation.dto.MovieResponse(m.id, m.title, m.posterUrl, " +
+                   "m.genre, m.durationMinutes, m.createdAt, m.updatedAt) FROM Movie m",
+           countQuery = "SELECT COUNT(m) FROM Movie m")
+    Page<MovieResponse> findAllProjectedBy(Pageable pageable);
+
+    // Full DTO projection for the movie detail, description included, in one select
+    @Query("SELECT new com.ishan.moviereservation.dto.MovieResponse(m.id, m.title, m.description, m.posterUrl, " +
+           "m.genre, m.durationMinutes, m.createdAt, m.updatedAt) FROM Movie m WHERE m.id = :movieId")
+    Optional<MovieResponse> findResponseById(@Param("movieId") Long movieId);
+
+    // Catalogue rows by exact genre
+    @Query("SELECT new com.ishan.moviereservation.dto.MovieResponse(m.id, m.title, m.posterUrl, " +
+           "m.genre, m.durationMinutes, m.createdAt, m.updatedAt) FROM Movie m WHERE m.genre = :genre")
+    List<MovieResponse> findSummariesByGenre(@Param("genre") String genre);
+
+    // Catalogue rows ordered by title
+    @Query("SELECT new com.ishan.moviereservation.dto.MovieResponse(m.id, m.title, m.posterUrl, " +
+           "m.genre, m.durationMinutes, m.createdAt, m.updatedAt) FROM Movie m ORDER BY m.title")
+    List<MovieResponse> findSummariesOrderByTitle();
+
+    // Catalogue rows whose title contains the given text (case-insensitive)
+    @Query("SELECT new com.ishan.moviereservation.dto.MovieResponse(m.id, m.title, m.posterUrl, " +
+           "m.genre, m.durationMinutes, m.createdAt, m.updatedAt) FROM Movie m " +
+           "WHERE UPPER(m.title) LIKE UPPER(CONCAT('%', :title, '%'))")
+    List<MovieResponse> searchSummariesByTitle(@Param("title") String title);
+
+    // Catalogue rows whose genre contains the given text (case-insensitive)
+    @Query("SELECT new com.ishan.moviereservation.dto.MovieResponse(m.id, m.title, m.posterUrl, " +
+           "m.genre, m.durationMinutes, m.createdAt, m.updatedAt) FROM Movie m " +
+           "WHERE UPPER(m.genre) LIKE UPPER(CONCAT('%', :genre, '%'))")
+    List<MovieResponse> searchSummariesByGenre(@Param("genre") String genre);
+
+    // Catalogue rows matching both title and genre text (case-insensitive)
+    @Query("SELECT new com.ishan.moviereservation.dto.MovieResponse(m.id, m.title, m.posterUrl, " +
+           "m.genre, m.durationMinutes, m.createdAt, m.updatedAt) FROM Movie m " +
+           "WHERE UPPER(m.title) LIKE UPPER(CONCAT('%', :title, '%')) AND UPPER(m.genre) LIKE UPPER(CONCAT('%', :genre, '%'))")
+    List<MovieResponse> searchSummariesByTitleAndGenre(@Param("title") String title, @Param("genre") String genre);
+
+    // Version stamp of the whole catalogue (row count and latest modification)
+    @Query("SELECT new com.ishan.moviereservation.dto.VersionStamp(COUNT(m), MAX(m.updatedAt), MAX(m.createdAt)) FROM Movie m")
+    VersionStamp findCatalogVersion();
+
+    // Whether a movie with this exact title exists
+    boolean existsByTitle(String title);
+
+    // Count movies of a genre
+    long countByGenre(String genre);
+
+    // Count movies that have showtimes scheduled
+    @Query("SELECT COUNT(m) FROM Movie m WHERE m.showtimes IS NOT EMPTY")
+    long countMoviesWithShowtimes();
+
+    // Count movies with no showtimes
+    @Query("SELECT COUNT(m) FROM Movie m WHERE m.showtimes IS EMPTY")
+    long countMoviesWithoutShowtimes();
 }
@@ -1,17 +1,31 @@
 package com.ishan.moviereservation.repository;
 
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.ReservationSales;
+import com.ishan.moviereservation.dto.StatusCount;
 import com.ishan.moviereservation.entity.Reservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
     // Find by user ID
@@ -24,7 +38,7 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findByUserIdAndShowtimeId(Long userId, Long showtimeId);
 
     // Find by status
-    List<Reservation> findByStatus(String status);
+    Page<Reservation> findByStatus(String status, Pageable pageable);
 
     // Find by user ID and status
     List<Reservation> findByUserIdAndStatus(Long userId, String status);
@@ -33,25 +47,25 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findByShowtimeIdAndStatus(Long showtimeId, String status);
 
     // Find by total amount range
-    List<Reservation> findByTotalAmountBetween(BigDecimal minAmount, BigDecimal maxAmount);
+    Page<Reservation> findByTotalAmountBetween(BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable);
 
     // Find by total amount greater than
-    List<Reservation> findByTotalAmountGreaterThan(BigDecimal amount);
+    Page<Reservation> findByTotalAmountGreaterThan(BigDecimal amount, Pageable pageable);
 
     // Find by total amount less than
-    List<Reservation> findByTotalAmountLessThan(BigDecimal amount);
+    Page<Reservation> findByTotalAmountLessThan(BigDecimal amount, Pageable pageable);
 
     // Find by hold expiry before specified time (expired reservations)
-    List<Reservation> findByHoldExpiryBefore(LocalDateTime time);
+    Page<Reservation> findByHoldExpiryBefore(LocalDateTime time, Pageable pageable);
 
     // Find by hold expiry after specified time (active reservations)
-    List<Reservation> findByHoldExpiryAfter(LocalDateTime time);
+    Page<Reservation> findByHoldExpiryAfter(LocalDateTime time, Pageable pageable);
 
     // Find by hold expiry between
-    List<Reservation> findByHoldExpiryBetween(LocalDateTime startTime, LocalDateTime endTime);
+    Page<Reservation> findByHoldExpiryBetween(LocalDateTime startTime, LocalDateTime endTime, Pageable pageable);
 
     // Find reservations ordered by creation date (newest first)
-    List<Reservation> findAllByOrderByCreatedAtDesc();
+    Page<Reservation> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
     // Find reservations by user ordered by creation date
     List<Reservation> findByUserIdOrderByCreatedAtDesc(Long userId);
@@ -60,7 +74,7 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     List<Reservation> findByShowtimeIdOrderByCreatedAtDesc(Long showtimeId);
 
     // Find reservations by status ordered by creation date
-    List<Reservation> findByStatusOrderByCreatedAtDesc(String status);
+    Page<Reservation> findByStatusOrderByCreatedAtDesc(String status, Pageable pageable);
 
     // Custom query to find reservations with their seat reservations
     @Query("SELECT r FROM Reservation r LEFT JOIN FETCH r.seatReservations WHERE r.id = :reservationId")
@@ -68,39 +82,40 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     // Find reservations that have seat reservations
     @Query("SELECT DISTINCT r FROM Reservation r WHERE r.seatReservations IS NOT EMPTY")
-    List<Reservation> findReservationsWithSeatReservations();
+    Page<Reservation> findReservationsWithSeatReservations(Pageable pageable);
 
     // Find reservations with no seat reservations
     @Query("SELECT r FROM Reservation r WHERE r.seatReservations IS EMPTY")
-    List<Reservation> findReservationsWithoutSeatReservations();
+    Page<Reservation> findReservationsWithoutSeatReservations(Pageable pageable);
 
     // Custom query to find reservations with seat reservation count
-    @Query("SELECT r, COUNT(sr) as seatReservationCount FROM Reservation r LEFT JOIN r.seatReservations sr GROUP BY r ORDER BY seatReservationCount DESC")
-    List<Object[]> findReservationsWithSeatReservationCount();
+    @Query(value = "SELECT r, COUNT(sr) as seatReservationCount FROM Reservation r LEFT JOIN r.seatReservations sr GROUP BY r ORDER BY seatReservationCount DESC",
+           countQuery = "SELECT COUNT(r) FROM Reservation r")
+    Page<Object[]> findReservationsWithSeatReservationCount(Pageable pageable);
 
     // Find expired reservations (hold expiry before current time)
     @Query("SELECT r FROM Reservation r WHERE r.holdExpiry < :currentTime AND r.status = 'HELD'")
-    List<Reservation> findExpiredReservations(@Param("currentTime") LocalDateTime currentTime);
+    Page<Reservation> findExpiredReservations(@Param("currentTime") LocalDateTime currentTime, Pageable pageable);
 
     // Find active reservations (not expired and not cancelled)
     @Query("SELECT r FROM Reservation r WHERE (r.holdExpiry IS NULL OR r.holdExpiry > :currentTime) AND r.status != 'CANCELLED'")
-    List<Reservation> findActiveReservations(@Param("currentTime") LocalDateTime currentTime);
+    Page<Reservation> findActiveReservations(@Param("currentTime") LocalDateTime currentTime, Pageable pageable);
 
     // Find confirmed reservations
     @Query("SELECT r FROM Reservation r WHERE r.status = 'CONFIRMED'")
-    List<Reservation> findConfirmedReservations();
+    Page<Reservation> findConfirmedReservations(Pageable pageable);
 
     // Find held reservations
     @Query("SELECT r FROM Reservation r WHERE r.status = 'HELD'")
-    List<Reservation> findHeldReservations();
+    Page<Reservation> findHeldReservations(Pageable pageable);
 
     // Find cancelled reservations
     @Query("SELECT r FROM Reservation r WHERE r.status = 'CANCELLED'")
-    List<Reservation> findCancelledReservations();
+    Page<Reservation> findCancelledReservations(Pageable pageable);
 
     // Find reservations by date range
     @Query("SELECT r FROM Reservation r WHERE r.createdAt BETWEEN :startDate AND :endDate ORDER BY r.createdAt DESC")
-    List<Reservation> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    Page<Reservation> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
 
     // Find reservations by user and date range
     @Query("SELECT r FROM Reservation r WHERE r.user.id = :userId AND r.createdAt BETWEEN :startDate AND :endDate ORDER BY r.createdAt DESC")
@@ -114,11 +129,89 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
                                                          @Param("startDate") LocalDateTime startDate, 
                                                          @Param("endDate") LocalDateTime endDate);
 
-    // Find total revenue by date range
-    @Query("SELECT SUM(r.totalAmount) FROM Reservation r WHERE r.status = 'CONFIRMED' AND r.createdAt BETWEEN :startDate AND :endDate")
-    BigDecimal findTotalRevenueByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    // Total amount of reservations in one status created in a half-open time range
+    @Query("SELECT COALESCE(SUM(r.totalAmount), 0) FROM Reservation r " +
+           "WHERE r.status = :status AND r.createdAt >= :from AND r.createdAt < :to")
+    BigDecimal sumAmountByStatusAndCreatedAtRange(@Param("status") String status,
+                                                  @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
     // Find reservation count by status
     @Query("SELECT r.status, COUNT(r) FROM Reservation r GROUP BY r.status")
     List<Object[]> findReservationCountByStatus();
+
+    // Stream reservation counts per movie and status
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.ishan.moviereservation.dto.StatusCount(r.showtime.movie.id, r.status, COUNT(r)) " +
+           "FROM Reservation r GROUP BY r.showtime.movie.id, r.status")
+    Stream<StatusCount> countByMovieAndStatus();
+
+    // Stream reservation counts per theater and status
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.ishan.moviereservation.dto.StatusCount(sc.theater.id, r.status, COUNT(r)) " +
+           "FROM Reservation r JOIN r.showtime s JOIN s.screen sc GROUP BY sc.theater.id, r.status")
+    Stream<StatusCount> countByTheaterAndStatus();
+
+    // Reservation with showtime, movie and screen in one query, for DTO mapping
+    @EntityGraph("Reservation.showtime")
+    Optional<Reservation> findWithShowtimeById(Long id);
+
+    // Count reservations of a user
+    long countByUserId(Long userId);
+
+    // Count reservations of a showtime
+    long countByShowtimeId(Long showtimeId);
+
+    // Count reservations by status
+    long countByStatus(String status);
+
+    // Whether a showtime has any reservation
+    boolean existsByShowtimeId(Long showtimeId);
+
+    // Count active reservations (not expired and not cancelled)
+    @Query("SELECT COUNT(r) FROM Reservation r WHERE (r.holdExpiry IS NULL OR r.holdExpiry > :currentTime) AND r.status != 'CANCELLED'")
+    long countActiveReservations(@Param("currentTime") LocalDateTime currentTime);
+
+    // Stream (read-only) reservations by status through a cursor; close it inside the caller's transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Reservation r WHERE r.status = :status ORDER BY r.id")
+    Stream<Reservation> streamByStatus(@Param("status") String status);
+
+    // Stream (read-only) holds that expired before the given time
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Reservation r WHERE r.holdExpiry < :currentTime AND r.status = 'HELD' ORDER BY r.id")
+    Stream<Reservation> streamExpiredReservations(@Param("currentTime") LocalDateTime currentTime);
+
+    // Stream (read-only) reservations created in a half-open time range
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Reservation r WHERE r.createdAt >= :from AND r.createdAt < :to ORDER BY r.id")
+    Stream<Reservation> streamByCreatedAtRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Stream the sales figures of each reservation created in a half-open time range, taken seats counted
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.ishan.moviereservation.dto.ReservationSales(r.createdAt, s.id, r.status, s.movie.id, sc.theater.id, " +
+           "COUNT(sr), r.totalAmount) FROM Reservation r JOIN r.showtime s JOIN s.screen sc " +
+           "LEFT JOIN r.seatReservations sr ON sr.status IN ('HELD', 'PAID') " +
+           "WHERE r.createdAt >= :from AND r.createdAt < :to " +
+           "GROUP BY r.id, r.createdAt, s.id, r.status, s.movie.id, sc.theater.id, r.totalAmount")
+    Stream<ReservationSales> streamSalesByCreatedAtRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Open reservations whose seat hold ran out, oldest first
+    @Query("SELECT r FROM Reservation r WHERE r.holdExpiry < :currentTime AND r.status IN ('PENDING', 'HELD') ORDER BY r.holdExpiry")
+    List<Reservation> findLapsedHolds(@Param("currentTime") LocalDateTime currentTime, Limit limit);
+
+    // Cancel a lapsed hold unless it was confirmed or cancelled in the meantime; returns 1 if it was cancelled here
+    @Transactional
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'CANCELLED' " +
+           "WHERE r.id = :id AND r.status IN ('PENDING', 'HELD') AND r.holdExpiry < :currentTime")
+    int expireHold(@Param("id") Long id, @Param("currentTime") LocalDateTime currentTime);
 }
@@ -0,0 +1,71 @@
+package com.ishan.moviereservation.repository;
+
+import com.ishan.moviereservation.dto.SalesSummary;
+import com.ishan.moviereservation.entity.SalesRollup;
+import com.ishan.moviereservation.entity.SalesRollupId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Queries shared by the hourly and daily sales rollups; bucket ranges are half-open, [from, to).
+ */
+@NoRepositoryBean
+@Transactional(readOnly = true)
+public interface SalesRollupRepository<T extends SalesRollup> extends JpaRepository<T, SalesRollupId> {
+
+    // Add to the figures of one bucket, showtime and status, creating the row on first use (deltas may be negative)
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO #{#entityName} (bucketStart, showtimeId, status, movieId, theaterId, reservations, tickets, amount) " +
+           "VALUES (:bucketStart, :showtimeId, :status, :movieId, :theaterId, :reservations, :tickets, :amount) " +
+           "ON CONFLICT (bucketStart, showtimeId, status) DO UPDATE SET " +
+           "reservations = reservations + excluded.reservations, tickets = tickets + excluded.tickets, amount = amount + excluded.amount")
+    int add(@Param("bucketStart") LocalDateTime bucketStart, @Param("showtimeId") Long showtimeId, @Param("status") String status,
+            @Param("movieId") Long movieId, @Param("theaterId") Long theaterId,
+            @Param("reservations") long reservations, @Param("tickets") long tickets, @Param("amount") BigDecimal amount);
+
+    // Drop the rows of a bucket range ahead of rebuilding it
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM #{#entityName} s WHERE s.bucketStart >= :from AND s.bucketStart < :to")
+    int deleteBuckets(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Total amount of reservations in one status over a bucket range
+    @Query("SELECT COALESCE(SUM(s.amount), 0) FROM #{#entityName} s " +
+           "WHERE s.status = :status AND s.bucketStart >= :from AND s.bucketStart < :to")
+    BigDecimal sumAmount(@Param("status") String status, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Page of figures per bucket, movie and status over a bucket range
+    @Query(value = "SELECT new com.ishan.moviereservation.dto.SalesSummary(s.bucketStart, s.movieId, s.status, " +
+           "SUM(s.reservations), SUM(s.tickets), SUM(s.amount)) FROM #{#entityName} s " +
+           "WHERE s.bucketStart >= :from AND s.bucketStart < :to " +
+           "GROUP BY s.bucketStart, s.movieId, s.status ORDER BY s.bucketStart, s.movieId, s.status",
+           countQuery = "SELECT COUNT(*) FROM (SELECT s.bucketStart AS bucketStart FROM #{#entityName} s " +
+                        "WHERE s.bucketStart >= :from AND s.bucketStart < :to GROUP BY s.bucketStart, s.movieId, s.status) g")
+    Page<SalesSummary> summarizeByMovie(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    // Page of figures per bucket, theater and status over a bucket range
+    @Query(value = "SELECT new com.ishan.moviereservation.dto.SalesSummary(s.bucketStart, s.theaterId, s.status, " +
+           "SUM(s.reservations), SUM(s.tickets), SUM(s.amount)) FROM #{#entityName} s " +
+           "WHERE s.bucketStart >= :from AND s.bucketStart < :to " +
+           "GROUP BY s.bucketStart, s.theaterId, s.status ORDER BY s.bucketStart, s.theaterId, s.status",
+           countQuery = "SELECT COUNT(*) FROM (SELECT s.bucketStart AS bucketStart FROM #{#entityName} s " +
+                        "WHERE s.bucketStart >= :from AND s.bucketStart < :to GROUP BY s.bucketStart, s.theaterId, s.status) g")
+    Page<SalesSummary> summarizeByTheater(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    // Page of figures per bucket, showtime and status over a bucket range
+    @Query(value = "SELECT new com.ishan.moviereservation.dto.SalesSummary(s.bucketStart, s.showtimeId, s.status, " +
+           "s.reservations, s.tickets, s.amount) FROM #{#entityName} s " +
+           "WHERE s.bucketStart >= :from AND s.bucketStart < :to ORDER BY s.bucketStart, s.showtimeId, s.status",
+           countQuery = "SELECT COUNT(s) FROM #{#entityName} s WHERE s.bucketStart >= :from AND s.bucketStart < :to")
+    Page<SalesSummary> summarizeByShowtime(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+}
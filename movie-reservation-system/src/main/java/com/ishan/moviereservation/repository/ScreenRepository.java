@@ -1,15 +1,22 @@
 package com.ishan.moviereservation.repository;
 
+import com.ishan.moviereservation.dto.ScreenResponse;
+import com.ishan.moviereservation.dto.VersionStamp;
 import com.ishan.moviereservation.entity.Screen;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ScreenRepository extends JpaRepository<Screen, Long> {
 
     // Find by name (exact match)
@@ -72,4 +79,48 @@ public interface ScreenRepository extends JpaRepository<Screen, Long> {
     List<Screen> findByTheaterIdAndCapacityBetween(@Param("theaterId") Long theaterId, 
                                                    @Param("minCapacity") Integer minCapacity, 
                                                    @Param("maxCapacity") Integer maxCapacity);
+
+    // DTO projection for the paginated screen list, joining the theater name in the same query
+    @Query(value = "SELECT new com.ishan.moviereservation.dto.ScreenResponse(s.id, s.name, s.capacity, t.id, t.name, " +
+                   "s.createdAt, s.updatedAt) FROM Screen s JOIN s.theater t",
+           countQuery = "SELECT COUNT(s) FROM Screen s")
+    Page<ScreenResponse> findAllProjectedBy(Pageable pageable);
+
+    // Version stamp of the screen list, including theater renames since screens carry the theater name
+    @Query("SELECT new com.ishan.moviereservation.dto.VersionStamp(COUNT(s), MAX(s.updatedAt), MAX(s.createdAt), MAX(t.updatedAt)) " +
+           "FROM Screen s JOIN s.theater t")
+    VersionStamp findListVersion();
+
+    // Screen with its theater in one query, for DTO mapping
+    @EntityGraph("Screen.theater")
+    Optional<Screen> findWithTheaterById(Long id);
+
+    // Screens of a theater with the theater fetched, for DTO mapping
+    @EntityGraph("Screen.theater")
+    List<Screen> findWithTheaterByTheaterId(Long theaterId);
+
+    // Count screens of a theater
+    long countByTheaterId(Long theaterId);
+
+    // Whether a theater has any screen
+    boolean existsByTheaterId(Long theaterId);
+
+    // Whether a screen name (or one containing it) is already used in a theater
+    boolean existsByTheaterIdAndNameContainingIgnoreCase(Long theaterId, String name);
+
+    // Count screens that have seats
+    @Query("SELECT COUNT(s) FROM Screen s WHERE s.seats IS NOT EMPTY")
+    long countScreensWithSeats();
+
+    // Count screens that have showtimes
+    @Query("SELECT COUNT(s) FROM Screen s WHERE s.showtimes IS NOT EMPTY")
+    long countScreensWithShowtimes();
+
+    // Count screens with no seats
+    @Query("SELECT COUNT(s) FROM Screen s WHERE s.seats IS EMPTY")
+    long countScreensWithoutSeats();
+
+    // Count screens with no showtimes
+    @Query("SELECT COUNT(s) FROM Screen s WHERE s.showtimes IS EMPTY")
+    long countScreensWithoutShowtimes();
 }
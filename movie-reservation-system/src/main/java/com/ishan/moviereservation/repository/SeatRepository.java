@@ -1,40 +1,54 @@
 package com.ishan.moviereservation.repository;
 
+import com.ishan.moviereservation.config.SecondLevelCacheConfig;
+import com.ishan.moviereservation.dto.SeatPosition;
 import com.ishan.moviereservation.entity.Seat;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface SeatRepository extends JpaRepository<Seat, Long> {
 
     // Find by label (exact match)
     Optional<Seat> findByLabel(String label);
 
     // Find by label containing (for search functionality)
-    List<Seat> findByLabelContainingIgnoreCase(String label);
+    Page<Seat> findByLabelContainingIgnoreCase(String label, Pageable pageable);
 
-    // Find by screen ID
+    // Find by screen ID (query cached, like the other seat-by-screen lookups)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.SEAT_QUERIES)
+    })
     List<Seat> findByScreenId(Long screenId);
 
     // Find by screen ID and label
     List<Seat> findByScreenIdAndLabelContainingIgnoreCase(Long screenId, String label);
 
     // Find by row label
-    List<Seat> findByRowLabel(String rowLabel);
+    Page<Seat> findByRowLabel(String rowLabel, Pageable pageable);
 
     // Find by row label containing
-    List<Seat> findByRowLabelContainingIgnoreCase(String rowLabel);
+    Page<Seat> findByRowLabelContainingIgnoreCase(String rowLabel, Pageable pageable);
 
     // Find by column number
-    List<Seat> findByCol(Integer col);
+    Page<Seat> findByCol(Integer col, Pageable pageable);
 
     // Find by column range
-    List<Seat> findByColBetween(Integer minCol, Integer maxCol);
+    Page<Seat> findByColBetween(Integer minCol, Integer maxCol, Pageable pageable);
 
     // Find by screen ID and row label
     List<Seat> findByScreenIdAndRowLabel(Long screenId, String rowLabel);
@@ -46,9 +60,17 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     List<Seat> findByScreenIdAndRowLabelAndCol(Long screenId, String rowLabel, Integer col);
 
     // Find seats ordered by row label and column
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.SEAT_QUERIES)
+    })
     List<Seat> findByScreenIdOrderByRowLabelAscColAsc(Long screenId);
 
     // Find seats ordered by label
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.SEAT_QUERIES)
+    })
     List<Seat> findByScreenIdOrderByLabelAsc(Long screenId);
 
     // Custom query to find seats with their reservations
@@ -57,21 +79,25 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
 
     // Find seats that have reservations
     @Query("SELECT DISTINCT s FROM Seat s WHERE s.seatReservations IS NOT EMPTY")
-    List<Seat> findSeatsWithReservations();
+    Page<Seat> findSeatsWithReservations(Pageable pageable);
 
     // Find seats with no reservations
     @Query("SELECT s FROM Seat s WHERE s.seatReservations IS EMPTY")
-    List<Seat> findSeatsWithoutReservations();
-
-    // Custom query to find seats with reservation count
-    @Query("SELECT s, COUNT(sr) as reservationCount FROM Seat s LEFT JOIN s.seatReservations sr GROUP BY s ORDER BY reservationCount DESC")
-    List<Object[]> findSeatsWithReservationCount();
+    Page<Seat> findSeatsWithoutReservations(Pageable pageable);
 
     // Find seats by screen with pagination support
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.SEAT_QUERIES)
+    })
     @Query("SELECT s FROM Seat s WHERE s.screen.id = :screenId ORDER BY s.rowLabel ASC, s.col ASC")
     List<Seat> findByScreenIdOrdered(@Param("screenId") Long screenId);
 
     // Find seats by screen and row
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.SEAT_QUERIES)
+    })
     @Query("SELECT s FROM Seat s WHERE s.screen.id = :screenId AND s.rowLabel = :rowLabel ORDER BY s.col ASC")
     List<Seat> findByScreenIdAndRowLabelOrdered(@Param("screenId") Long screenId, @Param("rowLabel") String rowLabel);
 
@@ -80,4 +106,34 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
            "(SELECT sr.seat.id FROM SeatReservation sr WHERE sr.showtime.id = :showtimeId AND sr.status IN ('HELD', 'PAID')) " +
            "ORDER BY s.rowLabel ASC, s.col ASC")
     List<Seat> findAvailableSeatsForShowtime(@Param("screenId") Long screenId, @Param("showtimeId") Long showtimeId);
+
+    // Count seats of a screen
+    long countByScreenId(Long screenId);
+
+    // Count seats in a row (across screens)
+    long countByRowLabel(String rowLabel);
+
+    // Whether a screen has any seat
+    boolean existsByScreenId(Long screenId);
+
+    // Whether a seat label (or one containing it) is already used in a screen
+    boolean existsByScreenIdAndLabelContainingIgnoreCase(Long screenId, String label);
+
+    // Count seats that have reservations
+    @Query("SELECT COUNT(s) FROM Seat s WHERE s.seatReservations IS NOT EMPTY")
+    long countSeatsWithReservations();
+
+    // Count seats with no reservations
+    @Query("SELECT COUNT(s) FROM Seat s WHERE s.seatReservations IS EMPTY")
+    long countSeatsWithoutReservations();
+
+    // Count available seats for a specific showtime (not reserved)
+    @Query("SELECT COUNT(s) FROM Seat s WHERE s.screen.id = :screenId AND s.id NOT IN " +
+           "(SELECT sr.seat.id FROM SeatReservation sr WHERE sr.showtime.id = :showtimeId AND sr.status IN ('HELD', 'PAID'))")
+    long countAvailableSeatsForShowtime(@Param("screenId") Long screenId, @Param("showtimeId") Long showtimeId);
+
+    // Row and column of every seat on the given screens
+    @Query("SELECT new com.ishan.moviereservation.dto.SeatPosition(s.id, s.screen.id, s.rowLabel, s.col) " +
+           "FROM Seat s WHERE s.screen.id IN :screenIds")
+    List<SeatPosition> findPositionsByScreenIdIn(@Param("screenIds") Collection<Long> screenIds);
 }
@@ -1,14 +1,28 @@
 package com.ishan.moviereservation.repository;
 
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.SeatBookingCount;
+import com.ishan.moviereservation.dto.TakenSeat;
 import com.ishan.moviereservation.entity.SeatReservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
+@Transactional(readOnly = true)
 public interface SeatReservationRepository extends JpaRepository<SeatReservation, Long> {
 
     // Find by reservation ID
@@ -21,7 +35,7 @@ public interface SeatReservationRepository extends JpaRepository<SeatReservation
     List<SeatReservation> findByShowtimeId(Long showtimeId);
 
     // Find by status
-    List<SeatReservation> findByStatus(String status);
+    Page<SeatReservation> findByStatus(String status, Pageable pageable);
 
     // Find by reservation ID and status
     List<SeatReservation> findByReservationIdAndStatus(Long reservationId, String status);
@@ -42,7 +56,7 @@ public interface SeatReservationRepository extends JpaRepository<SeatReservation
     List<SeatReservation> findByReservationIdAndShowtimeId(Long reservationId, Long showtimeId);
 
     // Find seat reservations ordered by creation date
-    List<SeatReservation> findAllByOrderByCreatedAtDesc();
+    Page<SeatReservation> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
     // Find by reservation ordered by creation date
     List<SeatReservation> findByReservationIdOrderByCreatedAtDesc(Long reservationId);
@@ -51,23 +65,15 @@ public interface SeatReservationRepository extends JpaRepository<SeatReservation
     List<SeatReservation> findByShowtimeIdOrderByCreatedAtDesc(Long showtimeId);
 
     // Find by status ordered by creation date
-    List<SeatReservation> findByStatusOrderByCreatedAtDesc(String status);
-
-    // Find held seat reservations
-    @Query("SELECT sr FROM SeatReservation sr WHERE sr.status = 'HELD'")
-    List<SeatReservation> findHeldSeatReservations();
-
-    // Find paid seat reservations
-    @Query("SELECT sr FROM SeatReservation sr WHERE sr.status = 'PAID'")
-    List<SeatReservation> findPaidSeatReservations();
+    Page<SeatReservation> findByStatusOrderByCreatedAtDesc(String status, Pageable pageable);
 
     // Find cancelled seat reservations
     @Query("SELECT sr FROM SeatReservation sr WHERE sr.status = 'CANCELLED'")
-    List<SeatReservation> findCancelledSeatReservations();
+    Page<SeatReservation> findCancelledSeatReservations(Pageable pageable);
 
     // Find active seat reservations (not cancelled)
     @Query("SELECT sr FROM SeatReservation sr WHERE sr.status != 'CANCELLED'")
-    List<SeatReservation> findActiveSeatReservations();
+    Page<SeatReservation> findActiveSeatReservations(Pageable pageable);
 
 
 
@@ -81,6 +87,10 @@ public interface SeatReservationRepository extends JpaRepository<SeatReservation
     @Query("SELECT COUNT(sr) FROM SeatReservation sr WHERE sr.seat.id = :seatId AND sr.showtime.id = :showtimeId AND sr.status IN ('HELD', 'PAID')")
     long countActiveReservationsForSeatAndShowtime(@Param("seatId") Long seatId, @Param("showtimeId") Long showtimeId);
 
+    // Seats among the given ones that already have a reservation row for the showtime
+    @Query("SELECT sr.seat.id FROM SeatReservation sr WHERE sr.showtime.id = :showtimeId AND sr.seat.id IN :seatIds")
+    List<Long> findReservedSeatIds(@Param("showtimeId") Long showtimeId, @Param("seatIds") Collection<Long> seatIds);
+
     // Find all seat reservations for a showtime with seat details
     @Query("SELECT sr FROM SeatReservation sr JOIN FETCH sr.seat WHERE sr.showtime.id = :showtimeId ORDER BY sr.seat.rowLabel ASC, sr.seat.col ASC")
     List<SeatReservation> findByShowtimeIdWithSeatDetails(@Param("showtimeId") Long showtimeId);
@@ -89,11 +99,6 @@ public interface SeatReservationRepository extends JpaRepository<SeatReservation
     @Query("SELECT sr FROM SeatReservation sr JOIN FETCH sr.reservation WHERE sr.showtime.id = :showtimeId ORDER BY sr.createdAt DESC")
     List<SeatReservation> findByShowtimeIdWithReservationDetails(@Param("showtimeId") Long showtimeId);
 
-    // Find seat reservations by date range
-    @Query("SELECT sr FROM SeatReservation sr WHERE sr.createdAt BETWEEN :startDate AND :endDate ORDER BY sr.createdAt DESC")
-    List<SeatReservation> findByCreatedAtBetween(@Param("startDate") java.time.LocalDateTime startDate, 
-                                                @Param("endDate") java.time.LocalDateTime endDate);
-
     // Find seat reservations by showtime and date range
     @Query("SELECT sr FROM SeatReservation sr WHERE sr.showtime.id = :showtimeId AND sr.createdAt BETWEEN :startDate AND :endDate ORDER BY sr.createdAt DESC")
     List<SeatReservation> findByShowtimeIdAndCreatedAtBetween(@Param("showtimeId") Long showtimeId, 
@@ -110,7 +115,85 @@ public interface SeatReservationRepository extends JpaRepository<SeatReservation
     @Query("SELECT sr.status, COUNT(sr) FROM SeatReservation sr GROUP BY sr.status")
     List<Object[]> findSeatReservationCountByStatus();
 
-    // Find seat reservation count by showtime
-    @Query("SELECT sr.showtime.id, COUNT(sr) FROM SeatReservation sr WHERE sr.status IN ('HELD', 'PAID') GROUP BY sr.showtime.id")
-    List<Object[]> findSeatReservationCountByShowtime();
+    // Count seat reservations of a seat
+    long countBySeatId(Long seatId);
+
+    // Count seat reservations of a showtime
+    long countByShowtimeId(Long showtimeId);
+
+    // Count seat reservations of a reservation
+    long countByReservationId(Long reservationId);
+
+    // Count seat reservations of a reservation in any of the given statuses
+    long countByReservationIdAndStatusIn(Long reservationId, Collection<String> statuses);
+
+    // Count seat reservations by status
+    long countByStatus(String status);
+
+    // Count seat reservations in any status but the given one
+    long countByStatusNot(String status);
+
+    // Whether a seat already has a reservation row for a showtime
+    boolean existsBySeatIdAndShowtimeId(Long seatId, Long showtimeId);
+
+    // Whether a seat has any seat reservation
+    boolean existsBySeatId(Long seatId);
+
+    // Whether a reservation has any seat reservation
+    boolean existsByReservationId(Long reservationId);
+
+    // Stream (read-only) seat reservations by status through a cursor; close it inside the caller's transaction
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT sr FROM SeatReservation sr WHERE sr.status = :status ORDER BY sr.id")
+    Stream<SeatReservation> streamByStatus(@Param("status") String status);
+
+    // Stream (read-only) seat reservations created in a half-open time range
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT sr FROM SeatReservation sr WHERE sr.createdAt >= :from AND sr.createdAt < :to ORDER BY sr.id")
+    Stream<SeatReservation> streamByCreatedAtRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Move a reservation's seats from one status to another; returns how many changed
+    @Transactional
+    @Modifying
+    @Query("UPDATE SeatReservation sr SET sr.status = :toStatus WHERE sr.reservation.id = :reservationId AND sr.status = :fromStatus")
+    int updateStatusByReservationId(@Param("reservationId") Long reservationId,
+                                    @Param("fromStatus") String fromStatus, @Param("toStatus") String toStatus);
+
+    // Ids of a reservation's seats in the given status
+    @Query("SELECT sr.seat.id FROM SeatReservation sr WHERE sr.reservation.id = :reservationId AND sr.status = :status")
+    List<Long> findSeatIdsByReservationIdAndStatus(@Param("reservationId") Long reservationId, @Param("status") String status);
+
+    // Seats held or sold for any of the given showtimes
+    @Query("SELECT new com.ishan.moviereservation.dto.TakenSeat(sr.showtime.id, sr.seat.id) FROM SeatReservation sr " +
+           "WHERE sr.showtime.id IN :showtimeIds AND sr.status IN ('HELD', 'PAID')")
+    List<TakenSeat> findTakenSeatsByShowtimeIdIn(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    // Delete a reservation's seats in the given status in one statement; returns how many were deleted
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM SeatReservation sr WHERE sr.reservation.id = :reservationId AND sr.status = :status")
+    int deleteByReservationIdAndStatus(@Param("reservationId") Long reservationId, @Param("status") String status);
+
+    // Held or sold seat reservations per seat of a screen, for showtimes starting in a half-open range
+    @Query("SELECT new com.ishan.moviereservation.dto.SeatBookingCount(sr.seat.id, COUNT(sr)) FROM SeatReservation sr " +
+           "WHERE sr.showtime.screen.id = :screenId AND sr.showtime.startTime >= :from AND sr.showtime.startTime < :to " +
+           "AND sr.status IN ('HELD', 'PAID') GROUP BY sr.seat.id")
+    List<SeatBookingCount> countTakenBySeatForScreen(@Param("screenId") Long screenId,
+                                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Stream showtime and seat of every paid seat reservation
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.ishan.moviereservation.dto.TakenSeat(sr.showtime.id, sr.seat.id) FROM SeatReservation sr WHERE sr.status = 'PAID'")
+    Stream<TakenSeat> streamSoldSeats();
+
+    // Seats paid for in any of the given showtimes
+    @Query("SELECT new com.ishan.moviereservation.dto.TakenSeat(sr.showtime.id, sr.seat.id) FROM SeatReservation sr " +
+           "WHERE sr.showtime.id IN :showtimeIds AND sr.status = 'PAID'")
+    List<TakenSeat> findSoldSeatsByShowtimeIdIn(@Param("showtimeIds") Collection<Long> showtimeIds);
 }
@@ -0,0 +1,56 @@
+package com.ishan.moviereservation.repository;
+
+import com.ishan.moviereservation.dto.OccupancySummary;
+import com.ishan.moviereservation.entity.ShowtimeOccupancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ShowtimeOccupancyRepository extends JpaRepository<ShowtimeOccupancy, Long> {
+
+    // Create empty counters for new showtimes, capacity taken from their screen's seats
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ShowtimeOccupancy (showtimeId, capacity, sold, held) " +
+           "SELECT s.id, (SELECT COUNT(st) FROM Seat st WHERE st.screen = s.screen), 0, 0 " +
+           "FROM Showtime s WHERE s.id IN :showtimeIds")
+    int insertForShowtimes(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    // Add to the sold and held counters of a showtime in place (deltas may be negative)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ShowtimeOccupancy o SET o.sold = o.sold + :soldDelta, o.held = o.held + :heldDelta " +
+           "WHERE o.showtimeId = :showtimeId")
+    int increment(@Param("showtimeId") Long showtimeId, @Param("soldDelta") int soldDelta, @Param("heldDelta") int heldDelta);
+
+    // Recount the capacity of showtimes from their screen's seats
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ShowtimeOccupancy o SET o.capacity = (SELECT COUNT(st) FROM Seat st, Showtime s " +
+           "WHERE st.screen = s.screen AND s.id = o.showtimeId) WHERE o.showtimeId IN :showtimeIds")
+    int refreshCapacity(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    // Recount the capacity of every showtime on a screen after its seat layout changed
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ShowtimeOccupancy o SET o.capacity = (SELECT COUNT(st) FROM Seat st WHERE st.screen.id = :screenId) " +
+           "WHERE o.showtimeId IN (SELECT s.id FROM Showtime s WHERE s.screen.id = :screenId)")
+    int refreshCapacityForScreen(@Param("screenId") Long screenId);
+
+    // Occupancy counted from seat reservations and the screens' seats, one grouped query for all given showtimes
+    @Query("SELECT new com.ishan.moviereservation.dto.OccupancySummary(s.id, " +
+           "CAST((SELECT COUNT(st) FROM Seat st WHERE st.screen.id = s.screen.id) AS Integer), " +
+           "CAST(COALESCE(SUM(CASE WHEN sr.status = 'PAID' THEN 1 ELSE 0 END), 0) AS Integer), " +
+           "CAST(COALESCE(SUM(CASE WHEN sr.status = 'HELD' THEN 1 ELSE 0 END), 0) AS Integer)) " +
+           "FROM Showtime s LEFT JOIN SeatReservation sr ON sr.showtime = s " +
+           "WHERE s.id IN :showtimeIds GROUP BY s.id, s.screen.id")
+    List<OccupancySummary> countByShowtimeIdIn(@Param("showtimeIds") Collection<Long> showtimeIds);
+}
@@ -1,17 +1,30 @@
 package com.ishan.moviereservation.repository;
 
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.ShowtimeStart;
+import com.ishan.moviereservation.dto.ShowtimeSummary;
 import com.ishan.moviereservation.entity.Showtime;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
+@Transactional(readOnly = true)
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
 
     // Find by movie ID
@@ -27,25 +40,22 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
     List<Showtime> findByStartTimeBetween(LocalDateTime startTime, LocalDateTime endTime);
 
     // Find by start time after specified time
-    List<Showtime> findByStartTimeAfter(LocalDateTime startTime);
+    Page<Showtime> findByStartTimeAfter(LocalDateTime startTime, Pageable pageable);
 
     // Find by start time before specified time
-    List<Showtime> findByStartTimeBefore(LocalDateTime startTime);
+    Page<Showtime> findByStartTimeBefore(LocalDateTime startTime, Pageable pageable);
 
     // Find by ticket price range
-    List<Showtime> findByTicketPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+    Page<Showtime> findByTicketPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
 
     // Find by ticket price less than
-    List<Showtime> findByTicketPriceLessThan(BigDecimal price);
+    Page<Showtime> findByTicketPriceLessThan(BigDecimal price, Pageable pageable);
 
     // Find by ticket price greater than
-    List<Showtime> findByTicketPriceGreaterThan(BigDecimal price);
+    Page<Showtime> findByTicketPriceGreaterThan(BigDecimal price, Pageable pageable);
 
     // Find showtimes ordered by start time
-    List<Showtime> findAllByOrderByStartTimeAsc();
-
-    // Find showtimes ordered by start time (newest first)
-    List<Showtime> findAllByOrderByStartTimeDesc();
+    Page<Showtime> findAllByOrderByStartTimeAsc(Pageable pageable);
 
     // Find showtimes by movie ordered by start time
     List<Showtime> findByMovieIdOrderByStartTimeAsc(Long movieId);
@@ -63,35 +73,41 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
 
     // Find showtimes that have reservations
     @Query("SELECT DISTINCT s FROM Showtime s WHERE s.reservations IS NOT EMPTY")
-    List<Showtime> findShowtimesWithReservations();
+    Page<Showtime> findShowtimesWithReservations(Pageable pageable);
 
     // Find showtimes that have seat reservations
     @Query("SELECT DISTINCT s FROM Showtime s WHERE s.seatReservations IS NOT EMPTY")
-    List<Showtime> findShowtimesWithSeatReservations();
-
-    // Custom query to find showtimes with reservation count
-    @Query("SELECT s, COUNT(r) as reservationCount FROM Showtime s LEFT JOIN s.reservations r GROUP BY s ORDER BY reservationCount DESC")
-    List<Object[]> findShowtimesWithReservationCount();
+    Page<Showtime> findShowtimesWithSeatReservations(Pageable pageable);
 
     // Find showtimes with no reservations
     @Query("SELECT s FROM Showtime s WHERE s.reservations IS EMPTY")
-    List<Showtime> findShowtimesWithoutReservations();
+    Page<Showtime> findShowtimesWithoutReservations(Pageable pageable);
 
     // Find showtimes with no seat reservations
     @Query("SELECT s FROM Showtime s WHERE s.seatReservations IS EMPTY")
-    List<Showtime> findShowtimesWithoutSeatReservations();
+    Page<Showtime> findShowtimesWithoutSeatReservations(Pageable pageable);
 
     // Find upcoming showtimes (after current time)
     @Query("SELECT s FROM Showtime s WHERE s.startTime > :currentTime ORDER BY s.startTime ASC")
-    List<Showtime> findUpcomingShowtimes(@Param("currentTime") LocalDateTime currentTime);
+    Page<Showtime> findUpcomingShowtimes(@Param("currentTime") LocalDateTime currentTime, Pageable pageable);
 
     // Find showtimes for a specific date
-    @Query("SELECT s FROM Showtime s WHERE DATE(s.startTime) = DATE(:date) ORDER BY s.startTime ASC")
-    List<Showtime> findShowtimesByDate(@Param("date") LocalDateTime date);
-
-    // Find showtimes for a specific date range
-    @Query("SELECT s FROM Showtime s WHERE DATE(s.startTime) BETWEEN DATE(:startDate) AND DATE(:endDate) ORDER BY s.startTime ASC")
-    List<Showtime> findShowtimesByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    default List<Showtime> findShowtimesByDate(LocalDateTime date) {
+        LocalDateTime dayStart = date.toLocalDate().atStartOfDay();
+        return findWithMovieAndScreenByStartTimeRange(dayStart, dayStart.plusDays(1));
+    }
+
+    // Find showtimes for a specific date range (both days inclusive)
+    default List<Showtime> findShowtimesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return findWithMovieAndScreenByStartTimeRange(startDate.toLocalDate().atStartOfDay(),
+                                                      endDate.toLocalDate().plusDays(1).atStartOfDay());
+    }
+
+    // Half-open start time range, index-friendly, with movie and screen fetched in the same query
+    @Query("SELECT s FROM Showtime s JOIN FETCH s.movie JOIN FETCH s.screen " +
+           "WHERE s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime ASC")
+    List<Showtime> findWithMovieAndScreenByStartTimeRange(@Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
 
     // Find showtimes by movie and date range
     @Query("SELECT s FROM Showtime s WHERE s.movie.id = :movieId AND s.startTime BETWEEN :startTime AND :endTime ORDER BY s.startTime ASC")
@@ -106,11 +122,94 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
                                                     @Param("endTime") LocalDateTime endTime);
 
     // Find conflicting showtimes for a screen (overlapping time periods)
+    // (half-open [start, end) overlap, the same rule the showtimes_no_overlap constraint enforces)
     @Query("SELECT s FROM Showtime s WHERE s.screen.id = :screenId AND " +
-           "((s.startTime <= :startTime AND s.endTime > :startTime) OR " +
-           "(s.startTime < :endTime AND s.endTime >= :endTime) OR " +
-           "(s.startTime >= :startTime AND s.endTime <= :endTime))")
+           "s.startTime < :endTime AND s.endTime > :startTime")
     List<Showtime> findConflictingShowtimes(@Param("screenId") Long screenId, 
                                            @Param("startTime") LocalDateTime startTime, 
                                            @Param("endTime") LocalDateTime endTime);
+
+    // Upcoming showtime summaries for a set of theaters (DTO projection, no entity graph)
+    @Query("SELECT new com.ishan.moviereservation.dto.ShowtimeSummary(s.id, m.id, m.title, sc.id, sc.name, t.id, s.startTime, s.endTime, s.ticketPrice) " +
+           "FROM Showtime s JOIN s.movie m JOIN s.screen sc JOIN sc.theater t " +
+           "WHERE t.id IN :theaterIds AND s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime ASC")
+    List<ShowtimeSummary> findSummariesByTheaterIdsAndStartTimeBetween(@Param("theaterIds") Collection<Long> theaterIds,
+                                                                      @Param("from") LocalDateTime from,
+                                                                      @Param("to") LocalDateTime to);
+
+    // Showtime summaries starting in a half-open time range, for a single day's schedule
+    @Query("SELECT new com.ishan.moviereservation.dto.ShowtimeSummary(s.id, m.id, m.title, sc.id, sc.name, t.id, s.startTime, s.endTime, s.ticketPrice) " +
+           "FROM Showtime s JOIN s.movie m JOIN s.screen sc JOIN sc.theater t " +
+           "WHERE s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime ASC")
+    List<ShowtimeSummary> findSummariesByStartTimeRange(@Param("from") LocalDateTime from,
+                                                        @Param("to") LocalDateTime to);
+
+    // Stream showtime summaries starting in a half-open time range, for the schedule index
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.ishan.moviereservation.dto.ShowtimeSummary(s.id, m.id, m.title, sc.id, sc.name, t.id, s.startTime, s.endTime, s.ticketPrice) " +
+           "FROM Showtime s JOIN s.movie m JOIN s.screen sc JOIN sc.theater t " +
+           "WHERE s.startTime >= :from AND s.startTime < :to")
+    Stream<ShowtimeSummary> streamSummariesByStartTimeRange(@Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to);
+
+    // Summaries of the given showtimes (missing ids are simply absent)
+    @Query("SELECT new com.ishan.moviereservation.dto.ShowtimeSummary(s.id, m.id, m.title, sc.id, sc.name, t.id, s.startTime, s.endTime, s.ticketPrice) " +
+           "FROM Showtime s JOIN s.movie m JOIN s.screen sc JOIN sc.theater t WHERE s.id IN :showtimeIds")
+    List<ShowtimeSummary> findSummariesByIdIn(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    // Showtime summaries of a screen that end after the given time, for the interval index
+    @Query("SELECT new com.ishan.moviereservation.dto.ShowtimeSummary(s.id, m.id, m.title, sc.id, sc.name, t.id, s.startTime, s.endTime, s.ticketPrice) " +
+           "FROM Showtime s JOIN s.movie m JOIN s.screen sc JOIN sc.theater t " +
+           "WHERE sc.id = :screenId AND s.endTime > :after ORDER BY s.startTime ASC")
+    List<ShowtimeSummary> findSummariesByScreenIdAndEndTimeAfter(@Param("screenId") Long screenId,
+                                                                 @Param("after") LocalDateTime after);
+
+    // Showtimes of a movie with movie, screen and theater fetched, for DTO mapping
+    @EntityGraph("Showtime.movieAndScreen")
+    List<Showtime> findWithMovieAndScreenByMovieIdOrderByStartTimeAsc(Long movieId);
+
+    // Count showtimes of a movie
+    long countByMovieId(Long movieId);
+
+    // Count showtimes of a screen
+    long countByScreenId(Long screenId);
+
+    // Whether a movie has any showtime
+    boolean existsByMovieId(Long movieId);
+
+    // Whether a screen has any showtime
+    boolean existsByScreenId(Long screenId);
+
+    // Count showtimes starting after the given time
+    long countByStartTimeAfter(LocalDateTime startTime);
+
+    // Count showtimes starting in a half-open time range
+    @Query("SELECT COUNT(s) FROM Showtime s WHERE s.startTime >= :from AND s.startTime < :to")
+    long countByStartTimeRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Count showtimes that have reservations
+    @Query("SELECT COUNT(s) FROM Showtime s WHERE s.reservations IS NOT EMPTY")
+    long countShowtimesWithReservations();
+
+    // Count showtimes with no reservations
+    @Query("SELECT COUNT(s) FROM Showtime s WHERE s.reservations IS EMPTY")
+    long countShowtimesWithoutReservations();
+
+    // Stream screen, start time, capacity and sold seats of a theater's showtimes starting in a half-open range
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE))
+    @Query("SELECT s.screen.id, s.startTime, COALESCE(o.capacity, 0), COALESCE(o.sold, 0) " +
+           "FROM Showtime s LEFT JOIN ShowtimeOccupancy o ON o.showtimeId = s.id " +
+           "WHERE s.screen.theater.id = :theaterId AND s.startTime >= :from AND s.startTime < :to")
+    Stream<Object[]> streamOccupancyByTheater(@Param("theaterId") Long theaterId,
+                                              @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Stream screen, movie and start time of every showtime
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.ishan.moviereservation.dto.ShowtimeStart(s.id, s.screen.id, s.movie.id, s.startTime) FROM Showtime s")
+    Stream<ShowtimeStart> streamStarts();
+
+    // Screen, movie and start time of the given showtimes
+    @Query("SELECT new com.ishan.moviereservation.dto.ShowtimeStart(s.id, s.screen.id, s.movie.id, s.startTime) " +
+           "FROM Showtime s WHERE s.id IN :ids")
+    List<ShowtimeStart> findStartsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,15 +1,27 @@
 package com.ishan.moviereservation.repository;
 
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.TheaterLocation;
+import com.ishan.moviereservation.dto.TheaterResponse;
+import com.ishan.moviereservation.dto.VersionStamp;
 import com.ishan.moviereservation.entity.Theater;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
+@Transactional(readOnly = true)
 public interface TheaterRepository extends JpaRepository<Theater, Long> {
 
     // Find by name (exact match)
@@ -46,7 +58,43 @@ public interface TheaterRepository extends JpaRepository<Theater, Long> {
     @Query("SELECT t FROM Theater t WHERE t.screens IS EMPTY")
     List<Theater> findTheatersWithoutScreens();
 
-    // Find theaters by name or address containing
-    @Query("SELECT t FROM Theater t WHERE LOWER(t.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(t.address) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Theater> findByNameOrAddressContainingIgnoreCase(@Param("searchTerm") String searchTerm);
+    // Find theaters by name or address containing the LIKE-escaped pattern, best trigram match on the raw term first
+    // (ILIKE on the raw columns is served by the pg_trgm GIN indexes from V2)
+    @Query(value = "SELECT t.* FROM theaters t " +
+                   "WHERE t.name ILIKE CONCAT('%', :pattern, '%') OR t.address ILIKE CONCAT('%', :pattern, '%') " +
+                   "ORDER BY GREATEST(similarity(t.name, :searchTerm), similarity(COALESCE(t.address, ''), :searchTerm)) DESC, t.name",
+           nativeQuery = true)
+    List<Theater> findByNameOrAddressContainingIgnoreCase(@Param("pattern") String pattern, @Param("searchTerm") String searchTerm);
+
+    // DTO projection for the paginated theater list (no managed entities)
+    @Query(value = "SELECT new com.ishan.moviereservation.dto.TheaterResponse(t.id, t.name, t.address, t.latitude, t.longitude, t.createdAt, t.updatedAt) " +
+                   "FROM Theater t",
+           countQuery = "SELECT COUNT(t) FROM Theater t")
+    Page<TheaterResponse> findAllProjectedBy(Pageable pageable);
+
+    // Stream the positions of all geocoded theaters, used to build the nearby index
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = JpaConfig.STREAM_FETCH_SIZE))
+    @Query("SELECT new com.ishan.moviereservation.dto.TheaterLocation(t.id, t.name, t.address, t.latitude, t.longitude) " +
+           "FROM Theater t WHERE t.latitude IS NOT NULL AND t.longitude IS NOT NULL")
+    Stream<TheaterLocation> streamAllLocations();
+
+    // Position of a single theater (empty when missing or not geocoded)
+    @Query("SELECT new com.ishan.moviereservation.dto.TheaterLocation(t.id, t.name, t.address, t.latitude, t.longitude) " +
+           "FROM Theater t WHERE t.id = :theaterId AND t.latitude IS NOT NULL AND t.longitude IS NOT NULL")
+    Optional<TheaterLocation> findLocationById(@Param("theaterId") Long theaterId);
+
+    // Version stamp of the theater list (row count and latest modification)
+    @Query("SELECT new com.ishan.moviereservation.dto.VersionStamp(COUNT(t), MAX(t.updatedAt), MAX(t.createdAt)) FROM Theater t")
+    VersionStamp findListVersion();
+
+    // Whether a theater with this exact name exists
+    boolean existsByName(String name);
+
+    // Count theaters that have screens
+    @Query("SELECT COUNT(t) FROM Theater t WHERE t.screens IS NOT EMPTY")
+    long countTheatersWithScreens();
+
+    // Count theaters with no screens
+    @Query("SELECT COUNT(t) FROM Theater t WHERE t.screens IS EMPTY")
+    long countTheatersWithoutScreens();
 }
@@ -1,15 +1,18 @@
 package com.ishan.moviereservation.repository;
 
 import com.ishan.moviereservation.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
 
     // Find by username (for authentication)
@@ -25,10 +28,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     // Find users by role
-    List<User> findByRole(String role);
+    Page<User> findByRole(String role, Pageable pageable);
 
     // Find users by role with pagination
-    List<User> findByRoleOrderByCreatedAtDesc(String role);
+    Page<User> findByRoleOrderByCreatedAtDesc(String role, Pageable pageable);
 
     // Custom query to find users with their reservation count
     @Query("SELECT u FROM User u LEFT JOIN FETCH u.reservations WHERE u.id = :userId")
@@ -36,11 +39,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Find users who have made reservations
     @Query("SELECT DISTINCT u FROM User u WHERE u.reservations IS NOT EMPTY")
-    List<User> findUsersWithReservations();
+    Page<User> findUsersWithReservations(Pageable pageable);
 
     // Find users by username containing (for search functionality)
-    List<User> findByUsernameContainingIgnoreCase(String username);
+    Page<User> findByUsernameContainingIgnoreCase(String username, Pageable pageable);
 
     // Find users by email containing (for search functionality)
-    List<User> findByEmailContainingIgnoreCase(String email);
+    Page<User> findByEmailContainingIgnoreCase(String email, Pageable pageable);
+
+    // Count users by role
+    long countByRole(String role);
 }
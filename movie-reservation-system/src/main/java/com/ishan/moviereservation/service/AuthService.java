@@ -37,11 +37,11 @@ public class AuthService {
 
     @Transactional
     public AuthResponse register(RegisterRequest request, HttpServletResponse response) {
-            if (userRepository.findByUsername(request.getUsername()).isPresent()) {
+            if (userRepository.existsByUsername(request.getUsername())) {
                 throw new UsernameAlreadyExistsException("Username already exists");
             }
             
-            if (userRepository.findByEmail(request.getEmail()).isPresent()) {
+            if (userRepository.existsByEmail(request.getEmail())) {
                 throw new EmailAlreadyExistsException("Email already exists");
             }
 
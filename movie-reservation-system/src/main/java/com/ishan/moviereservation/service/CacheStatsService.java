@@ -0,0 +1,80 @@
+package com.ishan.moviereservation.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Get size, hit, miss and eviction statistics for every application cache
+     */
+    public Map<String, Map<String, Object>> getCacheStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof CaffeineCache caffeineCache) {
+                stats.put(name, toMap(caffeineCache));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Get hit, miss and put statistics for every Hibernate second-level cache region
+     */
+    public Map<String, Map<String, Object>> getSecondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                stats.put(region, toMap(regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount()));
+            }
+        }
+        stats.put("queryCache", toMap(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+            statistics.getQueryCachePutCount()));
+        stats.put("naturalIdCache", toMap(statistics.getNaturalIdCacheHitCount(), statistics.getNaturalIdCacheMissCount(),
+            statistics.getNaturalIdCachePutCount()));
+        return stats;
+    }
+
+    private Map<String, Object> toMap(long hitCount, long missCount, long putCount) {
+        long requestCount = hitCount + missCount;
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("hitCount", hitCount);
+        values.put("missCount", missCount);
+        values.put("putCount", putCount);
+        values.put("hitRate", requestCount == 0 ? 1.0 : (double) hitCount / requestCount);
+        return values;
+    }
+
+    private Map<String, Object> toMap(CaffeineCache cache) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = cache.getNativeCache();
+        CacheStats cacheStats = nativeCache.stats();
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", nativeCache.estimatedSize());
+        values.put("hitCount", cacheStats.hitCount());
+        values.put("missCount", cacheStats.missCount());
+        values.put("hitRate", cacheStats.hitRate());
+        values.put("evictionCount", cacheStats.evictionCount());
+        return values;
+    }
+}
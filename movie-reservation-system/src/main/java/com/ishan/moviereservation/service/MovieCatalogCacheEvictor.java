@@ -0,0 +1,47 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.config.CacheConfig;
+import com.ishan.moviereservation.event.MovieChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MovieCatalogCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Evict catalogue entries touched by a movie change once it is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMovieChanged(MovieChangedEvent event) {
+        log.debug("Evicting catalogue cache entries for {}", event);
+
+        Cache movies = cacheManager.getCache(CacheConfig.MOVIES);
+        if (movies != null && event.getMovieId() != null) {
+            movies.evict(event.getMovieId());
+        }
+
+        Cache moviesByGenre = cacheManager.getCache(CacheConfig.MOVIES_BY_GENRE);
+        if (moviesByGenre != null) {
+            event.getGenres().forEach(moviesByGenre::evict);
+        }
+
+        // Any create, update or delete can shift every page of the catalogue
+        Cache moviePages = cacheManager.getCache(CacheConfig.MOVIE_PAGES);
+        if (moviePages != null) {
+            moviePages.clear();
+        }
+
+        Cache catalogVersions = cacheManager.getCache(CacheConfig.CATALOG_VERSIONS);
+        if (catalogVersions != null) {
+            catalogVersions.evict(MovieService.CATALOG_VERSION_KEY);
+        }
+    }
+}
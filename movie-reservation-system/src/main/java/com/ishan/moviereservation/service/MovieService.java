@@ -1,18 +1,28 @@
 package com.ishan.moviereservation.service;
 
+import com.ishan.moviereservation.config.CacheConfig;
 import com.ishan.moviereservation.dto.MovieRequest;
 import com.ishan.moviereservation.dto.MovieResponse;
+import com.ishan.moviereservation.dto.VersionStamp;
 import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.event.MovieChangedEvent;
 import com.ishan.moviereservation.repository.MovieRepository;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,7 +30,11 @@ import java.util.Optional;
 @Transactional
 public class MovieService {
 
+    public static final String CATALOG_VERSION_KEY = "movies";
+
     private final MovieRepository movieRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new movie
@@ -29,7 +43,7 @@ public class MovieService {
         log.info("Creating new movie with title: {}", movie.getTitle());
         
         // Check if movie with same title already exists
-        if (movieRepository.findByTitle(movie.getTitle()).isPresent()) {
+        if (movieRepository.existsByTitle(movie.getTitle())) {
             throw new RuntimeException("Movie with title already exists: " + movie.getTitle());
         }
         
@@ -39,6 +53,7 @@ public class MovieService {
         }
         
         Movie savedMovie = movieRepository.save(movie);
+        publishMovieChanged(savedMovie.getId(), savedMovie.getGenre());
         log.info("Movie created successfully with ID: {}", savedMovie.getId());
         return savedMovie;
     }
@@ -199,8 +214,9 @@ public class MovieService {
         
         // Check if title is being changed and if new title already exists
         Optional<Movie> existingMovie = movieRepository.findById(movie.getId());
+        String previousGenre = existingMovie.map(Movie::getGenre).orElse(null);
         if (existingMovie.isPresent() && !existingMovie.get().getTitle().equals(movie.getTitle())) {
-            if (movieRepository.findByTitle(movie.getTitle()).isPresent()) {
+            if (movieRepository.existsByTitle(movie.getTitle())) {
                 throw new RuntimeException("Movie with title already exists: " + movie.getTitle());
             }
         }
@@ -211,6 +227,7 @@ public class MovieService {
         }
         
         Movie updatedMovie = movieRepository.save(movie);
+        publishMovieChanged(updatedMovie.getId(), previousGenre, updatedMovie.getGenre());
         log.info("Movie updated successfully with ID: {}", updatedMovie.getId());
         return updatedMovie;
     }
@@ -226,12 +243,13 @@ public class MovieService {
         }
         
         // Check if movie has showtimes (business rule: can't delete movie with scheduled showtimes)
-        Optional<Movie> movie = movieRepository.findByIdWithShowtimes(id);
-        if (movie.isPresent() && !movie.get().getShowtimes().isEmpty()) {
+        if (showtimeRepository.existsByMovieId(id)) {
             throw new RuntimeException("Cannot delete movie with scheduled showtimes. Movie ID: " + id);
         }
         
+        Optional<Movie> movie = movieRepository.findById(id);
         movieRepository.deleteById(id);
+        publishMovieChanged(id, movie.map(Movie::getGenre).orElse(null));
         log.info("Movie deleted successfully with ID: {}", id);
     }
 
@@ -250,7 +268,7 @@ public class MovieService {
     @Transactional(readOnly = true)
     public long countByGenre(String genre) {
         log.debug("Getting movie count by genre: {}", genre);
-        return movieRepository.findByGenre(genre).size();
+        return movieRepository.countByGenre(genre);
     }
 
     /**
@@ -259,7 +277,7 @@ public class MovieService {
     @Transactional(readOnly = true)
     public long countWithShowtimes() {
         log.debug("Getting movie count with showtimes");
-        return movieRepository.findMoviesWithShowtimes().size();
+        return movieRepository.countMoviesWithShowtimes();
     }
 
     /**
@@ -268,7 +286,7 @@ public class MovieService {
     @Transactional(readOnly = true)
     public long countWithoutShowtimes() {
         log.debug("Getting movie count without showtimes");
-        return movieRepository.findMoviesWithoutShowtimes().size();
+        return movieRepository.countMoviesWithoutShowtimes();
     }
 
     // ========== DTO-based methods for API controllers ==========
@@ -299,6 +317,9 @@ public class MovieService {
         Movie existingMovie = findById(id)
             .orElseThrow(() -> new RuntimeException("Movie not found with ID: " + id));
         
+        // The managed entity is modified in place, so remember the genre it is leaving
+        String previousGenre = existingMovie.getGenre();
+        
         existingMovie.setTitle(request.getTitle());
         existingMovie.setDescription(request.getDescription());
         existingMovie.setPosterUrl(request.getPosterUrl());
@@ -306,6 +327,7 @@ public class MovieService {
         existingMovie.setDurationMinutes(request.getDurationMinutes());
         
         Movie updatedMovie = updateMovie(existingMovie);
+        publishMovieChanged(id, previousGenre);
         return convertToResponse(updatedMovie);
     }
 
@@ -318,24 +340,72 @@ public class MovieService {
     }
 
     /**
-     * Get all movies with pagination
+     * Get all movies with pagination (the first catalogue pages are cached)
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MOVIE_PAGES,
+        condition = "#pageable.paged and #pageable.pageNumber < T(com.ishan.moviereservation.config.CacheConfig).CACHED_MOVIE_PAGES",
+        key = "#pageable.pageNumber + ':' + #pageable.pageSize + ':' + #pageable.sort")
     public Page<MovieResponse> getAllMovies(Pageable pageable) {
         log.debug("Getting all movies with pagination");
-        return movieRepository.findAll(pageable)
-            .map(this::convertToResponse);
+        return movieRepository.findAllProjectedBy(pageable);
     }
 
     /**
      * Get movie by ID
      */
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MOVIES, key = "#id")
     public MovieResponse getMovieById(Long id) {
         log.debug("Getting movie by ID: {}", id);
-        Movie movie = findById(id)
+        return movieRepository.findResponseById(id)
             .orElseThrow(() -> new RuntimeException("Movie not found with ID: " + id));
-        return convertToResponse(movie);
+    }
+
+    /**
+     * Get movies by genre
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MOVIES_BY_GENRE, key = "#genre")
+    public List<MovieResponse> getMoviesByGenre(String genre) {
+        log.debug("Getting movies by genre: {}", genre);
+        return movieRepository.findSummariesByGenre(genre);
+    }
+
+    /**
+     * Search the catalogue by title and/or genre text; with neither, list it by title
+     */
+    @Transactional(readOnly = true)
+    public List<MovieResponse> searchMovies(String title, String genre) {
+        log.debug("Searching movie catalogue with title: {}, genre: {}", title, genre);
+        if (title != null && genre != null) {
+            return movieRepository.searchSummariesByTitleAndGenre(title, genre);
+        } else if (title != null) {
+            return movieRepository.searchSummariesByTitle(title);
+        } else if (genre != null) {
+            return movieRepository.searchSummariesByGenre(genre);
+        }
+        return movieRepository.findSummariesOrderByTitle();
+    }
+
+    /**
+     * Get the catalogue version stamp used for conditional requests
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATALOG_VERSIONS, key = "T(com.ishan.moviereservation.service.MovieService).CATALOG_VERSION_KEY")
+    public VersionStamp getCatalogVersion() {
+        log.debug("Getting movie catalogue version");
+        return movieRepository.findCatalogVersion();
+    }
+
+    /**
+     * Notify listeners (catalogue caches) that a movie and its genres changed
+     */
+    private void publishMovieChanged(Long movieId, String... genres) {
+        Set<String> touchedGenres = Stream.of(genres)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        eventPublisher.publishEvent(new MovieChangedEvent(movieId, touchedGenres));
     }
 
     /**
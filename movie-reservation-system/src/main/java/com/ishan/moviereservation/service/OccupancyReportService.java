@@ -0,0 +1,227 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.dto.OccupancyHeatmap;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.repository.ScreenRepository;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
+import com.ishan.moviereservation.repository.TheaterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Occupancy heatmaps of a theater by screen and hour. The theater's showtimes are streamed once as
+ * (screen, start, capacity, sold) rows from the occupancy counters and packed into primitive columns;
+ * the columns are then summed into flat day × screen × hour matrices by a fork-join reduction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class OccupancyReportService {
+
+    public static final int MAX_HEATMAP_DAYS = 92;
+
+    private static final int HOURS = 24;
+
+    private final ShowtimeRepository showtimeRepository;
+    private final ScreenRepository screenRepository;
+    private final TheaterRepository theaterRepository;
+
+    /**
+     * Showtimes, sold seats and capacity per screen and hour of each day from {@code from} through {@code to}
+     */
+    public OccupancyHeatmap getHeatmap(Long theaterId, LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_HEATMAP_DAYS) {
+            throw new RuntimeException("Heatmap must cover 1 to " + MAX_HEATMAP_DAYS + " days, got: " + days);
+        }
+        if (!theaterRepository.existsById(theaterId)) {
+            throw new RuntimeException("Theater not found with ID: " + theaterId);
+        }
+
+        List<Screen> screens = new ArrayList<>(screenRepository.findByTheaterId(theaterId));
+        screens.sort(Comparator.comparing(Screen::getId));
+        Map<Long, Integer> screenIndex = new HashMap<>();
+        for (int i = 0; i < screens.size(); i++) {
+            screenIndex.put(screens.get(i).getId(), i);
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        Rows rows = new Rows();
+        try (Stream<Object[]> showtimes = showtimeRepository.streamOccupancyByTheater(theaterId, start, to.plusDays(1).atStartOfDay())) {
+            showtimes.forEach(row -> {
+                Integer screen = screenIndex.get((Long) row[0]);
+                if (screen == null) {
+                    return;
+                }
+                LocalDateTime startTime = (LocalDateTime) row[1];
+                int day = (int) ChronoUnit.DAYS.between(start, startTime);
+                int cell = (day * screens.size() + screen) * HOURS + startTime.getHour();
+                rows.add(cell, ((Number) row[2]).intValue(), ((Number) row[3]).intValue());
+            });
+        }
+
+        Matrices totals = ForkJoinPool.commonPool().invoke(new Reduction(rows, 0, rows.size, (int) days * screens.size() * HOURS));
+        log.debug("Built occupancy heatmap of theater {} from {} showtimes over {} days", theaterId, rows.size, days);
+
+        List<OccupancyHeatmap.Day> result = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            result.add(totals.day(from.plusDays(day), day, screens.size()));
+        }
+        return new OccupancyHeatmap(theaterId, from, to, screens.stream().map(Screen::getId).toList(),
+            screens.stream().map(Screen::getName).toList(), result);
+    }
+
+    /**
+     * The heatmap as CSV, one line per day, screen and hour that had a showtime
+     */
+    public String toCsv(OccupancyHeatmap heatmap) {
+        StringBuilder csv = new StringBuilder("date,screen_id,screen_name,hour,showtimes,sold,capacity,occupancy_pct\n");
+        for (OccupancyHeatmap.Day day : heatmap.getDays()) {
+            for (int screen = 0; screen < heatmap.getScreenIds().size(); screen++) {
+                for (int hour = 0; hour < HOURS; hour++) {
+                    if (day.getShowtimes()[screen][hour] == 0) {
+                        continue;
+                    }
+                    csv.append(day.getDate()).append(',')
+                        .append(heatmap.getScreenIds().get(screen)).append(',')
+                        .append(csvField(heatmap.getScreenNames().get(screen))).append(',')
+                        .append(hour).append(',')
+                        .append(day.getShowtimes()[screen][hour]).append(',')
+                        .append(day.getSold()[screen][hour]).append(',')
+                        .append(day.getCapacity()[screen][hour]).append(',')
+                        .append(day.getOccupancyPercent()[screen][hour]).append('\n');
+                }
+            }
+        }
+        return csv.toString();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * Streamed showtimes as parallel primitive columns: target matrix cell, capacity and sold seats
+     */
+    private static final class Rows {
+        private int[] cell = new int[1024];
+        private int[] capacity = new int[1024];
+        private int[] sold = new int[1024];
+        private int size;
+
+        private void add(int cell, int capacity, int sold) {
+            if (size == this.cell.length) {
+                this.cell = Arrays.copyOf(this.cell, size * 2);
+                this.capacity = Arrays.copyOf(this.capacity, size * 2);
+                this.sold = Arrays.copyOf(this.sold, size * 2);
+            }
+            this.cell[size] = cell;
+            this.capacity[size] = capacity;
+            this.sold[size] = sold;
+            size++;
+        }
+    }
+
+    /**
+     * Sums a range of rows into fresh matrices, splitting it in halves while it is large enough to be worth forking
+     */
+    private static final class Reduction extends RecursiveTask<Matrices> {
+        private static final int ROWS_PER_TASK = 4096;
+
+        private final Rows rows;
+        private final int from;
+        private final int to;
+        private final int cells;
+
+        private Reduction(Rows rows, int from, int to, int cells) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+            this.cells = cells;
+        }
+
+        @Override
+        protected Matrices compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                Matrices matrices = new Matrices(cells);
+                for (int i = from; i < to; i++) {
+                    int cell = rows.cell[i];
+                    matrices.showtimes[cell]++;
+                    matrices.capacity[cell] += rows.capacity[i];
+                    matrices.sold[cell] += rows.sold[i];
+                }
+                return matrices;
+            }
+            int middle = (from + to) >>> 1;
+            Reduction left = new Reduction(rows, from, middle, cells);
+            left.fork();
+            Matrices right = new Reduction(rows, middle, to, cells).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Flat day × screen × hour matrices
+     */
+    private static final class Matrices {
+        private final int[] showtimes;
+        private final int[] capacity;
+        private final int[] sold;
+
+        private Matrices(int cells) {
+            showtimes = new int[cells];
+            capacity = new int[cells];
+            sold = new int[cells];
+        }
+
+        private Matrices merge(Matrices other) {
+            for (int cell = 0; cell < showtimes.length; cell++) {
+                showtimes[cell] += other.showtimes[cell];
+                capacity[cell] += other.capacity[cell];
+                sold[cell] += other.sold[cell];
+            }
+            return this;
+        }
+
+        private OccupancyHeatmap.Day day(LocalDate date, int day, int screens) {
+            int[][] dayShowtimes = new int[screens][];
+            int[][] dayCapacity = new int[screens][];
+            int[][] daySold = new int[screens][];
+            int[][] percent = new int[screens][HOURS];
+            for (int screen = 0; screen < screens; screen++) {
+                int offset = (day * screens + screen) * HOURS;
+                dayShowtimes[screen] = Arrays.copyOfRange(showtimes, offset, offset + HOURS);
+                dayCapacity[screen] = Arrays.copyOfRange(capacity, offset, offset + HOURS);
+                daySold[screen] = Arrays.copyOfRange(sold, offset, offset + HOURS);
+                for (int hour = 0; hour < HOURS; hour++) {
+                    if (dayCapacity[screen][hour] > 0) {
+                        percent[screen][hour] = (int) (100L * daySold[screen][hour] / dayCapacity[screen][hour]);
+                    }
+                }
+            }
+            return new OccupancyHeatmap.Day(date, dayShowtimes, daySold, dayCapacity, percent);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ishan.moviereservation.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically cancels reservations whose seat hold has run out, in batches of one transaction each
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationExpiryJob {
+
+    private final ReservationService reservationService;
+
+    @Value("${app.reservation.expiry-batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.reservation.expiry-interval:60000}")
+    public void expireLapsedHolds() {
+        int total = 0;
+        int expired;
+        do {
+            expired = reservationService.expireLapsedHolds(batchSize);
+            total += expired;
+        } while (expired == batchSize);
+        if (total > 0) {
+            log.info("Expired {} reservation holds", total);
+        }
+    }
+}
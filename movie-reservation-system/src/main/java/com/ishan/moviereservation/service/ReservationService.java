@@ -1,9 +1,15 @@
 package com.ishan.moviereservation.service;
 
 import com.ishan.moviereservation.entity.Reservation;
+import com.ishan.moviereservation.metrics.ReservationCounters;
 import com.ishan.moviereservation.repository.ReservationRepository;
+import com.ishan.moviereservation.repository.SeatReservationRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,6 +17,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +27,11 @@ import java.util.Optional;
 public class ReservationService {
 
     private final ReservationRepository reservationRepository;
+    private final SeatReservationRepository seatReservationRepository;
+    private final ShowtimeOccupancyService occupancyService;
+    private final SalesRollupService salesRollupService;
+    private final ReservationCounters reservationCounters;
+    private final EntityManager entityManager;
 
     /**
      * Create a new reservation
@@ -51,6 +64,7 @@ public class ReservationService {
         reservation.setStatus("PENDING");
         
         Reservation savedReservation = reservationRepository.save(reservation);
+        salesRollupService.recordTransition(savedReservation, null, savedReservation.getStatus());
         log.info("Reservation created successfully with ID: {}", savedReservation.getId());
         return savedReservation;
     }
@@ -77,9 +91,9 @@ public class ReservationService {
      * Get all reservations
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findAll() {
+    public Page<Reservation> findAll(Pageable pageable) {
         log.debug("Finding all reservations");
-        return reservationRepository.findAll();
+        return reservationRepository.findAll(pageable);
     }
 
     /**
@@ -113,9 +127,9 @@ public class ReservationService {
      * Find reservations by status
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findByStatus(String status) {
+    public Page<Reservation> findByStatus(String status, Pageable pageable) {
         log.debug("Finding reservations by status: {}", status);
-        return reservationRepository.findByStatus(status);
+        return reservationRepository.findByStatus(status, pageable);
     }
 
     /**
@@ -140,108 +154,142 @@ public class ReservationService {
      * Find reservations by total amount range
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findByTotalAmountBetween(BigDecimal minAmount, BigDecimal maxAmount) {
+    public Page<Reservation> findByTotalAmountBetween(BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable) {
         log.debug("Finding reservations with total amount between: {} and {}", minAmount, maxAmount);
-        return reservationRepository.findByTotalAmountBetween(minAmount, maxAmount);
+        return reservationRepository.findByTotalAmountBetween(minAmount, maxAmount, pageable);
     }
 
     /**
      * Find reservations by total amount greater than
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findByTotalAmountGreaterThan(BigDecimal amount) {
+    public Page<Reservation> findByTotalAmountGreaterThan(BigDecimal amount, Pageable pageable) {
         log.debug("Finding reservations with total amount greater than: {}", amount);
-        return reservationRepository.findByTotalAmountGreaterThan(amount);
+        return reservationRepository.findByTotalAmountGreaterThan(amount, pageable);
     }
 
     /**
      * Find reservations by total amount less than
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findByTotalAmountLessThan(BigDecimal amount) {
+    public Page<Reservation> findByTotalAmountLessThan(BigDecimal amount, Pageable pageable) {
         log.debug("Finding reservations with total amount less than: {}", amount);
-        return reservationRepository.findByTotalAmountLessThan(amount);
+        return reservationRepository.findByTotalAmountLessThan(amount, pageable);
     }
 
     /**
      * Find reservations by hold expiry before
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findByHoldExpiryBefore(LocalDateTime time) {
+    public Page<Reservation> findByHoldExpiryBefore(LocalDateTime time, Pageable pageable) {
         log.debug("Finding reservations with hold expiry before: {}", time);
-        return reservationRepository.findByHoldExpiryBefore(time);
+        return reservationRepository.findByHoldExpiryBefore(time, pageable);
     }
 
     /**
      * Find reservations by hold expiry after
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findByHoldExpiryAfter(LocalDateTime time) {
+    public Page<Reservation> findByHoldExpiryAfter(LocalDateTime time, Pageable pageable) {
         log.debug("Finding reservations with hold expiry after: {}", time);
-        return reservationRepository.findByHoldExpiryAfter(time);
+        return reservationRepository.findByHoldExpiryAfter(time, pageable);
     }
 
     /**
      * Find reservations by hold expiry between
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findByHoldExpiryBetween(LocalDateTime startTime, LocalDateTime endTime) {
+    public Page<Reservation> findByHoldExpiryBetween(LocalDateTime startTime, LocalDateTime endTime, Pageable pageable) {
         log.debug("Finding reservations with hold expiry between: {} and {}", startTime, endTime);
-        return reservationRepository.findByHoldExpiryBetween(startTime, endTime);
+        return reservationRepository.findByHoldExpiryBetween(startTime, endTime, pageable);
     }
 
     /**
      * Find expired reservations
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findExpiredReservations() {
+    public Page<Reservation> findExpiredReservations(Pageable pageable) {
         log.debug("Finding expired reservations");
-        return reservationRepository.findExpiredReservations(LocalDateTime.now());
+        return reservationRepository.findExpiredReservations(LocalDateTime.now(), pageable);
     }
 
     /**
      * Find active reservations
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findActiveReservations() {
+    public Page<Reservation> findActiveReservations(Pageable pageable) {
         log.debug("Finding active reservations");
-        return reservationRepository.findActiveReservations(LocalDateTime.now());
+        return reservationRepository.findActiveReservations(LocalDateTime.now(), pageable);
     }
 
     /**
      * Find confirmed reservations
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findConfirmedReservations() {
+    public Page<Reservation> findConfirmedReservations(Pageable pageable) {
         log.debug("Finding confirmed reservations");
-        return reservationRepository.findConfirmedReservations();
+        return reservationRepository.findConfirmedReservations(pageable);
     }
 
     /**
      * Find held reservations
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findHeldReservations() {
+    public Page<Reservation> findHeldReservations(Pageable pageable) {
         log.debug("Finding held reservations");
-        return reservationRepository.findHeldReservations();
+        return reservationRepository.findHeldReservations(pageable);
     }
 
     /**
      * Find cancelled reservations
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findCancelledReservations() {
+    public Page<Reservation> findCancelledReservations(Pageable pageable) {
         log.debug("Finding cancelled reservations");
-        return reservationRepository.findCancelledReservations();
+        return reservationRepository.findCancelledReservations(pageable);
+    }
+
+    /**
+     * Hand every reservation with the given status to the action, one row at a time from a database cursor.
+     * The entities are read-only and detached once handled, so memory stays flat however many rows match.
+     */
+    @Transactional(readOnly = true)
+    public void forEachByStatus(String status, Consumer<Reservation> action) {
+        log.debug("Streaming reservations by status: {}", status);
+        try (Stream<Reservation> reservations = reservationRepository.streamByStatus(status)) {
+            reservations.forEach(detachAfter(action));
+        }
+    }
+
+    /**
+     * Hand every hold that has expired by now to the action, streamed like {@link #forEachByStatus}
+     */
+    @Transactional(readOnly = true)
+    public void forEachExpiredReservation(Consumer<Reservation> action) {
+        log.debug("Streaming expired reservations");
+        try (Stream<Reservation> reservations = reservationRepository.streamExpiredReservations(LocalDateTime.now())) {
+            reservations.forEach(detachAfter(action));
+        }
+    }
+
+    /**
+     * Hand every reservation created in [from, to) to the action, streamed like {@link #forEachByStatus}
+     */
+    @Transactional(readOnly = true)
+    public void forEachCreatedBetween(LocalDateTime from, LocalDateTime to, Consumer<Reservation> action) {
+        log.debug("Streaming reservations created between: {} and {}", from, to);
+        try (Stream<Reservation> reservations = reservationRepository.streamByCreatedAtRange(from, to)) {
+            reservations.forEach(detachAfter(action));
+        }
     }
 
     /**
      * Find reservations by date range
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate) {
+    public Page<Reservation> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable) {
         log.debug("Finding reservations between: {} and {}", startDate, endDate);
-        return reservationRepository.findByCreatedAtBetween(startDate, endDate);
+        return reservationRepository.findByCreatedAtBetween(startDate, endDate, pageable);
     }
 
     /**
@@ -266,45 +314,44 @@ public class ReservationService {
      * Find reservations with seat reservations
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findReservationsWithSeatReservations() {
+    public Page<Reservation> findReservationsWithSeatReservations(Pageable pageable) {
         log.debug("Finding reservations with seat reservations");
-        return reservationRepository.findReservationsWithSeatReservations();
+        return reservationRepository.findReservationsWithSeatReservations(pageable);
     }
 
     /**
      * Find reservations without seat reservations
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findReservationsWithoutSeatReservations() {
+    public Page<Reservation> findReservationsWithoutSeatReservations(Pageable pageable) {
         log.debug("Finding reservations without seat reservations");
-        return reservationRepository.findReservationsWithoutSeatReservations();
+        return reservationRepository.findReservationsWithoutSeatReservations(pageable);
     }
 
     /**
      * Find reservations with seat reservation count
      */
     @Transactional(readOnly = true)
-    public List<Object[]> findReservationsWithSeatReservationCount() {
+    public Page<Object[]> findReservationsWithSeatReservationCount(Pageable pageable) {
         log.debug("Finding reservations with seat reservation count");
-        return reservationRepository.findReservationsWithSeatReservationCount();
+        return reservationRepository.findReservationsWithSeatReservationCount(pageable);
     }
 
     /**
-     * Find total revenue by date range
+     * Find total revenue of reservations created in [startDate, endDate), read from the sales rollups
      */
     @Transactional(readOnly = true)
     public BigDecimal findTotalRevenueByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         log.debug("Finding total revenue between: {} and {}", startDate, endDate);
-        return reservationRepository.findTotalRevenueByDateRange(startDate, endDate);
+        return salesRollupService.getRevenue(startDate, endDate);
     }
 
     /**
-     * Find reservation count by status
+     * Find reservation count by status, from the in-memory counters
      */
-    @Transactional(readOnly = true)
     public List<Object[]> findReservationCountByStatus() {
         log.debug("Finding reservation count by status");
-        return reservationRepository.findReservationCountByStatus();
+        return reservationCounters.getReservationCountByStatus();
     }
 
     /**
@@ -330,9 +377,18 @@ public class ReservationService {
             throw new RuntimeException("Cannot confirm reservation for past showtime");
         }
         
+        // Held seats may already be on their way back to sale
+        if (reservation.isExpired()) {
+            throw new RuntimeException("Seat hold has expired for reservation ID: " + reservationId);
+        }
+        
         reservation.setStatus("CONFIRMED");
         
         Reservation confirmedReservation = reservationRepository.save(reservation);
+        salesRollupService.recordTransition(confirmedReservation, "PENDING", "CONFIRMED");
+        List<Long> paidSeatIds = seatReservationRepository.findSeatIdsByReservationIdAndStatus(reservationId, "HELD");
+        seatReservationRepository.updateStatusByReservationId(reservationId, "HELD", "PAID");
+        occupancyService.recordPayments(reservation.getShowtime().getId(), paidSeatIds);
         log.info("Reservation confirmed successfully with ID: {}", confirmedReservation.getId());
         return confirmedReservation;
     }
@@ -360,13 +416,36 @@ public class ReservationService {
             throw new RuntimeException("Cannot cancel reservation for showtime that has already started");
         }
         
+        String previousStatus = reservation.getStatus();
         reservation.setStatus("CANCELLED");
         
         Reservation cancelledReservation = reservationRepository.save(reservation);
+        salesRollupService.recordTransition(cancelledReservation, previousStatus, "CANCELLED");
+        releaseSeats(reservation, "HELD");
+        releaseSeats(reservation, "PAID");
         log.info("Reservation cancelled successfully with ID: {}", cancelledReservation.getId());
         return cancelledReservation;
     }
 
+    /**
+     * Cancel up to {@code batchSize} open reservations whose seat hold ran out and put their held seats back on sale.
+     * Returns how many were cancelled.
+     */
+    public int expireLapsedHolds(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        for (Reservation reservation : reservationRepository.findLapsedHolds(now, Limit.of(batchSize))) {
+            // Conditional update, so a reservation confirmed since the select is left alone
+            if (reservationRepository.expireHold(reservation.getId(), now) == 0) {
+                continue;
+            }
+            salesRollupService.recordTransition(reservation, reservation.getStatus(), "CANCELLED");
+            releaseSeats(reservation, "HELD");
+            expired++;
+        }
+        return expired;
+    }
+
     /**
      * Complete a reservation
      */
@@ -393,6 +472,7 @@ public class ReservationService {
         reservation.setStatus("COMPLETED");
         
         Reservation completedReservation = reservationRepository.save(reservation);
+        salesRollupService.recordTransition(completedReservation, "CONFIRMED", "COMPLETED");
         log.info("Reservation completed successfully with ID: {}", completedReservation.getId());
         return completedReservation;
     }
@@ -403,9 +483,8 @@ public class ReservationService {
     public Reservation updateReservation(Reservation reservation) {
         log.info("Updating reservation with ID: {}", reservation.getId());
         
-        if (!reservationRepository.existsById(reservation.getId())) {
-            throw new RuntimeException("Reservation not found with ID: " + reservation.getId());
-        }
+        Reservation existing = reservationRepository.findById(reservation.getId())
+            .orElseThrow(() -> new RuntimeException("Reservation not found with ID: " + reservation.getId()));
         
         // Validate user is not null
         if (reservation.getUser() == null || reservation.getUser().getId() == null) {
@@ -422,9 +501,10 @@ public class ReservationService {
             throw new RuntimeException("Reservation total amount must be positive");
         }
         
-
-        
+        // Taken out under its old status, showtime and amount before the merge overwrites them
+        salesRollupService.recordTransition(existing, existing.getStatus(), null);
         Reservation updatedReservation = reservationRepository.save(reservation);
+        salesRollupService.recordTransition(updatedReservation, null, updatedReservation.getStatus());
         log.info("Reservation updated successfully with ID: {}", updatedReservation.getId());
         return updatedReservation;
     }
@@ -435,17 +515,16 @@ public class ReservationService {
     public void deleteById(Long id) {
         log.info("Deleting reservation with ID: {}", id);
         
-        if (!reservationRepository.existsById(id)) {
-            throw new RuntimeException("Reservation not found with ID: " + id);
-        }
+        Reservation reservation = reservationRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Reservation not found with ID: " + id));
         
         // Check if reservation has seat reservations (business rule: can't delete reservation with seat reservations)
-        Optional<Reservation> reservation = reservationRepository.findByIdWithSeatReservations(id);
-        if (reservation.isPresent() && !reservation.get().getSeatReservations().isEmpty()) {
+        if (seatReservationRepository.existsByReservationId(id)) {
             throw new RuntimeException("Cannot delete reservation with seat reservations. Reservation ID: " + id);
         }
         
-        reservationRepository.deleteById(id);
+        salesRollupService.recordTransition(reservation, reservation.getStatus(), null);
+        reservationRepository.delete(reservation);
         log.info("Reservation deleted successfully with ID: {}", id);
     }
 
@@ -464,7 +543,7 @@ public class ReservationService {
     @Transactional(readOnly = true)
     public long countByUser(Long userId) {
         log.debug("Getting reservation count by user ID: {}", userId);
-        return reservationRepository.findByUserId(userId).size();
+        return reservationRepository.countByUserId(userId);
     }
 
     /**
@@ -473,7 +552,7 @@ public class ReservationService {
     @Transactional(readOnly = true)
     public long countByShowtime(Long showtimeId) {
         log.debug("Getting reservation count by showtime ID: {}", showtimeId);
-        return reservationRepository.findByShowtimeId(showtimeId).size();
+        return reservationRepository.countByShowtimeId(showtimeId);
     }
 
     /**
@@ -482,7 +561,7 @@ public class ReservationService {
     @Transactional(readOnly = true)
     public long countByStatus(String status) {
         log.debug("Getting reservation count by status: {}", status);
-        return reservationRepository.findByStatus(status).size();
+        return reservationRepository.countByStatus(status);
     }
 
     /**
@@ -491,7 +570,7 @@ public class ReservationService {
     @Transactional(readOnly = true)
     public long countActiveReservations() {
         log.debug("Getting active reservation count");
-        return reservationRepository.findActiveReservations(LocalDateTime.now()).size();
+        return reservationRepository.countActiveReservations(LocalDateTime.now());
     }
 
     /**
@@ -500,7 +579,7 @@ public class ReservationService {
     @Transactional(readOnly = true)
     public long countConfirmedReservations() {
         log.debug("Getting confirmed reservation count");
-        return reservationRepository.findConfirmedReservations().size();
+        return reservationRepository.countByStatus("CONFIRMED");
     }
 
     /**
@@ -509,7 +588,7 @@ public class ReservationService {
     @Transactional(readOnly = true)
     public long countHeldReservations() {
         log.debug("Getting held reservation count");
-        return reservationRepository.findHeldReservations().size();
+        return reservationRepository.countByStatus("HELD");
     }
 
     /**
@@ -518,16 +597,16 @@ public class ReservationService {
     @Transactional(readOnly = true)
     public long countCancelledReservations() {
         log.debug("Getting cancelled reservation count");
-        return reservationRepository.findCancelledReservations().size();
+        return reservationRepository.countByStatus("CANCELLED");
     }
 
     /**
      * Find reservations ordered by creation date
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findAllOrderByCreatedAt() {
+    public Page<Reservation> findAllOrderByCreatedAt(Pageable pageable) {
         log.debug("Finding all reservations ordered by creation date");
-        return reservationRepository.findAllByOrderByCreatedAtDesc();
+        return reservationRepository.findAllByOrderByCreatedAtDesc(pageable);
     }
 
     /**
@@ -552,8 +631,25 @@ public class ReservationService {
      * Find reservations by status ordered by creation date
      */
     @Transactional(readOnly = true)
-    public List<Reservation> findByStatusOrderByCreatedAt(String status) {
+    public Page<Reservation> findByStatusOrderByCreatedAt(String status, Pageable pageable) {
         log.debug("Finding reservations by status ordered by creation date: {}", status);
-        return reservationRepository.findByStatusOrderByCreatedAtDesc(status);
+        return reservationRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
+    }
+
+    // Rows are deleted rather than marked CANCELLED: the (showtime_id, seat_id) unique key would keep the seat taken
+    private void releaseSeats(Reservation reservation, String status) {
+        List<Long> seatIds = seatReservationRepository.findSeatIdsByReservationIdAndStatus(reservation.getId(), status);
+        if (!seatIds.isEmpty()) {
+            seatReservationRepository.deleteByReservationIdAndStatus(reservation.getId(), status);
+            occupancyService.recordReleases(reservation.getShowtime().getId(), status, seatIds);
+            salesRollupService.recordSeats(reservation, "CANCELLED", -seatIds.size(), BigDecimal.ZERO);
+        }
+    }
+
+    private Consumer<Reservation> detachAfter(Consumer<Reservation> action) {
+        return reservation -> {
+            action.accept(reservation);
+            entityManager.detach(reservation);
+        };
     }
 }
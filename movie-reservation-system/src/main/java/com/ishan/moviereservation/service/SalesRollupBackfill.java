@@ -0,0 +1,42 @@
+package com.ishan.moviereservation.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Rebuilds the sales rollups from the reservations table, one transaction per day: on demand for a range
+ * of days, and nightly for the day before so the incrementally kept figures never drift for long
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupBackfill {
+
+    private final SalesRollupService salesRollupService;
+
+    /**
+     * Rebuild every day from {@code from} through {@code to}; returns the number of days rebuilt
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Backfill range ends before it starts: " + from + " to " + to);
+        }
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            salesRollupService.rebuildDay(day);
+            days++;
+        }
+        log.info("Rebuilt sales rollups of {} days from {} to {}", days, from, to);
+        return days;
+    }
+
+    @Scheduled(cron = "${app.sales.rebuild-cron:0 30 3 * * *}")
+    public void rebuildYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rebuild(yesterday, yesterday);
+    }
+}
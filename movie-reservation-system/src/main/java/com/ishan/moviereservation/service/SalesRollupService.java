@@ -0,0 +1,213 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.dto.ReservationSales;
+import com.ishan.moviereservation.dto.SalesSummary;
+import com.ishan.moviereservation.entity.DailySales;
+import com.ishan.moviereservation.entity.HourlySales;
+import com.ishan.moviereservation.entity.Reservation;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.event.ReservationStatusChangedEvent;
+import com.ishan.moviereservation.repository.DailySalesRepository;
+import com.ishan.moviereservation.repository.HourlySalesRepository;
+import com.ishan.moviereservation.repository.ReservationRepository;
+import com.ishan.moviereservation.repository.SalesRollupRepository;
+import com.ishan.moviereservation.repository.SeatReservationRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the hourly and daily sales rollups in step with reservations. A reservation counts once, under
+ * its current status, in the hour and the day it was created: as one reservation, its held and paid
+ * seats as tickets, and its total amount. Callers invoke it in the transaction that changes the
+ * reservation, like the occupancy counters, so the rollups commit or roll back with it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SalesRollupService {
+
+    // Revenue is the amount of confirmed reservations, as the query over reservations always counted it
+    public static final String REVENUE_STATUS = "CONFIRMED";
+    public static final int MAX_DAILY_REPORT_DAYS = 366;
+    public static final int MAX_HOURLY_REPORT_DAYS = 31;
+
+    private static final List<String> TAKEN_SEAT_STATUSES = List.of("HELD", "PAID");
+
+    private final HourlySalesRepository hourlySalesRepository;
+    private final DailySalesRepository dailySalesRepository;
+    private final ReservationRepository reservationRepository;
+    private final SeatReservationRepository seatReservationRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Move a reservation from one status to another (null when created or deleted), with its tickets and amount,
+     * and announce the transition to the in-memory counters
+     */
+    public void recordTransition(Reservation reservation, String fromStatus, String toStatus) {
+        if (Objects.equals(fromStatus, toStatus)) {
+            return;
+        }
+        long tickets = seatReservationRepository.countByReservationIdAndStatusIn(reservation.getId(), TAKEN_SEAT_STATUSES);
+        if (fromStatus != null) {
+            add(reservation, fromStatus, -1, -tickets, reservation.getTotalAmount().negate());
+        }
+        if (toStatus != null) {
+            add(reservation, toStatus, 1, tickets, reservation.getTotalAmount());
+        }
+        Showtime showtime = reservation.getShowtime();
+        eventPublisher.publishEvent(new ReservationStatusChangedEvent(showtime.getMovie().getId(),
+            showtime.getScreen().getTheater().getId(), fromStatus, toStatus, tickets, reservation.getTotalAmount()));
+    }
+
+    /**
+     * Account for seats taken (or, when negative, given back) under a reservation in the given status,
+     * and for what they added to its amount
+     */
+    public void recordSeats(Reservation reservation, String status, int tickets, BigDecimal amount) {
+        if (tickets != 0 || amount.signum() != 0) {
+            add(reservation, status, 0, tickets, amount);
+        }
+    }
+
+    /**
+     * Account for one seat of a reservation going from one seat status to another (null when created or deleted)
+     */
+    public void recordSeatTransition(Reservation reservation, String fromStatus, String toStatus) {
+        int tickets = (ShowtimeOccupancyService.isTaken(toStatus) ? 1 : 0) - (ShowtimeOccupancyService.isTaken(fromStatus) ? 1 : 0);
+        recordSeats(reservation, reservation.getStatus(), tickets, BigDecimal.ZERO);
+    }
+
+    /**
+     * Recount the rollups of one day from the reservations created on it.
+     * Bookings committing while it runs may be missed until the day is rebuilt again, so it is meant for days already over.
+     */
+    public void rebuildDay(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = from.plusDays(1);
+        hourlySalesRepository.deleteBuckets(from, to);
+        dailySalesRepository.deleteBuckets(from, to);
+
+        Map<Bucket, Totals> hours = new HashMap<>();
+        Map<Bucket, Totals> days = new HashMap<>();
+        try (Stream<ReservationSales> reservations = reservationRepository.streamSalesByCreatedAtRange(from, to)) {
+            reservations.forEach(sales -> {
+                hours.computeIfAbsent(Bucket.of(sales.getCreatedAt().truncatedTo(ChronoUnit.HOURS), sales), b -> new Totals()).add(sales);
+                days.computeIfAbsent(Bucket.of(from, sales), b -> new Totals()).add(sales);
+            });
+        }
+        hours.forEach((bucket, totals) -> entityManager.persist(new HourlySales(bucket.start, bucket.showtimeId, bucket.status,
+            bucket.movieId, bucket.theaterId, totals.reservations, totals.tickets, totals.amount)));
+        days.forEach((bucket, totals) -> entityManager.persist(new DailySales(bucket.start, bucket.showtimeId, bucket.status,
+            bucket.movieId, bucket.theaterId, totals.reservations, totals.tickets, totals.amount)));
+        log.info("Rebuilt sales rollups of {}: {} hourly and {} daily rows", day, hours.size(), days.size());
+    }
+
+    /**
+     * Revenue of reservations created in [from, to). Whole days and hours are summed from the rollups;
+     * only the partial hours at either end are read from the reservations themselves.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getRevenue(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime firstHour = ceil(from, ChronoUnit.HOURS);
+        LocalDateTime lastHour = to.truncatedTo(ChronoUnit.HOURS);
+        if (!firstHour.isBefore(lastHour)) {
+            return sumReservations(from, to);
+        }
+        LocalDateTime firstDay = ceil(firstHour, ChronoUnit.DAYS);
+        LocalDateTime lastDay = lastHour.truncatedTo(ChronoUnit.DAYS);
+        BigDecimal revenue = sumReservations(from, firstHour).add(sumReservations(lastHour, to));
+        if (!firstDay.isBefore(lastDay)) {
+            return revenue.add(sum(hourlySalesRepository, firstHour, lastHour));
+        }
+        return revenue.add(sum(hourlySalesRepository, firstHour, firstDay))
+            .add(sum(dailySalesRepository, firstDay, lastDay))
+            .add(sum(hourlySalesRepository, lastDay, lastHour));
+    }
+
+    /**
+     * Sales per hour or day ({@code granularity}) and per movie, theater or showtime ({@code groupBy}),
+     * for reservations created from {@code from} through {@code to}, one page at a time
+     */
+    @Transactional(readOnly = true)
+    public Page<SalesSummary> getSales(String granularity, String groupBy, LocalDate from, LocalDate to, Pageable pageable) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        SalesRollupRepository<?> rollups = switch (granularity) {
+            case "hour" -> hourlySalesRepository;
+            case "day" -> dailySalesRepository;
+            default -> throw new RuntimeException("Unknown granularity: " + granularity + " (expected hour or day)");
+        };
+        int maxDays = rollups == hourlySalesRepository ? MAX_HOURLY_REPORT_DAYS : MAX_DAILY_REPORT_DAYS;
+        if (days < 1 || days > maxDays) {
+            throw new RuntimeException("Report must cover 1 to " + maxDays + " days by " + granularity + ", got: " + days);
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return switch (groupBy) {
+            case "movie" -> rollups.summarizeByMovie(start, end, pageable);
+            case "theater" -> rollups.summarizeByTheater(start, end, pageable);
+            case "showtime" -> rollups.summarizeByShowtime(start, end, pageable);
+            default -> throw new RuntimeException("Unknown grouping: " + groupBy + " (expected movie, theater or showtime)");
+        };
+    }
+
+    private void add(Reservation reservation, String status, long reservations, long tickets, BigDecimal amount) {
+        LocalDateTime createdAt = reservation.getCreatedAt();
+        Showtime showtime = reservation.getShowtime();
+        Long movieId = showtime.getMovie().getId();
+        Long theaterId = showtime.getScreen().getTheater().getId();
+        hourlySalesRepository.add(createdAt.truncatedTo(ChronoUnit.HOURS), showtime.getId(), status, movieId, theaterId,
+            reservations, tickets, amount);
+        dailySalesRepository.add(createdAt.truncatedTo(ChronoUnit.DAYS), showtime.getId(), status, movieId, theaterId,
+            reservations, tickets, amount);
+    }
+
+    private BigDecimal sumReservations(LocalDateTime from, LocalDateTime to) {
+        return from.isBefore(to) ? reservationRepository.sumAmountByStatusAndCreatedAtRange(REVENUE_STATUS, from, to) : BigDecimal.ZERO;
+    }
+
+    private static BigDecimal sum(SalesRollupRepository<?> rollups, LocalDateTime from, LocalDateTime to) {
+        return from.isBefore(to) ? rollups.sumAmount(REVENUE_STATUS, from, to) : BigDecimal.ZERO;
+    }
+
+    private static LocalDateTime ceil(LocalDateTime time, ChronoUnit unit) {
+        LocalDateTime floor = time.truncatedTo(unit);
+        return floor.equals(time) ? floor : floor.plus(1, unit);
+    }
+
+    private record Bucket(LocalDateTime start, Long showtimeId, String status, Long movieId, Long theaterId) {
+        static Bucket of(LocalDateTime start, ReservationSales sales) {
+            return new Bucket(start, sales.getShowtimeId(), sales.getStatus(), sales.getMovieId(), sales.getTheaterId());
+        }
+    }
+
+    private static final class Totals {
+        private long reservations;
+        private long tickets;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        private void add(ReservationSales sales) {
+            reservations++;
+            tickets += sales.getTickets();
+            amount = amount.add(sales.getAmount());
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.dto.MovieScheduleTarget;
+import com.ishan.moviereservation.dto.ScheduleProposalRequest;
+import com.ishan.moviereservation.dto.ScheduleProposalResponse;
+import com.ishan.moviereservation.dto.ShowtimeSlot;
+import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.index.ShowtimeIntervalIndex;
+import com.ishan.moviereservation.repository.MovieRepository;
+import com.ishan.moviereservation.repository.ScreenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Proposes dense, conflict-free schedules for the screens of a theater.
+ * Free time per screen is derived from the showtime interval timelines; each movie's target is
+ * split across screens and every screen is packed greedily in parallel. Targets that did not fit
+ * on their screen are then placed in whatever free time is left anywhere.
+ * Nothing is written: the proposed slots are committed through bulk scheduling.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class SchedulePackingService {
+
+    public static final int MAX_PROPOSAL_DAYS = 31;
+    // Proposed starts are rounded up to this many minutes
+    private static final int START_GRANULARITY_MINUTES = 5;
+
+    private final ScreenRepository screenRepository;
+    private final MovieRepository movieRepository;
+    private final ShowtimeIntervalIndex showtimeIntervalIndex;
+
+    /**
+     * Compute a schedule proposal for a theater and date range
+     */
+    public ScheduleProposalResponse proposeSchedule(ScheduleProposalRequest request) {
+        log.info("Proposing schedule for theater: {} from {} to {}", request.getTheaterId(), request.getStartDate(), request.getEndDate());
+        long started = System.nanoTime();
+
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= MAX_PROPOSAL_DAYS) {
+            throw new RuntimeException("Proposal cannot span more than " + MAX_PROPOSAL_DAYS + " days");
+        }
+        if (request.getOpeningTime() == null || request.getClosingTime() == null) {
+            throw new RuntimeException("Opening and closing times are required");
+        }
+
+        List<Screen> screens = resolveScreens(request);
+        Map<Long, Movie> movies = resolveMovies(request.getMovies());
+        Duration buffer = Duration.ofMinutes(request.getCleaningBufferMinutes() != null ? request.getCleaningBufferMinutes() : 0);
+
+        // Free time per screen; timelines are loaded here so the parallel packing never touches the DB
+        Map<Long, List<Gap>> gapsByScreen = new LinkedHashMap<>();
+        Map<Long, Long> openMinutesByScreen = new HashMap<>();
+        for (Screen screen : screens) {
+            ShowtimeIntervalIndex.ScreenTimeline timeline = showtimeIntervalIndex.timeline(screen.getId());
+            List<Gap> gaps = new ArrayList<>();
+            long openMinutes = 0;
+            for (LocalDate day = request.getStartDate(); !day.isAfter(request.getEndDate()); day = day.plusDays(1)) {
+                Gap window = openingWindow(day, request);
+                if (window == null) {
+                    continue;
+                }
+                openMinutes += window.minutes();
+                gaps.addAll(freeGaps(window, timeline.between(window.start().minus(buffer), window.end().plus(buffer)), buffer));
+            }
+            gapsByScreen.put(screen.getId(), gaps);
+            openMinutesByScreen.put(screen.getId(), openMinutes);
+        }
+
+        Map<Long, Integer> targetByMovie = new LinkedHashMap<>();
+        Map<Long, BigDecimal> priceByMovie = new HashMap<>();
+        for (MovieScheduleTarget target : request.getMovies()) {
+            targetByMovie.merge(target.getMovieId(), target.getTargetShowtimes(), Integer::sum);
+            priceByMovie.put(target.getMovieId(), target.getTicketPrice());
+        }
+
+        // First pass: every screen packs its own share of each target, in parallel
+        Map<Long, Map<Long, Integer>> quotas = splitTargets(targetByMovie, new ArrayList<>(gapsByScreen.keySet()));
+        List<ScreenPlan> plans = gapsByScreen.entrySet().parallelStream()
+            .map(entry -> {
+                ScreenPlan plan = new ScreenPlan(entry.getKey(), entry.getValue());
+                plan.pack(quotas.get(entry.getKey()), movies, buffer, null);
+                return plan;
+            })
+            .toList();
+
+        // Second pass: place what did not fit on its screen into free time elsewhere
+        Map<Long, Integer> leftover = new HashMap<>();
+        quotas.values().forEach(quota -> quota.forEach((movieId, remaining) -> leftover.merge(movieId, remaining, Integer::sum)));
+        leftover.values().removeIf(remaining -> remaining <= 0);
+        if (!leftover.isEmpty()) {
+            plans.forEach(plan -> plan.pack(leftover, movies, buffer, null));
+        }
+
+        if (request.isFillGaps()) {
+            FillPolicy fill = new FillPolicy(targetByMovie, countPlaced(plans, targetByMovie));
+            plans.forEach(plan -> plan.pack(Map.of(), movies, buffer, fill));
+        }
+
+        List<ShowtimeSlot> slots = new ArrayList<>();
+        Map<Long, Double> utilizationByScreen = new LinkedHashMap<>();
+        for (ScreenPlan plan : plans) {
+            plan.placements.stream()
+                .sorted(Comparator.comparing(Placement::start))
+                .forEach(p -> slots.add(new ShowtimeSlot(p.movieId(), plan.screenId, p.start(), p.end(), priceByMovie.get(p.movieId()))));
+            long openMinutes = openMinutesByScreen.get(plan.screenId);
+            long freeMinutes = plan.gaps.stream().mapToLong(Gap::minutes).sum();
+            double utilization = openMinutes > 0 ? 1.0 - (double) freeMinutes / openMinutes : 0.0;
+            utilizationByScreen.put(plan.screenId, Math.round(utilization * 1000) / 1000.0);
+        }
+
+        long computeMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Proposed {} showtimes on {} screens in {} ms", slots.size(), screens.size(), computeMillis);
+        return new ScheduleProposalResponse(request.getTheaterId(), slots, targetByMovie, countPlaced(plans, targetByMovie),
+            utilizationByScreen, computeMillis);
+    }
+
+    private List<Screen> resolveScreens(ScheduleProposalRequest request) {
+        List<Screen> screens;
+        if (request.getScreenIds() == null || request.getScreenIds().isEmpty()) {
+            screens = screenRepository.findByTheaterId(request.getTheaterId());
+        } else {
+            screens = screenRepository.findAllById(request.getScreenIds());
+            if (screens.size() != request.getScreenIds().stream().distinct().count()) {
+                throw new RuntimeException("Some screens were not found: " + request.getScreenIds());
+            }
+            screens.stream()
+                .filter(screen -> !request.getTheaterId().equals(screen.getTheater().getId()))
+                .findFirst()
+                .ifPresent(screen -> {
+                    throw new RuntimeException("Screen " + screen.getId() + " does not belong to theater " + request.getTheaterId());
+                });
+        }
+        if (screens.isEmpty()) {
+            throw new RuntimeException("Theater has no screens to schedule: " + request.getTheaterId());
+        }
+        return screens.stream().sorted(Comparator.comparing(Screen::getId)).toList();
+    }
+
+    private Map<Long, Movie> resolveMovies(List<MovieScheduleTarget> targets) {
+        List<Long> movieIds = targets.stream().map(MovieScheduleTarget::getMovieId).distinct().toList();
+        Map<Long, Movie> movies = movieRepository.findAllById(movieIds).stream()
+            .collect(Collectors.toMap(Movie::getId, Function.identity()));
+        for (Long movieId : movieIds) {
+            Movie movie = movies.get(movieId);
+            if (movie == null) {
+                throw new RuntimeException("Movie not found with ID: " + movieId);
+            }
+            if (movie.getDurationMinutes() == null || movie.getDurationMinutes() <= 0) {
+                throw new RuntimeException("Movie has no duration and cannot be scheduled: " + movieId);
+            }
+        }
+        return movies;
+    }
+
+    /**
+     * Opening hours of one day, clipped to the future, or null when nothing is left
+     */
+    private Gap openingWindow(LocalDate day, ScheduleProposalRequest request) {
+        LocalDateTime open = day.atTime(request.getOpeningTime());
+        LocalDateTime close = request.getClosingTime().isAfter(request.getOpeningTime())
+            ? day.atTime(request.getClosingTime())
+            : day.plusDays(1).atTime(request.getClosingTime());
+        LocalDateTime earliest = roundUp(LocalDateTime.now());
+        if (open.isBefore(earliest)) {
+            open = earliest;
+        }
+        return close.isAfter(open) ? new Gap(open, close) : null;
+    }
+
+    /**
+     * Parts of the window not taken by existing showtimes and their cleaning buffers
+     */
+    private List<Gap> freeGaps(Gap window, List<ShowtimeIntervalIndex.Interval> existing, Duration buffer) {
+        List<Gap> gaps = new ArrayList<>();
+        LocalDateTime cursor = window.start();
+        for (ShowtimeIntervalIndex.Interval interval : existing) {
+            LocalDateTime gapEnd = interval.start().minus(buffer);
+            if (gapEnd.isAfter(window.end())) {
+                gapEnd = window.end();
+            }
+            if (gapEnd.isAfter(cursor)) {
+                gaps.add(new Gap(cursor, gapEnd));
+            }
+            LocalDateTime next = roundUp(interval.end().plus(buffer));
+            if (next.isAfter(cursor)) {
+                cursor = next;
+            }
+        }
+        if (window.end().isAfter(cursor)) {
+            gaps.add(new Gap(cursor, window.end()));
+        }
+        return gaps;
+    }
+
+    /**
+     * Spread each movie's target evenly over the screens, rotating who gets the remainder
+     */
+    private Map<Long, Map<Long, Integer>> splitTargets(Map<Long, Integer> targetByMovie, List<Long> screenIds) {
+        Map<Long, Map<Long, Integer>> quotas = new HashMap<>();
+        screenIds.forEach(screenId -> quotas.put(screenId, new HashMap<>()));
+        int offset = 0;
+        for (Map.Entry<Long, Integer> target : targetByMovie.entrySet()) {
+            int base = target.getValue() / screenIds.size();
+            int remainder = target.getValue() % screenIds.size();
+            for (int i = 0; i < screenIds.size(); i++) {
+                int extra = Math.floorMod(i - offset, screenIds.size()) < remainder ? 1 : 0;
+                if (base + extra > 0) {
+                    quotas.get(screenIds.get(i)).put(target.getKey(), base + extra);
+                }
+            }
+            offset += remainder;
+        }
+        return quotas;
+    }
+
+    private static Map<Long, Integer> countPlaced(List<ScreenPlan> plans, Map<Long, Integer> targetByMovie) {
+        Map<Long, Integer> placed = new LinkedHashMap<>();
+        targetByMovie.keySet().forEach(movieId -> placed.put(movieId, 0));
+        plans.forEach(plan -> plan.placements.forEach(p -> placed.merge(p.movieId(), 1, Integer::sum)));
+        return placed;
+    }
+
+    private static LocalDateTime roundUp(LocalDateTime time) {
+        LocalDateTime truncated = time.truncatedTo(ChronoUnit.MINUTES);
+        if (truncated.isBefore(time)) {
+            truncated = truncated.plusMinutes(1);
+        }
+        int overshoot = truncated.getMinute() % START_GRANULARITY_MINUTES;
+        return overshoot == 0 ? truncated : truncated.plusMinutes(START_GRANULARITY_MINUTES - overshoot);
+    }
+
+    private record Gap(LocalDateTime start, LocalDateTime end) {
+        long minutes() {
+            return Duration.between(start, end).toMinutes();
+        }
+    }
+
+    private record Placement(Long movieId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * Once targets are met, keep filling with the movie furthest below its target share
+     */
+    private record FillPolicy(Map<Long, Integer> targetByMovie, Map<Long, Integer> placedByMovie) {
+        double share(Long movieId) {
+            return (double) placedByMovie.getOrDefault(movieId, 0) / targetByMovie.get(movieId);
+        }
+    }
+
+    /**
+     * Free gaps and placements of one screen; only ever touched by one thread at a time
+     */
+    private static final class ScreenPlan {
+        private final Long screenId;
+        private final List<Gap> gaps;
+        private final List<Placement> placements = new ArrayList<>();
+
+        private ScreenPlan(Long screenId, List<Gap> gaps) {
+            this.screenId = screenId;
+            this.gaps = new ArrayList<>(gaps);
+        }
+
+        /**
+         * Fill every gap front to back; the remaining tail of each gap stays free for later passes
+         */
+        void pack(Map<Long, Integer> quota, Map<Long, Movie> movies, Duration buffer, FillPolicy fill) {
+            for (int i = 0; i < gaps.size(); i++) {
+                Gap gap = gaps.get(i);
+                LocalDateTime cursor = roundUp(gap.start());
+                while (true) {
+                    Movie movie = choose(quota, movies, cursor, gap.end(), fill);
+                    if (movie == null) {
+                        break;
+                    }
+                    LocalDateTime end = cursor.plusMinutes(movie.getDurationMinutes());
+                    placements.add(new Placement(movie.getId(), cursor, end));
+                    if (fill != null) {
+                        fill.placedByMovie().merge(movie.getId(), 1, Integer::sum);
+                    } else {
+                        quota.merge(movie.getId(), -1, Integer::sum);
+                    }
+                    cursor = roundUp(end.plus(buffer));
+                }
+                gaps.set(i, new Gap(cursor.isBefore(gap.end()) ? cursor : gap.end(), gap.end()));
+            }
+        }
+
+        /**
+         * Pick the movie with the most remaining quota that fits; close to the end of the gap,
+         * prefer the one leaving the least dead time
+         */
+        private Movie choose(Map<Long, Integer> quota, Map<Long, Movie> movies, LocalDateTime cursor,
+                             LocalDateTime gapEnd, FillPolicy fill) {
+            long available = Duration.between(cursor, gapEnd).toMinutes();
+            int longest = movies.values().stream().mapToInt(Movie::getDurationMinutes).max().orElse(0);
+            boolean nearEnd = available < 2L * longest;
+
+            Movie best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (Movie movie : movies.values()) {
+                if (movie.getDurationMinutes() > available) {
+                    continue;
+                }
+                double score;
+                if (fill != null) {
+                    score = -fill.share(movie.getId());
+                } else {
+                    int remaining = quota.getOrDefault(movie.getId(), 0);
+                    if (remaining <= 0) {
+                        continue;
+                    }
+                    score = remaining;
+                }
+                if (nearEnd) {
+                    // Best fit dominates near the end of a gap, quota only breaks ties
+                    score = -(available - movie.getDurationMinutes()) * 1_000.0 + score;
+                }
+                if (score > bestScore || (score == bestScore && best != null && movie.getId() < best.getId())) {
+                    best = movie;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -2,12 +2,17 @@ package com.ishan.moviereservation.service;
 
 import com.ishan.moviereservation.dto.ScreenRequest;
 import com.ishan.moviereservation.dto.ScreenResponse;
+import com.ishan.moviereservation.dto.VersionStamp;
 import com.ishan.moviereservation.entity.Screen;
 import com.ishan.moviereservation.entity.Theater;
+import com.ishan.moviereservation.event.ScreenChangedEvent;
 import com.ishan.moviereservation.repository.ScreenRepository;
+import com.ishan.moviereservation.repository.SeatRepository;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
 import com.ishan.moviereservation.repository.TheaterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,6 +29,9 @@ public class ScreenService {
 
     private final ScreenRepository screenRepository;
     private final TheaterRepository theaterRepository;
+    private final SeatRepository seatRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new screen
@@ -42,13 +50,12 @@ public class ScreenService {
         }
         
         // Check if screen with same name already exists in the same theater
-        List<Screen> existingScreens = screenRepository.findByTheaterIdAndNameContainingIgnoreCase(
-            screen.getTheater().getId(), screen.getName());
-        if (!existingScreens.isEmpty()) {
+        if (screenRepository.existsByTheaterIdAndNameContainingIgnoreCase(screen.getTheater().getId(), screen.getName())) {
             throw new RuntimeException("Screen with name already exists in theater: " + screen.getName());
         }
         
         Screen savedScreen = screenRepository.save(screen);
+        eventPublisher.publishEvent(new ScreenChangedEvent(savedScreen.getId()));
         log.info("Screen created successfully with ID: {}", savedScreen.getId());
         return savedScreen;
     }
@@ -247,14 +254,13 @@ public class ScreenService {
         // Check if name is being changed and if new name already exists in the same theater
         Optional<Screen> existingScreen = screenRepository.findById(screen.getId());
         if (existingScreen.isPresent() && !existingScreen.get().getName().equals(screen.getName())) {
-            List<Screen> existingScreens = screenRepository.findByTheaterIdAndNameContainingIgnoreCase(
-                screen.getTheater().getId(), screen.getName());
-            if (!existingScreens.isEmpty()) {
+            if (screenRepository.existsByTheaterIdAndNameContainingIgnoreCase(screen.getTheater().getId(), screen.getName())) {
                 throw new RuntimeException("Screen with name already exists in theater: " + screen.getName());
             }
         }
         
         Screen updatedScreen = screenRepository.save(screen);
+        eventPublisher.publishEvent(new ScreenChangedEvent(updatedScreen.getId()));
         log.info("Screen updated successfully with ID: {}", updatedScreen.getId());
         return updatedScreen;
     }
@@ -270,18 +276,17 @@ public class ScreenService {
         }
         
         // Check if screen has seats (business rule: can't delete screen with seats)
-        Optional<Screen> screen = screenRepository.findByIdWithSeats(id);
-        if (screen.isPresent() && !screen.get().getSeats().isEmpty()) {
+        if (seatRepository.existsByScreenId(id)) {
             throw new RuntimeException("Cannot delete screen with seats. Screen ID: " + id);
         }
         
         // Check if screen has showtimes (business rule: can't delete screen with showtimes)
-        Optional<Screen> screenWithShowtimes = screenRepository.findByIdWithShowtimes(id);
-        if (screenWithShowtimes.isPresent() && !screenWithShowtimes.get().getShowtimes().isEmpty()) {
+        if (showtimeRepository.existsByScreenId(id)) {
             throw new RuntimeException("Cannot delete screen with showtimes. Screen ID: " + id);
         }
         
         screenRepository.deleteById(id);
+        eventPublisher.publishEvent(new ScreenChangedEvent(id));
         log.info("Screen deleted successfully with ID: {}", id);
     }
 
@@ -300,7 +305,7 @@ public class ScreenService {
     @Transactional(readOnly = true)
     public long countByTheater(Long theaterId) {
         log.debug("Getting screen count by theater ID: {}", theaterId);
-        return screenRepository.findByTheaterId(theaterId).size();
+        return screenRepository.countByTheaterId(theaterId);
     }
 
     /**
@@ -309,7 +314,7 @@ public class ScreenService {
     @Transactional(readOnly = true)
     public long countWithSeats() {
         log.debug("Getting screen count with seats");
-        return screenRepository.findScreensWithSeats().size();
+        return screenRepository.countScreensWithSeats();
     }
 
     /**
@@ -318,7 +323,7 @@ public class ScreenService {
     @Transactional(readOnly = true)
     public long countWithShowtimes() {
         log.debug("Getting screen count with showtimes");
-        return screenRepository.findScreensWithShowtimes().size();
+        return screenRepository.countScreensWithShowtimes();
     }
 
     /**
@@ -327,7 +332,7 @@ public class ScreenService {
     @Transactional(readOnly = true)
     public long countWithoutSeats() {
         log.debug("Getting screen count without seats");
-        return screenRepository.findScreensWithoutSeats().size();
+        return screenRepository.countScreensWithoutSeats();
     }
 
     /**
@@ -336,7 +341,7 @@ public class ScreenService {
     @Transactional(readOnly = true)
     public long countWithoutShowtimes() {
         log.debug("Getting screen count without showtimes");
-        return screenRepository.findScreensWithoutShowtimes().size();
+        return screenRepository.countScreensWithoutShowtimes();
     }
 
     /**
@@ -395,7 +400,7 @@ public class ScreenService {
     public ScreenResponse updateScreen(Long id, ScreenRequest request) {
         log.info("Updating screen from DTO with ID: {}", id);
         
-        Screen existingScreen = findById(id)
+        Screen existingScreen = screenRepository.findWithTheaterById(id)
             .orElseThrow(() -> new RuntimeException("Screen not found with ID: " + id));
         
         // Calculate total capacity
@@ -422,8 +427,7 @@ public class ScreenService {
     @Transactional(readOnly = true)
     public Page<ScreenResponse> getAllScreens(Pageable pageable) {
         log.debug("Getting all screens with pagination");
-        return screenRepository.findAll(pageable)
-            .map(this::convertToResponse);
+        return screenRepository.findAllProjectedBy(pageable);
     }
 
     /**
@@ -432,7 +436,7 @@ public class ScreenService {
     @Transactional(readOnly = true)
     public ScreenResponse getScreenById(Long id) {
         log.debug("Getting screen by ID: {}", id);
-        Screen screen = findById(id)
+        Screen screen = screenRepository.findWithTheaterById(id)
             .orElseThrow(() -> new RuntimeException("Screen not found with ID: " + id));
         return convertToResponse(screen);
     }
@@ -443,31 +447,29 @@ public class ScreenService {
     @Transactional(readOnly = true)
     public List<ScreenResponse> getScreensByTheater(Long theaterId) {
         log.debug("Getting screens by theater ID: {}", theaterId);
-        return findByTheaterId(theaterId)
+        return screenRepository.findWithTheaterByTheaterId(theaterId)
             .stream()
             .map(this::convertToResponse)
             .toList();
     }
 
+    /**
+     * Get the screen list version stamp used for conditional requests
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp getScreenListVersion() {
+        log.debug("Getting screen list version");
+        return screenRepository.findListVersion();
+    }
+
     /**
      * Convert Screen entity to ScreenResponse DTO
      */
     private ScreenResponse convertToResponse(Screen screen) {
-        // Calculate rows and seats per row from capacity
-        int totalSeats = screen.getCapacity();
-        int seatsPerRow = 10; // Default assumption, could be stored separately
-        int numberOfRows = totalSeats / seatsPerRow;
-        if (totalSeats % seatsPerRow != 0) {
-            numberOfRows++; // Round up for partial rows
-        }
-        
         return new ScreenResponse(
             screen.getId(),
             screen.getName(),
-            numberOfRows,
-            seatsPerRow,
-            totalSeats,
-            null, // description not available in entity
+            screen.getCapacity(),
             screen.getTheater().getId(),
             screen.getTheater().getName(),
             screen.getCreatedAt(),
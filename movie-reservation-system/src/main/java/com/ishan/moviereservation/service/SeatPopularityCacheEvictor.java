@@ -0,0 +1,31 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.config.CacheConfig;
+import com.ishan.moviereservation.event.SeatLayoutChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatPopularityCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Cached counts are aligned with the old layout once a screen's seats change; that is rare, so drop them all
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        log.debug("Evicting seat popularity cache entries for {}", event);
+
+        Cache seatPopularity = cacheManager.getCache(CacheConfig.SEAT_POPULARITY);
+        if (seatPopularity != null) {
+            seatPopularity.clear();
+        }
+    }
+}
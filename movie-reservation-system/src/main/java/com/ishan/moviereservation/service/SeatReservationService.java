@@ -1,15 +1,33 @@
 package com.ishan.moviereservation.service;
 
+import com.ishan.moviereservation.entity.Reservation;
+import com.ishan.moviereservation.entity.Seat;
 import com.ishan.moviereservation.entity.SeatReservation;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.metrics.ReservationCounters;
+import com.ishan.moviereservation.repository.ReservationRepository;
+import com.ishan.moviereservation.repository.SeatRepository;
 import com.ishan.moviereservation.repository.SeatReservationRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +36,15 @@ import java.util.Optional;
 public class SeatReservationService {
 
     private final SeatReservationRepository seatReservationRepository;
+    private final ReservationRepository reservationRepository;
+    private final SeatRepository seatRepository;
+    private final ShowtimeOccupancyService occupancyService;
+    private final SalesRollupService salesRollupService;
+    private final ReservationCounters reservationCounters;
+    private final EntityManager entityManager;
+
+    @Value("${app.reservation.hold-duration:900000}")
+    private long holdDurationMillis;
 
     /**
      * Create a new seat reservation
@@ -47,9 +74,7 @@ public class SeatReservationService {
         }
         
         // Check if seat is already reserved for this showtime
-        List<SeatReservation> existingReservations = seatReservationRepository
-            .findBySeatIdAndShowtimeId(seatReservation.getSeat().getId(), seatReservation.getShowtime().getId());
-        if (!existingReservations.isEmpty()) {
+        if (seatReservationRepository.existsBySeatIdAndShowtimeId(seatReservation.getSeat().getId(), seatReservation.getShowtime().getId())) {
             throw new RuntimeException("Seat is already reserved for this showtime");
         }
         
@@ -57,10 +82,65 @@ public class SeatReservationService {
         seatReservation.setStatus("RESERVED");
         
         SeatReservation savedSeatReservation = seatReservationRepository.save(seatReservation);
+        occupancyService.recordTransition(savedSeatReservation.getShowtime().getId(), savedSeatReservation.getSeat().getId(),
+            null, savedSeatReservation.getStatus());
+        salesRollupService.recordSeatTransition(savedSeatReservation.getReservation(), null, savedSeatReservation.getStatus());
         log.info("Seat reservation created successfully with ID: {}", savedSeatReservation.getId());
         return savedSeatReservation;
     }
 
+    /**
+     * Hold several seats of the reservation's showtime at once; the rows go out as one batched insert
+     */
+    public List<SeatReservation> holdSeats(Long reservationId, Collection<Long> seatIds) {
+        log.info("Holding {} seats for reservation: {}", seatIds.size(), reservationId);
+
+        Set<Long> requestedSeatIds = new LinkedHashSet<>(seatIds);
+        if (requestedSeatIds.isEmpty()) {
+            throw new RuntimeException("At least one seat must be selected");
+        }
+
+        Reservation reservation = reservationRepository.findWithShowtimeById(reservationId)
+            .orElseThrow(() -> new RuntimeException("Reservation not found with ID: " + reservationId));
+        if (reservation.isCancelled() || reservation.isConfirmed()) {
+            throw new RuntimeException("Seats can only be held for an open reservation. Reservation ID: " + reservationId);
+        }
+        Showtime showtime = reservation.getShowtime();
+
+        List<Seat> seats = seatRepository.findAllById(requestedSeatIds);
+        if (seats.size() != requestedSeatIds.size()) {
+            throw new RuntimeException("One or more seats not found: " + requestedSeatIds);
+        }
+        for (Seat seat : seats) {
+            if (!seat.getScreen().getId().equals(showtime.getScreen().getId())) {
+                throw new RuntimeException("Seat and showtime must be from the same screen. Seat ID: " + seat.getId());
+            }
+        }
+
+        // One query for every requested seat instead of one per seat
+        List<Long> reservedSeatIds = seatReservationRepository.findReservedSeatIds(showtime.getId(), requestedSeatIds);
+        if (!reservedSeatIds.isEmpty()) {
+            throw new RuntimeException("Seats already reserved for this showtime: " + reservedSeatIds);
+        }
+
+        List<SeatReservation> seatReservations = new ArrayList<>(seats.size());
+        for (Seat seat : seats) {
+            seatReservations.add(new SeatReservation(reservation, seat, showtime, "HELD"));
+        }
+        List<SeatReservation> saved = seatReservationRepository.saveAll(seatReservations);
+        BigDecimal heldAmount = showtime.getTicketPrice().multiply(BigDecimal.valueOf(saved.size()));
+        reservation.setTotalAmount(reservation.getTotalAmount().add(heldAmount));
+        // The first hold starts the clock; the expiry job releases the seats if it runs out
+        if (reservation.getHoldExpiry() == null) {
+            reservation.setHoldExpiry(LocalDateTime.now().plus(Duration.ofMillis(holdDurationMillis)));
+        }
+        occupancyService.recordHolds(showtime.getId(), requestedSeatIds);
+        salesRollupService.recordSeats(reservation, reservation.getStatus(), saved.size(), heldAmount);
+
+        log.info("Held {} seats for reservation: {}", saved.size(), reservationId);
+        return saved;
+    }
+
     /**
      * Find seat reservation by ID
      */
@@ -76,9 +156,9 @@ public class SeatReservationService {
      * Get all seat reservations
      */
     @Transactional(readOnly = true)
-    public List<SeatReservation> findAll() {
+    public Page<SeatReservation> findAll(Pageable pageable) {
         log.debug("Finding all seat reservations");
-        return seatReservationRepository.findAll();
+        return seatReservationRepository.findAll(pageable);
     }
 
     /**
@@ -112,9 +192,9 @@ public class SeatReservationService {
      * Find seat reservations by status
      */
     @Transactional(readOnly = true)
-    public List<SeatReservation> findByStatus(String status) {
+    public Page<SeatReservation> findByStatus(String status, Pageable pageable) {
         log.debug("Finding seat reservations by status: {}", status);
-        return seatReservationRepository.findByStatus(status);
+        return seatReservationRepository.findByStatus(status, pageable);
     }
 
     /**
@@ -157,9 +237,9 @@ public class SeatReservationService {
      * Find active seat reservations
      */
     @Transactional(readOnly = true)
-    public List<SeatReservation> findActiveSeatReservations() {
+    public Page<SeatReservation> findActiveSeatReservations(Pageable pageable) {
         log.debug("Finding active seat reservations");
-        return seatReservationRepository.findActiveSeatReservations();
+        return seatReservationRepository.findActiveSeatReservations(pageable);
     }
 
 
@@ -168,9 +248,32 @@ public class SeatReservationService {
      * Find cancelled seat reservations
      */
     @Transactional(readOnly = true)
-    public List<SeatReservation> findCancelledSeatReservations() {
+    public Page<SeatReservation> findCancelledSeatReservations(Pageable pageable) {
         log.debug("Finding cancelled seat reservations");
-        return seatReservationRepository.findCancelledSeatReservations();
+        return seatReservationRepository.findCancelledSeatReservations(pageable);
+    }
+
+    /**
+     * Hand every seat reservation with the given status to the action, one row at a time from a database cursor.
+     * The entities are read-only and detached once handled, so memory stays flat however many rows match.
+     */
+    @Transactional(readOnly = true)
+    public void forEachByStatus(String status, Consumer<SeatReservation> action) {
+        log.debug("Streaming seat reservations by status: {}", status);
+        try (Stream<SeatReservation> seatReservations = seatReservationRepository.streamByStatus(status)) {
+            seatReservations.forEach(detachAfter(action));
+        }
+    }
+
+    /**
+     * Hand every seat reservation created in [from, to) to the action, streamed like {@link #forEachByStatus}
+     */
+    @Transactional(readOnly = true)
+    public void forEachCreatedBetween(LocalDateTime from, LocalDateTime to, Consumer<SeatReservation> action) {
+        log.debug("Streaming seat reservations created between: {} and {}", from, to);
+        try (Stream<SeatReservation> seatReservations = seatReservationRepository.streamByCreatedAtRange(from, to)) {
+            seatReservations.forEach(detachAfter(action));
+        }
     }
 
 
@@ -229,9 +332,13 @@ public class SeatReservationService {
             throw new RuntimeException("Cannot cancel seat reservation for showtime that has already started");
         }
         
+        String previousStatus = seatReservation.getStatus();
         seatReservation.setStatus("CANCELLED");
         
         SeatReservation cancelledSeatReservation = seatReservationRepository.save(seatReservation);
+        occupancyService.recordTransition(cancelledSeatReservation.getShowtime().getId(), cancelledSeatReservation.getSeat().getId(),
+            previousStatus, "CANCELLED");
+        salesRollupService.recordSeatTransition(cancelledSeatReservation.getReservation(), previousStatus, "CANCELLED");
         log.info("Seat reservation cancelled successfully with ID: {}", cancelledSeatReservation.getId());
         return cancelledSeatReservation;
     }
@@ -254,9 +361,13 @@ public class SeatReservationService {
             throw new RuntimeException("Can only complete RESERVED or CONFIRMED seat reservations. Current status: " + seatReservation.getStatus());
         }
         
+        String previousStatus = seatReservation.getStatus();
         seatReservation.setStatus("COMPLETED");
         
         SeatReservation completedSeatReservation = seatReservationRepository.save(seatReservation);
+        occupancyService.recordTransition(completedSeatReservation.getShowtime().getId(), completedSeatReservation.getSeat().getId(),
+            previousStatus, "COMPLETED");
+        salesRollupService.recordSeatTransition(completedSeatReservation.getReservation(), previousStatus, "COMPLETED");
         log.info("Seat reservation completed successfully with ID: {}", completedSeatReservation.getId());
         return completedSeatReservation;
     }
@@ -267,9 +378,12 @@ public class SeatReservationService {
     public SeatReservation updateSeatReservation(SeatReservation seatReservation) {
         log.info("Updating seat reservation with ID: {}", seatReservation.getId());
         
-        if (!seatReservationRepository.existsById(seatReservation.getId())) {
-            throw new RuntimeException("Seat reservation not found with ID: " + seatReservation.getId());
-        }
+        SeatReservation existing = seatReservationRepository.findById(seatReservation.getId())
+            .orElseThrow(() -> new RuntimeException("Seat reservation not found with ID: " + seatReservation.getId()));
+        Long previousShowtimeId = existing.getShowtime().getId();
+        Long previousSeatId = existing.getSeat().getId();
+        Reservation previousReservation = existing.getReservation();
+        String previousStatus = existing.getStatus();
         
         // Validate seat is not null
         if (seatReservation.getSeat() == null || seatReservation.getSeat().getId() == null) {
@@ -287,6 +401,20 @@ public class SeatReservationService {
         }
         
         SeatReservation updatedSeatReservation = seatReservationRepository.save(seatReservation);
+        Long showtimeId = updatedSeatReservation.getShowtime().getId();
+        Long seatId = updatedSeatReservation.getSeat().getId();
+        if (showtimeId.equals(previousShowtimeId) && seatId.equals(previousSeatId)) {
+            occupancyService.recordTransition(showtimeId, seatId, previousStatus, updatedSeatReservation.getStatus());
+        } else {
+            occupancyService.recordTransition(previousShowtimeId, previousSeatId, previousStatus, null);
+            occupancyService.recordTransition(showtimeId, seatId, null, updatedSeatReservation.getStatus());
+        }
+        if (updatedSeatReservation.getReservation().getId().equals(previousReservation.getId())) {
+            salesRollupService.recordSeatTransition(previousReservation, previousStatus, updatedSeatReservation.getStatus());
+        } else {
+            salesRollupService.recordSeatTransition(previousReservation, previousStatus, null);
+            salesRollupService.recordSeatTransition(updatedSeatReservation.getReservation(), null, updatedSeatReservation.getStatus());
+        }
         log.info("Seat reservation updated successfully with ID: {}", updatedSeatReservation.getId());
         return updatedSeatReservation;
     }
@@ -297,11 +425,13 @@ public class SeatReservationService {
     public void deleteById(Long id) {
         log.info("Deleting seat reservation with ID: {}", id);
         
-        if (!seatReservationRepository.existsById(id)) {
-            throw new RuntimeException("Seat reservation not found with ID: " + id);
-        }
+        SeatReservation seatReservation = seatReservationRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Seat reservation not found with ID: " + id));
         
-        seatReservationRepository.deleteById(id);
+        seatReservationRepository.delete(seatReservation);
+        occupancyService.recordTransition(seatReservation.getShowtime().getId(), seatReservation.getSeat().getId(),
+            seatReservation.getStatus(), null);
+        salesRollupService.recordSeatTransition(seatReservation.getReservation(), seatReservation.getStatus(), null);
         log.info("Seat reservation deleted successfully with ID: {}", id);
     }
 
@@ -314,13 +444,21 @@ public class SeatReservationService {
         return seatReservationRepository.count();
     }
 
+    /**
+     * Find seat reservation count by status, from the in-memory counters
+     */
+    public List<Object[]> findSeatReservationCountByStatus() {
+        log.debug("Finding seat reservation count by status");
+        return reservationCounters.getSeatReservationCountByStatus();
+    }
+
     /**
      * Get seat reservation count by seat
      */
     @Transactional(readOnly = true)
     public long countBySeat(Long seatId) {
         log.debug("Getting seat reservation count by seat ID: {}", seatId);
-        return seatReservationRepository.findBySeatId(seatId).size();
+        return seatReservationRepository.countBySeatId(seatId);
     }
 
     /**
@@ -329,7 +467,7 @@ public class SeatReservationService {
     @Transactional(readOnly = true)
     public long countByShowtime(Long showtimeId) {
         log.debug("Getting seat reservation count by showtime ID: {}", showtimeId);
-        return seatReservationRepository.findByShowtimeId(showtimeId).size();
+        return seatReservationRepository.countByShowtimeId(showtimeId);
     }
 
     /**
@@ -338,7 +476,7 @@ public class SeatReservationService {
     @Transactional(readOnly = true)
     public long countByReservation(Long reservationId) {
         log.debug("Getting seat reservation count by reservation ID: {}", reservationId);
-        return seatReservationRepository.findByReservationId(reservationId).size();
+        return seatReservationRepository.countByReservationId(reservationId);
     }
 
     /**
@@ -347,7 +485,7 @@ public class SeatReservationService {
     @Transactional(readOnly = true)
     public long countByStatus(String status) {
         log.debug("Getting seat reservation count by status: {}", status);
-        return seatReservationRepository.findByStatus(status).size();
+        return seatReservationRepository.countByStatus(status);
     }
 
     /**
@@ -356,7 +494,7 @@ public class SeatReservationService {
     @Transactional(readOnly = true)
     public long countActiveSeatReservations() {
         log.debug("Getting active seat reservation count");
-        return seatReservationRepository.findActiveSeatReservations().size();
+        return seatReservationRepository.countByStatusNot("CANCELLED");
     }
 
     /**
@@ -365,7 +503,7 @@ public class SeatReservationService {
     @Transactional(readOnly = true)
     public long countCancelledSeatReservations() {
         log.debug("Getting cancelled seat reservation count");
-        return seatReservationRepository.findCancelledSeatReservations().size();
+        return seatReservationRepository.countByStatus("CANCELLED");
     }
 
 
@@ -374,9 +512,9 @@ public class SeatReservationService {
      * Find seat reservations ordered by creation date
      */
     @Transactional(readOnly = true)
-    public List<SeatReservation> findAllOrderByCreatedAt() {
+    public Page<SeatReservation> findAllOrderByCreatedAt(Pageable pageable) {
         log.debug("Finding all seat reservations ordered by creation date");
-        return seatReservationRepository.findAllByOrderByCreatedAtDesc();
+        return seatReservationRepository.findAllByOrderByCreatedAtDesc(pageable);
     }
 
 
@@ -404,8 +542,15 @@ public class SeatReservationService {
      * Find seat reservations by status ordered by creation date
      */
     @Transactional(readOnly = true)
-    public List<SeatReservation> findByStatusOrderByCreatedAt(String status) {
+    public Page<SeatReservation> findByStatusOrderByCreatedAt(String status, Pageable pageable) {
         log.debug("Finding seat reservations by status ordered by creation date: {}", status);
-        return seatReservationRepository.findByStatusOrderByCreatedAtDesc(status);
+        return seatReservationRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
+    }
+
+    private Consumer<SeatReservation> detachAfter(Consumer<SeatReservation> action) {
+        return seatReservation -> {
+            action.accept(seatReservation);
+            entityManager.detach(seatReservation);
+        };
     }
 }
@@ -1,14 +1,32 @@
 package com.ishan.moviereservation.service;
 
+import com.ishan.moviereservation.config.CacheConfig;
+import com.ishan.moviereservation.dto.SeatBookingCount;
+import com.ishan.moviereservation.dto.SeatPopularity;
+import com.ishan.moviereservation.entity.Screen;
 import com.ishan.moviereservation.entity.Seat;
+import com.ishan.moviereservation.repository.ScreenRepository;
 import com.ishan.moviereservation.repository.SeatRepository;
+import com.ishan.moviereservation.repository.SeatReservationRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -16,7 +34,13 @@ import java.util.Optional;
 @Transactional
 public class SeatService {
 
+    public static final int MAX_POPULARITY_DAYS = 366;
+
     private final SeatRepository seatRepository;
+    private final ScreenRepository screenRepository;
+    private final SeatReservationRepository seatReservationRepository;
+    private final ShowtimeOccupancyService occupancyService;
+    private final EntityManager entityManager;
 
     /**
      * Create a new seat
@@ -35,9 +59,7 @@ public class SeatService {
         }
         
         // Check if seat with same label already exists in the same screen
-        List<Seat> existingSeats = seatRepository.findByScreenIdAndLabelContainingIgnoreCase(
-            seat.getScreen().getId(), seat.getLabel());
-        if (!existingSeats.isEmpty()) {
+        if (seatRepository.existsByScreenIdAndLabelContainingIgnoreCase(seat.getScreen().getId(), seat.getLabel())) {
             throw new RuntimeException("Seat with label already exists in screen: " + seat.getLabel());
         }
         
@@ -47,10 +69,54 @@ public class SeatService {
         }
         
         Seat savedSeat = seatRepository.save(seat);
+        occupancyService.refreshCapacityForScreen(savedSeat.getScreen().getId());
         log.info("Seat created successfully with ID: {}", savedSeat.getId());
         return savedSeat;
     }
 
+    /**
+     * Create a grid of seats labelled row + column (A1, A2, ...) in one batched insert
+     */
+    public List<Seat> createSeatLayout(Long screenId, List<String> rowLabels, int seatsPerRow) {
+        log.info("Creating seat layout for screen: {} with {} rows of {} seats", screenId, rowLabels.size(), seatsPerRow);
+
+        Screen screen = screenRepository.findById(screenId)
+            .orElseThrow(() -> new RuntimeException("Screen not found with ID: " + screenId));
+
+        if (rowLabels.isEmpty() || seatsPerRow <= 0) {
+            throw new RuntimeException("Seat layout needs at least one row and one seat per row");
+        }
+        if (new HashSet<>(rowLabels).size() != rowLabels.size()) {
+            throw new RuntimeException("Row labels must be unique");
+        }
+
+        List<Seat> existingSeats = seatRepository.findByScreenIdOrderByLabelAsc(screenId);
+        if (existingSeats.size() + rowLabels.size() * seatsPerRow > screen.getCapacity()) {
+            throw new RuntimeException("Seat layout exceeds screen capacity of " + screen.getCapacity());
+        }
+        Set<String> existingLabels = new HashSet<>();
+        existingSeats.forEach(seat -> existingLabels.add(seat.getLabel()));
+
+        List<Seat> seats = new ArrayList<>(rowLabels.size() * seatsPerRow);
+        for (String rowLabel : rowLabels) {
+            if (rowLabel == null || rowLabel.isBlank() || rowLabel.length() > 8) {
+                throw new RuntimeException("Row label must be 1 to 8 characters: " + rowLabel);
+            }
+            for (int col = 1; col <= seatsPerRow; col++) {
+                String label = rowLabel + col;
+                if (existingLabels.contains(label)) {
+                    throw new RuntimeException("Seat with label already exists in screen: " + label);
+                }
+                seats.add(new Seat(screen, label, rowLabel, col));
+            }
+        }
+
+        List<Seat> savedSeats = seatRepository.saveAll(seats);
+        occupancyService.refreshCapacityForScreen(screenId);
+        log.info("Created {} seats for screen: {}", savedSeats.size(), screenId);
+        return savedSeats;
+    }
+
     /**
      * Find seat by ID
      */
@@ -69,6 +135,19 @@ public class SeatService {
         return seatRepository.findByLabel(label);
     }
 
+    /**
+     * Find seat by screen and label, its natural id, served from the second-level cache when possible
+     */
+    @Transactional(readOnly = true)
+    public Optional<Seat> findByScreenIdAndLabel(Long screenId, String label) {
+        log.debug("Finding seat by screen ID: {} and label: {}", screenId, label);
+        return entityManager.unwrap(Session.class)
+            .byNaturalId(Seat.class)
+            .using("screen", entityManager.getReference(Screen.class, screenId))
+            .using("label", label)
+            .loadOptional();
+    }
+
     /**
      * Find seat by ID with seat reservations
      */
@@ -82,9 +161,9 @@ public class SeatService {
      * Get all seats
      */
     @Transactional(readOnly = true)
-    public List<Seat> findAll() {
+    public Page<Seat> findAll(Pageable pageable) {
         log.debug("Finding all seats");
-        return seatRepository.findAll();
+        return seatRepository.findAll(pageable);
     }
 
     /**
@@ -127,45 +206,45 @@ public class SeatService {
      * Search seats by label
      */
     @Transactional(readOnly = true)
-    public List<Seat> searchByLabel(String label) {
+    public Page<Seat> searchByLabel(String label, Pageable pageable) {
         log.debug("Searching seats by label: {}", label);
-        return seatRepository.findByLabelContainingIgnoreCase(label);
+        return seatRepository.findByLabelContainingIgnoreCase(label, pageable);
     }
 
     /**
      * Find seats by row label
      */
     @Transactional(readOnly = true)
-    public List<Seat> findByRowLabel(String rowLabel) {
+    public Page<Seat> findByRowLabel(String rowLabel, Pageable pageable) {
         log.debug("Finding seats by row label: {}", rowLabel);
-        return seatRepository.findByRowLabel(rowLabel);
+        return seatRepository.findByRowLabel(rowLabel, pageable);
     }
 
     /**
      * Search seats by row label
      */
     @Transactional(readOnly = true)
-    public List<Seat> searchByRowLabel(String rowLabel) {
+    public Page<Seat> searchByRowLabel(String rowLabel, Pageable pageable) {
         log.debug("Searching seats by row label: {}", rowLabel);
-        return seatRepository.findByRowLabelContainingIgnoreCase(rowLabel);
+        return seatRepository.findByRowLabelContainingIgnoreCase(rowLabel, pageable);
     }
 
     /**
      * Find seats by column number
      */
     @Transactional(readOnly = true)
-    public List<Seat> findByCol(Integer col) {
+    public Page<Seat> findByCol(Integer col, Pageable pageable) {
         log.debug("Finding seats by column: {}", col);
-        return seatRepository.findByCol(col);
+        return seatRepository.findByCol(col, pageable);
     }
 
     /**
      * Find seats by column range
      */
     @Transactional(readOnly = true)
-    public List<Seat> findByColBetween(Integer minCol, Integer maxCol) {
+    public Page<Seat> findByColBetween(Integer minCol, Integer maxCol, Pageable pageable) {
         log.debug("Finding seats by column range: {} to {}", minCol, maxCol);
-        return seatRepository.findByColBetween(minCol, maxCol);
+        return seatRepository.findByColBetween(minCol, maxCol, pageable);
     }
 
     /**
@@ -190,27 +269,18 @@ public class SeatService {
      * Find seats that have reservations
      */
     @Transactional(readOnly = true)
-    public List<Seat> findSeatsWithReservations() {
+    public Page<Seat> findSeatsWithReservations(Pageable pageable) {
         log.debug("Finding seats with reservations");
-        return seatRepository.findSeatsWithReservations();
+        return seatRepository.findSeatsWithReservations(pageable);
     }
 
     /**
      * Find seats with no reservations
      */
     @Transactional(readOnly = true)
-    public List<Seat> findSeatsWithoutReservations() {
+    public Page<Seat> findSeatsWithoutReservations(Pageable pageable) {
         log.debug("Finding seats without reservations");
-        return seatRepository.findSeatsWithoutReservations();
-    }
-
-    /**
-     * Get seats with reservation count
-     */
-    @Transactional(readOnly = true)
-    public List<Object[]> findSeatsWithReservationCount() {
-        log.debug("Finding seats with reservation count");
-        return seatRepository.findSeatsWithReservationCount();
+        return seatRepository.findSeatsWithoutReservations(pageable);
     }
 
     /**
@@ -262,10 +332,9 @@ public class SeatService {
         
         // Check if label is being changed and if new label already exists in the same screen
         Optional<Seat> existingSeat = seatRepository.findById(seat.getId());
+        Long previousScreenId = existingSeat.map(existing -> existing.getScreen().getId()).orElse(null);
         if (existingSeat.isPresent() && !existingSeat.get().getLabel().equals(seat.getLabel())) {
-            List<Seat> existingSeats = seatRepository.findByScreenIdAndLabelContainingIgnoreCase(
-                seat.getScreen().getId(), seat.getLabel());
-            if (!existingSeats.isEmpty()) {
+            if (seatRepository.existsByScreenIdAndLabelContainingIgnoreCase(seat.getScreen().getId(), seat.getLabel())) {
                 throw new RuntimeException("Seat with label already exists in screen: " + seat.getLabel());
             }
         }
@@ -276,6 +345,10 @@ public class SeatService {
         }
         
         Seat updatedSeat = seatRepository.save(seat);
+        if (previousScreenId != null && !previousScreenId.equals(updatedSeat.getScreen().getId())) {
+            occupancyService.refreshCapacityForScreen(previousScreenId);
+            occupancyService.refreshCapacityForScreen(updatedSeat.getScreen().getId());
+        }
         log.info("Seat updated successfully with ID: {}", updatedSeat.getId());
         return updatedSeat;
     }
@@ -286,17 +359,16 @@ public class SeatService {
     public void deleteById(Long id) {
         log.info("Deleting seat with ID: {}", id);
         
-        if (!seatRepository.existsById(id)) {
-            throw new RuntimeException("Seat not found with ID: " + id);
-        }
+        Seat seat = seatRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Seat not found with ID: " + id));
         
         // Check if seat has reservations (business rule: can't delete seat with reservations)
-        Optional<Seat> seat = seatRepository.findByIdWithSeatReservations(id);
-        if (seat.isPresent() && !seat.get().getSeatReservations().isEmpty()) {
+        if (seatReservationRepository.existsBySeatId(id)) {
             throw new RuntimeException("Cannot delete seat with reservations. Seat ID: " + id);
         }
         
-        seatRepository.deleteById(id);
+        seatRepository.delete(seat);
+        occupancyService.refreshCapacityForScreen(seat.getScreen().getId());
         log.info("Seat deleted successfully with ID: {}", id);
     }
 
@@ -315,7 +387,7 @@ public class SeatService {
     @Transactional(readOnly = true)
     public long countByScreen(Long screenId) {
         log.debug("Getting seat count by screen ID: {}", screenId);
-        return seatRepository.findByScreenId(screenId).size();
+        return seatRepository.countByScreenId(screenId);
     }
 
     /**
@@ -324,7 +396,7 @@ public class SeatService {
     @Transactional(readOnly = true)
     public long countByRow(String rowLabel) {
         log.debug("Getting seat count by row: {}", rowLabel);
-        return seatRepository.findByRowLabel(rowLabel).size();
+        return seatRepository.countByRowLabel(rowLabel);
     }
 
     /**
@@ -333,7 +405,7 @@ public class SeatService {
     @Transactional(readOnly = true)
     public long countWithReservations() {
         log.debug("Getting seat count with reservations");
-        return seatRepository.findSeatsWithReservations().size();
+        return seatRepository.countSeatsWithReservations();
     }
 
     /**
@@ -342,7 +414,7 @@ public class SeatService {
     @Transactional(readOnly = true)
     public long countWithoutReservations() {
         log.debug("Getting seat count without reservations");
-        return seatRepository.findSeatsWithoutReservations().size();
+        return seatRepository.countSeatsWithoutReservations();
     }
 
     /**
@@ -351,7 +423,7 @@ public class SeatService {
     @Transactional(readOnly = true)
     public long countAvailableSeatsForShowtime(Long screenId, Long showtimeId) {
         log.debug("Getting available seat count for showtime: {} in screen: {}", showtimeId, screenId);
-        return seatRepository.findAvailableSeatsForShowtime(screenId, showtimeId).size();
+        return seatRepository.countAvailableSeatsForShowtime(screenId, showtimeId);
     }
 
     /**
@@ -380,5 +452,38 @@ public class SeatService {
         log.debug("Getting seat layout for screen: {}", screenId);
         return seatRepository.findByScreenIdOrdered(screenId);
     }
-}
 
+    /**
+     * Bookings of every seat of a screen over showtimes starting from {@code from} through {@code to},
+     * aligned with the seat layout; counted by one grouped query and cached per screen and range
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.SEAT_POPULARITY, key = "#screenId + ':' + #from + ':' + #to")
+    public SeatPopularity getSeatPopularity(Long screenId, LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_POPULARITY_DAYS) {
+            throw new RuntimeException("Seat popularity must cover 1 to " + MAX_POPULARITY_DAYS + " days, got: " + days);
+        }
+        if (!screenRepository.existsById(screenId)) {
+            throw new RuntimeException("Screen not found with ID: " + screenId);
+        }
+        log.debug("Counting seat bookings of screen {} from {} to {}", screenId, from, to);
+
+        Map<Long, Long> bookingsBySeat = new HashMap<>();
+        for (SeatBookingCount count : seatReservationRepository.countTakenBySeatForScreen(screenId,
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            bookingsBySeat.put(count.getSeatId(), count.getBookings());
+        }
+        List<Seat> layout = seatRepository.findByScreenIdOrdered(screenId);
+        List<Long> seatIds = new ArrayList<>(layout.size());
+        List<String> labels = new ArrayList<>(layout.size());
+        int[] bookings = new int[layout.size()];
+        for (int i = 0; i < layout.size(); i++) {
+            Seat seat = layout.get(i);
+            seatIds.add(seat.getId());
+            labels.add(seat.getLabel());
+            bookings[i] = bookingsBySeat.getOrDefault(seat.getId(), 0L).intValue();
+        }
+        return new SeatPopularity(screenId, from, to, seatIds, labels, bookings);
+    }
+}
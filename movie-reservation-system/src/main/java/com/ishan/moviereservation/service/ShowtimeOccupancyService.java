@@ -0,0 +1,193 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.dto.OccupancySummary;
+import com.ishan.moviereservation.event.OccupancyChangedEvent;
+import com.ishan.moviereservation.event.SeatAvailabilityChangedEvent;
+import com.ishan.moviereservation.event.SeatLayoutChangedEvent;
+import com.ishan.moviereservation.event.SeatStatusChangedEvent;
+import com.ishan.moviereservation.event.SoldSeatsChangedEvent;
+import com.ishan.moviereservation.index.ShowtimeOccupancyIndex;
+import com.ishan.moviereservation.repository.ShowtimeOccupancyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps the per-showtime sold and held counters in step with seat reservations. Callers invoke it in
+ * the transaction that changes the seats, so the counters commit or roll back together with them.
+ * A seat counts as held while its status is HELD and as sold once PAID, matching the availability queries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ShowtimeOccupancyService {
+
+    public static final int MAX_AVAILABILITY_IDS = 500;
+
+    private final ShowtimeOccupancyRepository occupancyRepository;
+    private final ShowtimeOccupancyIndex occupancyIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Create empty counters for newly scheduled showtimes
+     */
+    public void initialize(Collection<Long> showtimeIds) {
+        if (!showtimeIds.isEmpty()) {
+            occupancyRepository.insertForShowtimes(showtimeIds);
+        }
+    }
+
+    /**
+     * Recount capacity after a showtime may have moved to another screen
+     */
+    public void refreshCapacity(Long showtimeId) {
+        occupancyRepository.refreshCapacity(List.of(showtimeId));
+    }
+
+    /**
+     * Recount capacity of every showtime on a screen whose seats changed
+     */
+    public void refreshCapacityForScreen(Long screenId) {
+        int updated = occupancyRepository.refreshCapacityForScreen(screenId);
+        log.debug("Refreshed capacity of {} showtimes on screen: {}", updated, screenId);
+        eventPublisher.publishEvent(new SeatLayoutChangedEvent(screenId));
+    }
+
+    /**
+     * Add the given numbers of sold and held seats to a showtime (negative to release)
+     */
+    public void adjust(Long showtimeId, int soldDelta, int heldDelta) {
+        if (soldDelta == 0 && heldDelta == 0) {
+            return;
+        }
+        if (occupancyRepository.increment(showtimeId, soldDelta, heldDelta) == 0) {
+            log.warn("No occupancy counters for showtime: {}", showtimeId);
+            return;
+        }
+        eventPublisher.publishEvent(new OccupancyChangedEvent(showtimeId, soldDelta, heldDelta));
+    }
+
+    /**
+     * Account for seats of the showtime newly held
+     */
+    public void recordHolds(Long showtimeId, Collection<Long> seatIds) {
+        adjust(showtimeId, 0, seatIds.size());
+        publishAvailability(showtimeId, seatIds, List.of());
+        eventPublisher.publishEvent(new SeatStatusChangedEvent(null, "HELD", seatIds.size()));
+    }
+
+    /**
+     * Account for held seats of the showtime paid for
+     */
+    public void recordPayments(Long showtimeId, Collection<Long> seatIds) {
+        if (!seatIds.isEmpty()) {
+            adjust(showtimeId, seatIds.size(), -seatIds.size());
+            publishSales(showtimeId, seatIds, List.of());
+            eventPublisher.publishEvent(new SeatStatusChangedEvent("HELD", "PAID", seatIds.size()));
+        }
+    }
+
+    /**
+     * Account for seats of the showtime in the given status put back on sale
+     */
+    public void recordReleases(Long showtimeId, String status, Collection<Long> seatIds) {
+        adjust(showtimeId, -sold(status) * seatIds.size(), -held(status) * seatIds.size());
+        if (isTaken(status)) {
+            publishAvailability(showtimeId, List.of(), seatIds);
+        }
+        if (sold(status) > 0) {
+            publishSales(showtimeId, List.of(), seatIds);
+        }
+        eventPublisher.publishEvent(new SeatStatusChangedEvent(status, null, seatIds.size()));
+    }
+
+    /**
+     * Account for one seat reservation of the showtime going from one status to another (null when created or deleted)
+     */
+    public void recordTransition(Long showtimeId, Long seatId, String fromStatus, String toStatus) {
+        adjust(showtimeId, sold(toStatus) - sold(fromStatus), held(toStatus) - held(fromStatus));
+        if (isTaken(fromStatus) != isTaken(toStatus)) {
+            publishAvailability(showtimeId, isTaken(toStatus) ? List.of(seatId) : List.of(), isTaken(fromStatus) ? List.of(seatId) : List.of());
+        }
+        if (sold(fromStatus) != sold(toStatus)) {
+            publishSales(showtimeId, sold(toStatus) > 0 ? List.of(seatId) : List.of(), sold(fromStatus) > 0 ? List.of(seatId) : List.of());
+        }
+        if (!Objects.equals(fromStatus, toStatus)) {
+            eventPublisher.publishEvent(new SeatStatusChangedEvent(fromStatus, toStatus, 1));
+        }
+    }
+
+    /**
+     * Occupancy of one showtime
+     */
+    @Transactional(readOnly = true)
+    public Optional<OccupancySummary> getOccupancy(Long showtimeId) {
+        return Optional.ofNullable(occupancyIndex.get(List.of(showtimeId)).get(showtimeId));
+    }
+
+    /**
+     * Occupancy of many showtimes, keyed by showtime id in request order; served from memory where possible
+     * and otherwise read in one primary-key lookup
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, OccupancySummary> getOccupancy(Collection<Long> showtimeIds) {
+        return occupancyIndex.get(showtimeIds);
+    }
+
+    /**
+     * Available, held and sold seats of each showtime, in request order; unknown showtimes are left out.
+     * Served like {@link #getOccupancy(Collection)}, with showtimes lacking counters counted in one grouped query.
+     */
+    @Transactional(readOnly = true)
+    public List<OccupancySummary> getAvailability(Collection<Long> showtimeIds) {
+        Set<Long> requested = new LinkedHashSet<>(showtimeIds);
+        if (requested.size() > MAX_AVAILABILITY_IDS) {
+            throw new RuntimeException("Too many showtimes in one request: " + requested.size() + " (max " + MAX_AVAILABILITY_IDS + ")");
+        }
+
+        Map<Long, OccupancySummary> occupancy = new HashMap<>(occupancyIndex.get(requested));
+        if (occupancy.size() < requested.size()) {
+            List<Long> uncounted = requested.stream().filter(id -> !occupancy.containsKey(id)).toList();
+            for (OccupancySummary summary : occupancyRepository.countByShowtimeIdIn(uncounted)) {
+                occupancy.put(summary.getShowtimeId(), summary);
+            }
+        }
+        return requested.stream().map(occupancy::get).filter(Objects::nonNull).toList();
+    }
+
+    private void publishAvailability(Long showtimeId, Collection<Long> takenSeatIds, Collection<Long> releasedSeatIds) {
+        if (!takenSeatIds.isEmpty() || !releasedSeatIds.isEmpty()) {
+            eventPublisher.publishEvent(new SeatAvailabilityChangedEvent(showtimeId, List.copyOf(takenSeatIds), List.copyOf(releasedSeatIds)));
+        }
+    }
+
+    private void publishSales(Long showtimeId, Collection<Long> soldSeatIds, Collection<Long> unsoldSeatIds) {
+        if (!soldSeatIds.isEmpty() || !unsoldSeatIds.isEmpty()) {
+            eventPublisher.publishEvent(new SoldSeatsChangedEvent(showtimeId, List.copyOf(soldSeatIds), List.copyOf(unsoldSeatIds)));
+        }
+    }
+
+    static boolean isTaken(String status) {
+        return sold(status) + held(status) > 0;
+    }
+
+    private static int sold(String status) {
+        return "PAID".equals(status) ? 1 : 0;
+    }
+
+    private static int held(String status) {
+        return "HELD".equals(status) ? 1 : 0;
+    }
+}
@@ -1,16 +1,46 @@
 package com.ishan.moviereservation.service;
 
+import com.ishan.moviereservation.dto.BulkShowtimeResponse;
+import com.ishan.moviereservation.dto.RecurringShowtimeRequest;
+import com.ishan.moviereservation.dto.ShowtimeSlot;
+import com.ishan.moviereservation.dto.ShowtimeSlotResult;
+import com.ishan.moviereservation.dto.ShowtimeSummary;
+import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.entity.Screen;
 import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.event.ShowtimeChangedEvent;
+import com.ishan.moviereservation.exception.ShowtimeConflictException;
+import com.ishan.moviereservation.index.ContiguousSeatIndex;
+import com.ishan.moviereservation.index.ScheduleIndex;
+import com.ishan.moviereservation.index.ShowtimeIntervalIndex;
+import com.ishan.moviereservation.repository.MovieRepository;
+import com.ishan.moviereservation.repository.ReservationRepository;
+import com.ishan.moviereservation.repository.ScreenRepository;
 import com.ishan.moviereservation.repository.ShowtimeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,7 +48,22 @@ import java.util.Optional;
 @Transactional
 public class ShowtimeService {
 
+    // Exclusion constraint added in V4 that rejects overlapping showtimes on a screen
+    private static final String OVERLAP_CONSTRAINT = "showtimes_no_overlap";
+
+    // Upper bounds for a single bulk scheduling request
+    public static final int MAX_BULK_SLOTS = 5000;
+    public static final int MAX_RECURRENCE_DAYS = 92;
+
     private final ShowtimeRepository showtimeRepository;
+    private final MovieRepository movieRepository;
+    private final ScreenRepository screenRepository;
+    private final ReservationRepository reservationRepository;
+    private final ScheduleIndex scheduleIndex;
+    private final ShowtimeIntervalIndex showtimeIntervalIndex;
+    private final ShowtimeOccupancyService occupancyService;
+    private final ContiguousSeatIndex contiguousSeatIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new showtime
@@ -51,18 +96,14 @@ public class ShowtimeService {
             throw new RuntimeException("Showtime ticket price must be positive");
         }
         
-        // Check for scheduling conflicts in the same screen
-        List<Showtime> conflictingShowtimes = showtimeRepository.findConflictingShowtimes(
-            showtime.getScreen().getId(), 
-            showtime.getStartTime(), 
-            showtime.getStartTime().plusMinutes(showtime.getMovie().getDurationMinutes())
-        );
+        resolveEndTime(showtime);
         
-        if (!conflictingShowtimes.isEmpty()) {
-            throw new RuntimeException("Scheduling conflict detected. Screen is already booked for this time period");
-        }
+        // Check for scheduling conflicts in the same screen against the in-memory timeline
+        checkNoConflict(showtime, null);
         
-        Showtime savedShowtime = showtimeRepository.save(showtime);
+        Showtime savedShowtime = saveChecked(showtime);
+        occupancyService.initialize(List.of(savedShowtime.getId()));
+        eventPublisher.publishEvent(new ShowtimeChangedEvent(savedShowtime.getId()));
         log.info("Showtime created successfully with ID: {}", savedShowtime.getId());
         return savedShowtime;
     }
@@ -89,9 +130,9 @@ public class ShowtimeService {
      * Get all showtimes
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findAll() {
+    public Page<Showtime> findAll(Pageable pageable) {
         log.debug("Finding all showtimes");
-        return showtimeRepository.findAll();
+        return showtimeRepository.findAll(pageable);
     }
 
     /**
@@ -125,18 +166,18 @@ public class ShowtimeService {
      * Find showtimes by ticket price range
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findByTicketPriceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+    public Page<Showtime> findByTicketPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         log.debug("Finding showtimes with ticket price between: {} and {}", minPrice, maxPrice);
-        return showtimeRepository.findByTicketPriceBetween(minPrice, maxPrice);
+        return showtimeRepository.findByTicketPriceBetween(minPrice, maxPrice, pageable);
     }
 
     /**
      * Find upcoming showtimes
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findUpcomingShowtimes() {
+    public Page<Showtime> findUpcomingShowtimes(Pageable pageable) {
         log.debug("Finding upcoming showtimes");
-        return showtimeRepository.findUpcomingShowtimes(LocalDateTime.now());
+        return showtimeRepository.findUpcomingShowtimes(LocalDateTime.now(), pageable);
     }
 
     /**
@@ -159,6 +200,33 @@ public class ShowtimeService {
         return showtimeRepository.findShowtimesByDate(date);
     }
 
+    /**
+     * Get a day's schedule, optionally for one theater.
+     * Served from the schedule index; days outside its window fall back to a range query.
+     */
+    @Transactional(readOnly = true)
+    public List<ShowtimeSummary> getSchedule(LocalDate date, Long theaterId) {
+        log.debug("Getting schedule for date: {} and theater: {}", date, theaterId);
+        if (scheduleIndex.covers(date)) {
+            return theaterId != null ? scheduleIndex.getSchedule(theaterId, date) : scheduleIndex.getSchedule(date);
+        }
+        return showtimeRepository.findSummariesByStartTimeRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+            .stream()
+            .filter(summary -> theaterId == null || theaterId.equals(summary.getTheaterId()))
+            .toList();
+    }
+
+    /**
+     * Get a day's schedule, keeping only showtimes with at least {@code seatsTogether} free seats next to each other in a row
+     */
+    @Transactional(readOnly = true)
+    public List<ShowtimeSummary> getSchedule(LocalDate date, Long theaterId, int seatsTogether) {
+        if (seatsTogether < 1) {
+            throw new RuntimeException("Seats together must be at least 1");
+        }
+        return contiguousSeatIndex.withSeatsTogether(getSchedule(date, theaterId), seatsTogether);
+    }
+
     /**
      * Find showtimes by movie and date range
      */
@@ -181,36 +249,36 @@ public class ShowtimeService {
      * Find showtimes that have reservations
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findShowtimesWithReservations() {
+    public Page<Showtime> findShowtimesWithReservations(Pageable pageable) {
         log.debug("Finding showtimes with reservations");
-        return showtimeRepository.findShowtimesWithReservations();
+        return showtimeRepository.findShowtimesWithReservations(pageable);
     }
 
     /**
      * Find showtimes with no reservations
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findShowtimesWithoutReservations() {
+    public Page<Showtime> findShowtimesWithoutReservations(Pageable pageable) {
         log.debug("Finding showtimes without reservations");
-        return showtimeRepository.findShowtimesWithoutReservations();
+        return showtimeRepository.findShowtimesWithoutReservations(pageable);
     }
 
     /**
      * Find showtimes with seat reservations
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findShowtimesWithSeatReservations() {
+    public Page<Showtime> findShowtimesWithSeatReservations(Pageable pageable) {
         log.debug("Finding showtimes with seat reservations");
-        return showtimeRepository.findShowtimesWithSeatReservations();
+        return showtimeRepository.findShowtimesWithSeatReservations(pageable);
     }
 
     /**
      * Find showtimes with no seat reservations
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findShowtimesWithoutSeatReservations() {
+    public Page<Showtime> findShowtimesWithoutSeatReservations(Pageable pageable) {
         log.debug("Finding showtimes without seat reservations");
-        return showtimeRepository.findShowtimesWithoutSeatReservations();
+        return showtimeRepository.findShowtimesWithoutSeatReservations(pageable);
     }
 
     /**
@@ -256,21 +324,14 @@ public class ShowtimeService {
             throw new RuntimeException("Showtime ticket price must be positive");
         }
         
-        // Check for scheduling conflicts (excluding current showtime)
-        List<Showtime> conflictingShowtimes = showtimeRepository.findConflictingShowtimes(
-            showtime.getScreen().getId(), 
-            showtime.getStartTime(), 
-            showtime.getStartTime().plusMinutes(showtime.getMovie().getDurationMinutes())
-        );
-        
-        // Remove current showtime from conflicts if it exists
-        conflictingShowtimes.removeIf(st -> st.getId().equals(showtime.getId()));
+        resolveEndTime(showtime);
         
-        if (!conflictingShowtimes.isEmpty()) {
-            throw new RuntimeException("Scheduling conflict detected. Screen is already booked for this time period");
-        }
+        // Check for scheduling conflicts (excluding current showtime)
+        checkNoConflict(showtime, showtime.getId());
         
-        Showtime updatedShowtime = showtimeRepository.save(showtime);
+        Showtime updatedShowtime = saveChecked(showtime);
+        occupancyService.refreshCapacity(updatedShowtime.getId());
+        eventPublisher.publishEvent(new ShowtimeChangedEvent(updatedShowtime.getId()));
         log.info("Showtime updated successfully with ID: {}", updatedShowtime.getId());
         return updatedShowtime;
     }
@@ -286,12 +347,12 @@ public class ShowtimeService {
         }
         
         // Check if showtime has reservations (business rule: can't delete showtime with reservations)
-        Optional<Showtime> showtime = showtimeRepository.findByIdWithReservations(id);
-        if (showtime.isPresent() && !showtime.get().getReservations().isEmpty()) {
+        if (reservationRepository.existsByShowtimeId(id)) {
             throw new RuntimeException("Cannot delete showtime with reservations. Showtime ID: " + id);
         }
         
         showtimeRepository.deleteById(id);
+        eventPublisher.publishEvent(new ShowtimeChangedEvent(id));
         log.info("Showtime deleted successfully with ID: {}", id);
     }
 
@@ -310,7 +371,7 @@ public class ShowtimeService {
     @Transactional(readOnly = true)
     public long countByMovie(Long movieId) {
         log.debug("Getting showtime count by movie ID: {}", movieId);
-        return showtimeRepository.findByMovieId(movieId).size();
+        return showtimeRepository.countByMovieId(movieId);
     }
 
     /**
@@ -319,7 +380,7 @@ public class ShowtimeService {
     @Transactional(readOnly = true)
     public long countByScreen(Long screenId) {
         log.debug("Getting showtime count by screen ID: {}", screenId);
-        return showtimeRepository.findByScreenId(screenId).size();
+        return showtimeRepository.countByScreenId(screenId);
     }
 
     /**
@@ -328,7 +389,7 @@ public class ShowtimeService {
     @Transactional(readOnly = true)
     public long countUpcomingShowtimes() {
         log.debug("Getting upcoming showtime count");
-        return showtimeRepository.findUpcomingShowtimes(LocalDateTime.now()).size();
+        return showtimeRepository.countByStartTimeAfter(LocalDateTime.now());
     }
 
     /**
@@ -337,7 +398,8 @@ public class ShowtimeService {
     @Transactional(readOnly = true)
     public long countTodayShowtimes() {
         log.debug("Getting today's showtime count");
-        return findTodayShowtimes().size();
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        return showtimeRepository.countByStartTimeRange(today, today.plusDays(1));
     }
 
     /**
@@ -346,7 +408,7 @@ public class ShowtimeService {
     @Transactional(readOnly = true)
     public long countShowtimesWithReservations() {
         log.debug("Getting showtime count with reservations");
-        return showtimeRepository.findShowtimesWithReservations().size();
+        return showtimeRepository.countShowtimesWithReservations();
     }
 
     /**
@@ -355,16 +417,16 @@ public class ShowtimeService {
     @Transactional(readOnly = true)
     public long countShowtimesWithoutReservations() {
         log.debug("Getting showtime count without reservations");
-        return showtimeRepository.findShowtimesWithoutReservations().size();
+        return showtimeRepository.countShowtimesWithoutReservations();
     }
 
     /**
      * Find showtimes ordered by start time
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findAllOrderByStartTime() {
+    public Page<Showtime> findAllOrderByStartTime(Pageable pageable) {
         log.debug("Finding all showtimes ordered by start time");
-        return showtimeRepository.findAllByOrderByStartTimeAsc();
+        return showtimeRepository.findAllByOrderByStartTimeAsc(pageable);
     }
 
     /**
@@ -389,36 +451,36 @@ public class ShowtimeService {
      * Find showtimes by ticket price less than
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findByTicketPriceLessThan(BigDecimal price) {
+    public Page<Showtime> findByTicketPriceLessThan(BigDecimal price, Pageable pageable) {
         log.debug("Finding showtimes with ticket price less than: {}", price);
-        return showtimeRepository.findByTicketPriceLessThan(price);
+        return showtimeRepository.findByTicketPriceLessThan(price, pageable);
     }
 
     /**
      * Find showtimes by ticket price greater than
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findByTicketPriceGreaterThan(BigDecimal price) {
+    public Page<Showtime> findByTicketPriceGreaterThan(BigDecimal price, Pageable pageable) {
         log.debug("Finding showtimes with ticket price greater than: {}", price);
-        return showtimeRepository.findByTicketPriceGreaterThan(price);
+        return showtimeRepository.findByTicketPriceGreaterThan(price, pageable);
     }
 
     /**
      * Find showtimes by start time after
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findByStartTimeAfter(LocalDateTime startTime) {
+    public Page<Showtime> findByStartTimeAfter(LocalDateTime startTime, Pageable pageable) {
         log.debug("Finding showtimes after: {}", startTime);
-        return showtimeRepository.findByStartTimeAfter(startTime);
+        return showtimeRepository.findByStartTimeAfter(startTime, pageable);
     }
 
     /**
      * Find showtimes by start time before
      */
     @Transactional(readOnly = true)
-    public List<Showtime> findByStartTimeBefore(LocalDateTime startTime) {
+    public Page<Showtime> findByStartTimeBefore(LocalDateTime startTime, Pageable pageable) {
         log.debug("Finding showtimes before: {}", startTime);
-        return showtimeRepository.findByStartTimeBefore(startTime);
+        return showtimeRepository.findByStartTimeBefore(startTime, pageable);
     }
 
     /**
@@ -429,4 +491,217 @@ public class ShowtimeService {
         log.debug("Finding showtimes by movie ID: {} and screen ID: {}", movieId, screenId);
         return showtimeRepository.findByMovieIdAndScreenId(movieId, screenId);
     }
+
+    /**
+     * Expand a recurrence spec into slots and schedule them in one transaction
+     */
+    public BulkShowtimeResponse scheduleRecurring(RecurringShowtimeRequest request) {
+        log.info("Scheduling recurring showtimes for movie: {} on screens: {} from {} to {}",
+            request.getMovieId(), request.getScreenIds(), request.getStartDate(), request.getEndDate());
+
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= MAX_RECURRENCE_DAYS) {
+            throw new RuntimeException("Recurrence cannot span more than " + MAX_RECURRENCE_DAYS + " days");
+        }
+
+        Movie movie = movieRepository.findById(request.getMovieId())
+            .orElseThrow(() -> new RuntimeException("Movie not found with ID: " + request.getMovieId()));
+        if (movie.getDurationMinutes() == null) {
+            throw new RuntimeException("Movie has no duration and cannot be scheduled: " + movie.getId());
+        }
+
+        Set<DayOfWeek> days = request.getDaysOfWeek();
+        List<LocalTime> startTimes = request.getStartTimes().stream().sorted().toList();
+        List<ShowtimeSlot> slots = new ArrayList<>();
+        for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+            if (days != null && !days.isEmpty() && !days.contains(date.getDayOfWeek())) {
+                continue;
+            }
+            for (Long screenId : request.getScreenIds()) {
+                for (LocalTime time : startTimes) {
+                    LocalDateTime start = date.atTime(time);
+                    slots.add(new ShowtimeSlot(movie.getId(), screenId, start,
+                        start.plusMinutes(movie.getDurationMinutes()), request.getTicketPrice()));
+                }
+            }
+        }
+        return scheduleSlots(slots);
+    }
+
+    /**
+     * Schedule many slots at once: one conflict pass per screen against its timeline and the
+     * other slots of the batch, then a single batched insert of the valid ones
+     */
+    public BulkShowtimeResponse scheduleSlots(List<ShowtimeSlot> slots) {
+        log.info("Scheduling {} showtime slots", slots.size());
+        if (slots.size() > MAX_BULK_SLOTS) {
+            throw new RuntimeException("Too many slots in one request: " + slots.size() + " (max " + MAX_BULK_SLOTS + ")");
+        }
+
+        Map<Long, Movie> movies = movieRepository.findAllById(
+                slots.stream().map(ShowtimeSlot::getMovieId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(Movie::getId, Function.identity()));
+        Map<Long, Screen> screens = screenRepository.findAllById(
+                slots.stream().map(ShowtimeSlot::getScreenId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(Screen::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        ShowtimeSlotResult[] results = new ShowtimeSlotResult[slots.size()];
+        List<Showtime> accepted = new ArrayList<>();
+        List<Integer> acceptedPositions = new ArrayList<>();
+
+        Map<Long, List<Integer>> positionsByScreen = new LinkedHashMap<>();
+        for (int i = 0; i < slots.size(); i++) {
+            positionsByScreen.computeIfAbsent(slots.get(i).getScreenId(), k -> new ArrayList<>()).add(i);
+        }
+
+        for (Map.Entry<Long, List<Integer>> group : positionsByScreen.entrySet()) {
+            Screen screen = screens.get(group.getKey());
+            ShowtimeIntervalIndex.ScreenTimeline timeline =
+                screen != null ? showtimeIntervalIndex.timeline(screen.getId()) : null;
+
+            List<Integer> positions = new ArrayList<>(group.getValue());
+            positions.sort(Comparator.comparing((Integer i) -> slots.get(i).getStartTime(),
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+            // Accepted slots are visited in start order, so the latest accepted end bounds every overlap
+            LocalDateTime acceptedUntil = null;
+            for (int position : positions) {
+                ShowtimeSlot slot = slots.get(position);
+                Movie movie = movies.get(slot.getMovieId());
+
+                String invalid = validateSlot(slot, movie, screen, now);
+                if (invalid != null) {
+                    results[position] = slotResult(slot, ShowtimeSlotResult.Status.INVALID, null, invalid);
+                    continue;
+                }
+                Optional<Long> existing = timeline.findConflict(slot.getStartTime(), slot.getEndTime(), null);
+                if (existing.isPresent()) {
+                    results[position] = slotResult(slot, ShowtimeSlotResult.Status.CONFLICT, null,
+                        "Overlaps existing showtime " + existing.get());
+                    continue;
+                }
+                if (acceptedUntil != null && slot.getStartTime().isBefore(acceptedUntil)) {
+                    results[position] = slotResult(slot, ShowtimeSlotResult.Status.CONFLICT, null,
+                        "Overlaps another slot in this request");
+                    continue;
+                }
+
+                accepted.add(new Showtime(movie, screen, slot.getStartTime(), slot.getEndTime(), slot.getTicketPrice()));
+                acceptedPositions.add(position);
+                acceptedUntil = slot.getEndTime();
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<Showtime> saved = saveAllChecked(accepted);
+            for (int i = 0; i < saved.size(); i++) {
+                int position = acceptedPositions.get(i);
+                results[position] = slotResult(slots.get(position), ShowtimeSlotResult.Status.CREATED, saved.get(i).getId(), null);
+            }
+            List<Long> savedIds = saved.stream().map(Showtime::getId).toList();
+            occupancyService.initialize(savedIds);
+            eventPublisher.publishEvent(new ShowtimeChangedEvent(savedIds));
+        }
+
+        log.info("Bulk scheduling created {} of {} showtimes", accepted.size(), slots.size());
+        return new BulkShowtimeResponse(slots.size(), accepted.size(), slots.size() - accepted.size(), List.of(results));
+    }
+
+    /**
+     * Default the end time from the movie duration and make sure the interval is not empty
+     */
+    private void resolveEndTime(Showtime showtime) {
+        if (showtime.getEndTime() == null) {
+            showtime.setEndTime(showtime.getStartTime().plusMinutes(showtime.getMovie().getDurationMinutes()));
+        }
+        if (!showtime.getEndTime().isAfter(showtime.getStartTime())) {
+            throw new RuntimeException("Showtime end time must be after start time");
+        }
+    }
+
+    /**
+     * Fast-path overlap check on the screen's interval timeline
+     */
+    private void checkNoConflict(Showtime showtime, Long excludeShowtimeId) {
+        Long screenId = showtime.getScreen().getId();
+        showtimeIntervalIndex.findConflict(screenId, showtime.getStartTime(), showtime.getEndTime(), excludeShowtimeId)
+            .ifPresent(conflictId -> {
+                throw new ShowtimeConflictException(
+                    "Scheduling conflict detected. Screen is already booked for this time period (showtime " + conflictId + ")");
+            });
+    }
+
+    /**
+     * Flush the write so the overlap exclusion constraint is evaluated here, translating a violation
+     */
+    private Showtime saveChecked(Showtime showtime) {
+        try {
+            return showtimeRepository.saveAndFlush(showtime);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            // Another node scheduled this screen since our timeline was loaded
+            showtimeIntervalIndex.invalidate(showtime.getScreen().getId());
+            throw new ShowtimeConflictException("Scheduling conflict detected. Screen is already booked for this time period");
+        }
+    }
+
+    /**
+     * Insert a batch and flush it, translating an overlap violation for the whole batch
+     */
+    private List<Showtime> saveAllChecked(List<Showtime> showtimes) {
+        try {
+            List<Showtime> saved = showtimeRepository.saveAll(showtimes);
+            showtimeRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            showtimes.stream().map(showtime -> showtime.getScreen().getId()).distinct()
+                .forEach(showtimeIntervalIndex::invalidate);
+            throw new ShowtimeConflictException("Scheduling conflict detected while saving the batch; screens were booked concurrently, please retry");
+        }
+    }
+
+    /**
+     * Reason a bulk slot cannot be scheduled, or null when it is valid
+     */
+    private String validateSlot(ShowtimeSlot slot, Movie movie, Screen screen, LocalDateTime now) {
+        if (movie == null) {
+            return "Movie not found with ID: " + slot.getMovieId();
+        }
+        if (screen == null) {
+            return "Screen not found with ID: " + slot.getScreenId();
+        }
+        if (slot.getStartTime() == null || slot.getEndTime() == null) {
+            return "Start and end time are required";
+        }
+        if (!slot.getStartTime().isAfter(now)) {
+            return "Showtime start time must be in the future";
+        }
+        if (!slot.getEndTime().isAfter(slot.getStartTime())) {
+            return "Showtime end time must be after start time";
+        }
+        if (slot.getTicketPrice() == null || slot.getTicketPrice().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Showtime ticket price must be positive";
+        }
+        return null;
+    }
+
+    private ShowtimeSlotResult slotResult(ShowtimeSlot slot, ShowtimeSlotResult.Status status, Long showtimeId, String message) {
+        return new ShowtimeSlotResult(slot.getMovieId(), slot.getScreenId(), slot.getStartTime(), slot.getEndTime(),
+            status, showtimeId, message);
+    }
+
+    private boolean isOverlapViolation(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause().getMessage() != null
+            && e.getMostSpecificCause().getMessage().contains(OVERLAP_CONSTRAINT);
+    }
 }
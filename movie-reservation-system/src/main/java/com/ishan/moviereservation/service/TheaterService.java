@@ -1,18 +1,30 @@
 package com.ishan.moviereservation.service;
 
+import com.ishan.moviereservation.dto.NearbyTheaterResponse;
+import com.ishan.moviereservation.dto.ShowtimeSummary;
 import com.ishan.moviereservation.dto.TheaterRequest;
 import com.ishan.moviereservation.dto.TheaterResponse;
+import com.ishan.moviereservation.dto.VersionStamp;
 import com.ishan.moviereservation.entity.Theater;
+import com.ishan.moviereservation.event.TheaterChangedEvent;
+import com.ishan.moviereservation.index.TheaterGeoIndex;
+import com.ishan.moviereservation.repository.ScreenRepository;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
 import com.ishan.moviereservation.repository.TheaterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,7 +32,17 @@ import java.util.Optional;
 @Transactional
 public class TheaterService {
 
+    // Bounds for the nearby lookup so a single request cannot walk the whole grid
+    public static final double MAX_NEARBY_RADIUS_KM = 200;
+    public static final int MAX_NEARBY_RESULTS = 50;
+    private static final Duration UPCOMING_SHOWTIME_WINDOW = Duration.ofDays(1);
+    private static final int UPCOMING_SHOWTIMES_PER_THEATER = 10;
+
     private final TheaterRepository theaterRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final ScreenRepository screenRepository;
+    private final TheaterGeoIndex theaterGeoIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new theater
@@ -29,7 +51,7 @@ public class TheaterService {
         log.info("Creating new theater with name: {}", theater.getName());
         
         // Check if theater with same name already exists
-        if (theaterRepository.findByName(theater.getName()).isPresent()) {
+        if (theaterRepository.existsByName(theater.getName())) {
             throw new RuntimeException("Theater with name already exists: " + theater.getName());
         }
         
@@ -39,6 +61,7 @@ public class TheaterService {
         }
         
         Theater savedTheater = theaterRepository.save(theater);
+        eventPublisher.publishEvent(new TheaterChangedEvent(savedTheater.getId()));
         log.info("Theater created successfully with ID: {}", savedTheater.getId());
         return savedTheater;
     }
@@ -125,12 +148,12 @@ public class TheaterService {
     }
 
     /**
-     * Search theaters by name or address
+     * Search theaters by name or address, matching the term literally and ranking by similarity to it
      */
     @Transactional(readOnly = true)
     public List<Theater> searchByNameOrAddress(String searchTerm) {
         log.debug("Searching theaters by name or address: {}", searchTerm);
-        return theaterRepository.findByNameOrAddressContainingIgnoreCase(searchTerm);
+        return theaterRepository.findByNameOrAddressContainingIgnoreCase(escapeLikePattern(searchTerm), searchTerm);
     }
 
     /**
@@ -173,7 +196,7 @@ public class TheaterService {
         // Check if name is being changed and if new name already exists
         Optional<Theater> existingTheater = theaterRepository.findById(theater.getId());
         if (existingTheater.isPresent() && !existingTheater.get().getName().equals(theater.getName())) {
-            if (theaterRepository.findByName(theater.getName()).isPresent()) {
+            if (theaterRepository.existsByName(theater.getName())) {
                 throw new RuntimeException("Theater with name already exists: " + theater.getName());
             }
         }
@@ -184,6 +207,7 @@ public class TheaterService {
         }
         
         Theater updatedTheater = theaterRepository.save(theater);
+        eventPublisher.publishEvent(new TheaterChangedEvent(updatedTheater.getId()));
         log.info("Theater updated successfully with ID: {}", updatedTheater.getId());
         return updatedTheater;
     }
@@ -199,12 +223,12 @@ public class TheaterService {
         }
         
         // Check if theater has screens (business rule: can't delete theater with screens)
-        Optional<Theater> theater = theaterRepository.findByIdWithScreens(id);
-        if (theater.isPresent() && !theater.get().getScreens().isEmpty()) {
+        if (screenRepository.existsByTheaterId(id)) {
             throw new RuntimeException("Cannot delete theater with screens. Theater ID: " + id);
         }
         
         theaterRepository.deleteById(id);
+        eventPublisher.publishEvent(new TheaterChangedEvent(id));
         log.info("Theater deleted successfully with ID: {}", id);
     }
 
@@ -223,7 +247,7 @@ public class TheaterService {
     @Transactional(readOnly = true)
     public long countWithScreens() {
         log.debug("Getting theater count with screens");
-        return theaterRepository.findTheatersWithScreens().size();
+        return theaterRepository.countTheatersWithScreens();
     }
 
     /**
@@ -232,7 +256,7 @@ public class TheaterService {
     @Transactional(readOnly = true)
     public long countWithoutScreens() {
         log.debug("Getting theater count without screens");
-        return theaterRepository.findTheatersWithoutScreens().size();
+        return theaterRepository.countTheatersWithoutScreens();
     }
 
     /**
@@ -241,7 +265,7 @@ public class TheaterService {
     @Transactional(readOnly = true)
     public boolean existsByName(String name) {
         log.debug("Checking if theater name exists: {}", name);
-        return theaterRepository.findByName(name).isPresent();
+        return theaterRepository.existsByName(name);
     }
 
     /**
@@ -273,6 +297,7 @@ public class TheaterService {
         Theater theater = new Theater();
         theater.setName(request.getName());
         theater.setAddress(request.getAddress());
+        applyCoordinates(theater, request);
         
         Theater savedTheater = createTheater(theater);
         return convertToResponse(savedTheater);
@@ -289,6 +314,7 @@ public class TheaterService {
         
         existingTheater.setName(request.getName());
         existingTheater.setAddress(request.getAddress());
+        applyCoordinates(existingTheater, request);
         
         Theater updatedTheater = updateTheater(existingTheater);
         return convertToResponse(updatedTheater);
@@ -308,8 +334,7 @@ public class TheaterService {
     @Transactional(readOnly = true)
     public Page<TheaterResponse> getAllTheaters(Pageable pageable) {
         log.debug("Getting all theaters with pagination");
-        return theaterRepository.findAll(pageable)
-            .map(this::convertToResponse);
+        return theaterRepository.findAllProjectedBy(pageable);
     }
 
     /**
@@ -323,19 +348,102 @@ public class TheaterService {
         return convertToResponse(theater);
     }
 
+    /**
+     * Search theaters by name or address, ranked by similarity
+     */
+    @Transactional(readOnly = true)
+    public List<TheaterResponse> searchTheaters(String searchTerm) {
+        log.debug("Searching theaters from DTO: {}", searchTerm);
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new RuntimeException("Search term must not be empty");
+        }
+        return searchByNameOrAddress(searchTerm.trim())
+            .stream()
+            .map(this::convertToResponse)
+            .toList();
+    }
+
+    /**
+     * Find the nearest theaters around a point with their upcoming showtimes
+     */
+    @Transactional(readOnly = true)
+    public List<NearbyTheaterResponse> findNearbyTheaters(double latitude, double longitude, double radiusKm, int limit) {
+        log.debug("Finding up to {} theaters within {} km of ({}, {})", limit, radiusKm, latitude, longitude);
+        if (!Double.isFinite(latitude) || !Double.isFinite(longitude)
+                || latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new RuntimeException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+        if (!Double.isFinite(radiusKm) || radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new RuntimeException("Radius must be between 0 and " + MAX_NEARBY_RADIUS_KM + " km");
+        }
+        if (limit < 1 || limit > MAX_NEARBY_RESULTS) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_NEARBY_RESULTS);
+        }
+
+        List<TheaterGeoIndex.Hit> hits = theaterGeoIndex.findNearest(latitude, longitude, radiusKm, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> theaterIds = hits.stream().map(hit -> hit.location().getId()).toList();
+        Map<Long, List<ShowtimeSummary>> showtimesByTheater = showtimeRepository
+            .findSummariesByTheaterIdsAndStartTimeBetween(theaterIds, now, now.plus(UPCOMING_SHOWTIME_WINDOW))
+            .stream()
+            .collect(Collectors.groupingBy(ShowtimeSummary::getTheaterId));
+
+        return hits.stream()
+            .map(hit -> new NearbyTheaterResponse(
+                hit.location().getId(),
+                hit.location().getName(),
+                hit.location().getAddress(),
+                hit.location().getLatitude(),
+                hit.location().getLongitude(),
+                hit.distanceKm(),
+                showtimesByTheater.getOrDefault(hit.location().getId(), List.of()).stream()
+                    .limit(UPCOMING_SHOWTIMES_PER_THEATER)
+                    .toList()))
+            .toList();
+    }
+
+    /**
+     * Get the theater list version stamp used for conditional requests
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp getTheaterListVersion() {
+        log.debug("Getting theater list version");
+        return theaterRepository.findListVersion();
+    }
+
+    /**
+     * Copy coordinates from the request; both or neither must be given
+     */
+    private void applyCoordinates(Theater theater, TheaterRequest request) {
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new RuntimeException("Latitude and longitude must be provided together");
+        }
+        theater.setLatitude(request.getLatitude());
+        theater.setLongitude(request.getLongitude());
+    }
+
+    /**
+     * Escape LIKE wildcards so user input is matched literally
+     */
+    private String escapeLikePattern(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     /**
      * Convert Theater entity to TheaterResponse DTO
      */
     private TheaterResponse convertToResponse(Theater theater) {
+        // city, state, zipCode, phoneNumber and screens are not available in entity
         return new TheaterResponse(
             theater.getId(),
             theater.getName(),
             theater.getAddress(),
-            null, // city not available in entity
-            null, // state not available in entity
-            null, // zipCode not available in entity
-            null, // phoneNumber not available in entity
-            null, // screens will be populated separately if needed
+            theater.getLatitude(),
+            theater.getLongitude(),
             theater.getCreatedAt(),
             theater.getUpdatedAt()
         );
@@ -4,10 +4,11 @@ import com.ishan.moviereservation.entity.User;
 import com.ishan.moviereservation.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -79,54 +80,54 @@ public class UserService {
      * Get all users
      */
     @Transactional(readOnly = true)
-    public List<User> findAll() {
+    public Page<User> findAll(Pageable pageable) {
         log.debug("Finding all users");
-        return userRepository.findAll();
+        return userRepository.findAll(pageable);
     }
 
     /**
      * Find users by role
      */
     @Transactional(readOnly = true)
-    public List<User> findByRole(String role) {
+    public Page<User> findByRole(String role, Pageable pageable) {
         log.debug("Finding users by role: {}", role);
-        return userRepository.findByRole(role);
+        return userRepository.findByRole(role, pageable);
     }
 
     /**
      * Find users by role ordered by creation date
      */
     @Transactional(readOnly = true)
-    public List<User> findByRoleOrderByCreatedAtDesc(String role) {
+    public Page<User> findByRoleOrderByCreatedAtDesc(String role, Pageable pageable) {
         log.debug("Finding users by role ordered by creation date: {}", role);
-        return userRepository.findByRoleOrderByCreatedAtDesc(role);
+        return userRepository.findByRoleOrderByCreatedAtDesc(role, pageable);
     }
 
     /**
      * Find users who have made reservations
      */
     @Transactional(readOnly = true)
-    public List<User> findUsersWithReservations() {
+    public Page<User> findUsersWithReservations(Pageable pageable) {
         log.debug("Finding users with reservations");
-        return userRepository.findUsersWithReservations();
+        return userRepository.findUsersWithReservations(pageable);
     }
 
     /**
      * Search users by username
      */
     @Transactional(readOnly = true)
-    public List<User> searchByUsername(String username) {
+    public Page<User> searchByUsername(String username, Pageable pageable) {
         log.debug("Searching users by username: {}", username);
-        return userRepository.findByUsernameContainingIgnoreCase(username);
+        return userRepository.findByUsernameContainingIgnoreCase(username, pageable);
     }
 
     /**
      * Search users by email
      */
     @Transactional(readOnly = true)
-    public List<User> searchByEmail(String email) {
+    public Page<User> searchByEmail(String email, Pageable pageable) {
         log.debug("Searching users by email: {}", email);
-        return userRepository.findByEmailContainingIgnoreCase(email);
+        return userRepository.findByEmailContainingIgnoreCase(email, pageable);
     }
 
     /**
@@ -191,6 +192,6 @@ public class UserService {
     @Transactional(readOnly = true)
     public long countByRole(String role) {
         log.debug("Getting user count by role: {}", role);
-        return userRepository.findByRole(role).size();
+        return userRepository.countByRole(role);
     }
 }
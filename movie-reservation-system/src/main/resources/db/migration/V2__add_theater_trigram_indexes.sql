@@ -0,0 +1,6 @@
+-- Trigram indexes for substring search on theater name and address.
+-- GIN indexes with gin_trgm_ops serve ILIKE '%term%' lookups and similarity() ranking.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_theaters_name_trgm ON theaters USING gin (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_theaters_address_trgm ON theaters USING gin (address gin_trgm_ops);
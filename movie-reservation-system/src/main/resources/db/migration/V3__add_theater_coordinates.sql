@@ -0,0 +1,9 @@
+-- Geographic position of each theater (WGS84 degrees) for the nearby lookup.
+-- Both columns are optional so existing theaters remain valid until geocoded.
+ALTER TABLE theaters ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE theaters ADD COLUMN longitude DOUBLE PRECISION;
+
+ALTER TABLE theaters ADD CONSTRAINT chk_theaters_latitude CHECK (latitude BETWEEN -90 AND 90);
+ALTER TABLE theaters ADD CONSTRAINT chk_theaters_longitude CHECK (longitude BETWEEN -180 AND 180);
+ALTER TABLE theaters ADD CONSTRAINT chk_theaters_coordinates
+  CHECK ((latitude IS NULL AND longitude IS NULL) OR (latitude IS NOT NULL AND longitude IS NOT NULL));
@@ -0,0 +1,6 @@
+-- Reject overlapping showtimes on the same screen atomically, across all application nodes.
+-- btree_gist lets the GiST exclusion constraint combine equality on screen_id with range overlap.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE showtimes ADD CONSTRAINT showtimes_no_overlap
+  EXCLUDE USING gist (screen_id WITH =, tstzrange(start_time, end_time, '[)') WITH &&);
@@ -0,0 +1,11 @@
+-- Hibernate now allocates ids from the BIGSERIAL sequences instead of IDENTITY inserts,
+-- reserving 50 ids per nextval (pooled-lo) so inserts can be sent as JDBC batches.
+-- Column defaults still call nextval, so plain SQL inserts keep working.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE movies_id_seq INCREMENT BY 50;
+ALTER SEQUENCE theaters_id_seq INCREMENT BY 50;
+ALTER SEQUENCE screens_id_seq INCREMENT BY 50;
+ALTER SEQUENCE seats_id_seq INCREMENT BY 50;
+ALTER SEQUENCE showtimes_id_seq INCREMENT BY 50;
+ALTER SEQUENCE reservations_id_seq INCREMENT BY 50;
+ALTER SEQUENCE seat_reservations_id_seq INCREMENT BY 50;
@@ -0,0 +1,19 @@
+-- Seats sold and held per showtime, kept current by the booking path so listings can show
+-- "seats left" without counting seat_reservations for every showtime.
+-- capacity is the number of seats on the showtime's screen.
+CREATE TABLE showtime_occupancy (
+  showtime_id BIGINT PRIMARY KEY REFERENCES showtimes(id) ON DELETE CASCADE,
+  capacity INT NOT NULL,
+  sold INT NOT NULL DEFAULT 0,
+  held INT NOT NULL DEFAULT 0
+);
+
+INSERT INTO showtime_occupancy (showtime_id, capacity, sold, held)
+SELECT s.id,
+       (SELECT COUNT(*) FROM seats st WHERE st.screen_id = s.screen_id),
+       (SELECT COUNT(*) FROM seat_reservations sr WHERE sr.showtime_id = s.id AND sr.status = 'PAID'),
+       (SELECT COUNT(*) FROM seat_reservations sr WHERE sr.showtime_id = s.id AND sr.status = 'HELD')
+FROM showtimes s;
+
+-- Hold expiry scans reservations whose hold has run out
+CREATE INDEX idx_reservations_hold_expiry ON reservations(hold_expiry) WHERE status IN ('PENDING', 'HELD');
@@ -0,0 +1,51 @@
+-- Reservations, taken (held or paid) seats and reserved amount per showtime and reservation status,
+-- bucketed by the hour and the day the reservations were created. Kept current by the booking path;
+-- movie and theater are copied from the showtime so reports group without joins. No foreign keys:
+-- the figures outlive the showtimes they describe.
+CREATE TABLE sales_hourly (
+  bucket_start TIMESTAMP NOT NULL,
+  showtime_id BIGINT NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  movie_id BIGINT NOT NULL,
+  theater_id BIGINT NOT NULL,
+  reservations BIGINT NOT NULL DEFAULT 0,
+  tickets BIGINT NOT NULL DEFAULT 0,
+  amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (bucket_start, showtime_id, status)
+);
+
+CREATE TABLE sales_daily (
+  bucket_start TIMESTAMP NOT NULL,
+  showtime_id BIGINT NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  movie_id BIGINT NOT NULL,
+  theater_id BIGINT NOT NULL,
+  reservations BIGINT NOT NULL DEFAULT 0,
+  tickets BIGINT NOT NULL DEFAULT 0,
+  amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+  PRIMARY KEY (bucket_start, showtime_id, status)
+);
+
+-- Rebuilds and the partial hours at the ends of a revenue range read reservations by creation time
+CREATE INDEX idx_reservations_created_at ON reservations(created_at);
+
+-- Buckets are UTC wall-clock times, as the application writes them; truncating created_at directly
+-- would use the session time zone
+INSERT INTO sales_hourly (bucket_start, showtime_id, status, movie_id, theater_id, reservations, tickets, amount)
+SELECT bucket_start, showtime_id, status, movie_id, theater_id, COUNT(*), SUM(tickets), SUM(total_amount)
+FROM (
+  SELECT date_trunc('hour', r.created_at AT TIME ZONE 'UTC') AS bucket_start, r.showtime_id, r.status,
+         s.movie_id, sc.theater_id, r.total_amount,
+         (SELECT COUNT(*) FROM seat_reservations sr
+           WHERE sr.reservation_id = r.id AND sr.status IN ('HELD', 'PAID')) AS tickets
+  FROM reservations r
+  JOIN showtimes s ON s.id = r.showtime_id
+  JOIN screens sc ON sc.id = s.screen_id
+) reservation_sales
+GROUP BY bucket_start, showtime_id, status, movie_id, theater_id;
+
+-- Days from the UTC hours above
+INSERT INTO sales_daily (bucket_start, showtime_id, status, movie_id, theater_id, reservations, tickets, amount)
+SELECT date_trunc('day', bucket_start), showtime_id, status, movie_id, theater_id, SUM(reservations), SUM(tickets), SUM(amount)
+FROM sales_hourly
+GROUP BY date_trunc('day', bucket_start), showtime_id, status, movie_id, theater_id;
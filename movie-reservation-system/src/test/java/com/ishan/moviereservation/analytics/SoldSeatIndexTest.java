@@ -0,0 +1,194 @@
+package com.ishan.moviereservation.analytics;
+
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.ShowtimeSelection;
+import com.ishan.moviereservation.dto.ShowtimeStart;
+import com.ishan.moviereservation.dto.SoldSeatSummary;
+import com.ishan.moviereservation.dto.TakenSeat;
+import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.entity.Seat;
+import com.ishan.moviereservation.entity.SeatReservation;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.event.ShowtimeChangedEvent;
+import com.ishan.moviereservation.event.SoldSeatsChangedEvent;
+import com.ishan.moviereservation.repository.SeatReservationRepository;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
+import com.ishan.moviereservation.support.BookingFixture;
+import com.ishan.moviereservation.support.H2DataJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Set questions over sold seats must match what the seat reservations say, after a rebuild and as sales move.
+ */
+@H2DataJpaTest
+@Import({SoldSeatIndex.class, JpaConfig.class})
+class SoldSeatIndexTest {
+
+    // A Friday
+    private static final LocalDate FRIDAY = LocalDate.of(2030, 1, 4);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SoldSeatIndex soldSeatIndex;
+
+    @Autowired
+    private BookingFixture fixture;
+
+    private Movie movie;
+    private Screen screen;
+    private List<Seat> seats;
+
+    @BeforeEach
+    void setUp() {
+        movie = fixture.movie();
+        screen = fixture.screen(fixture.theater(), "Screen 1", 5);
+        seats = fixture.row(screen, "A", 5);
+    }
+
+    @Test
+    void fridayEveningsAreIntersectedAndUnitedPerScreen() {
+        Showtime first = showtime(FRIDAY.atTime(19, 0), 0, 1, 2);
+        Showtime second = showtime(FRIDAY.plusWeeks(1).atTime(20, 30), 1, 2, 3);
+        showtime(FRIDAY.plusWeeks(1).atTime(13, 0), 4);
+        showtime(FRIDAY.plusDays(1).atTime(19, 0), 4);
+        Showtime held = showtime(FRIDAY.plusWeeks(2).atTime(19, 0));
+        fixture.book(held, seats.get(4), "HELD");
+        entityManager.flush();
+        soldSeatIndex.rebuild();
+
+        ShowtimeSelection fridayEvenings = new ShowtimeSelection(FRIDAY.atStartOfDay(), FRIDAY.plusWeeks(3).atStartOfDay(),
+            movie.getId(), null, DayOfWeek.FRIDAY, LocalTime.of(17, 0), null);
+        List<SoldSeatSummary> summaries = soldSeatIndex.summarize(fridayEvenings);
+
+        assertThat(summaries).hasSize(1);
+        SoldSeatSummary summary = summaries.get(0);
+        assertThat(summary.getScreenId()).isEqualTo(screen.getId());
+        assertThat(summary.getShowtimes()).isEqualTo(3);
+        assertThat(summary.getSoldSeats()).isEqualTo(6);
+        assertThat(summary.getSoldInEvery()).isEmpty();
+        assertThat(summary.getSoldInAny()).containsExactly(seatIds(0, 1, 2, 3).toArray(Long[]::new));
+
+        // Moved to the Thursday before
+        held.setStartTime(held.getStartTime().minusDays(1));
+        entityManager.flush();
+        soldSeatIndex.onShowtimeChanged(new ShowtimeChangedEvent(held.getId()));
+        summary = soldSeatIndex.summarize(fridayEvenings).get(0);
+        assertThat(summary.getShowtimes()).isEqualTo(2);
+        assertThat(summary.getSoldInEvery()).containsExactly(seatIds(1, 2).toArray(Long[]::new));
+
+        soldSeatIndex.onSoldSeatsChanged(new SoldSeatsChangedEvent(first.getId(), seatIds(3), seatIds(1)));
+        soldSeatIndex.onSoldSeatsChanged(new SoldSeatsChangedEvent(second.getId(), List.of(), seatIds(1)));
+        summary = soldSeatIndex.summarize(fridayEvenings).get(0);
+        assertThat(summary.getSoldSeats()).isEqualTo(5);
+        assertThat(summary.getSoldInEvery()).containsExactly(seatIds(2, 3).toArray(Long[]::new));
+        assertThat(summary.getSoldInAny()).containsExactly(seatIds(0, 2, 3).toArray(Long[]::new));
+    }
+
+    @Test
+    void refundsGiveSeatsBackAndAgreeWithARereadShowtime() {
+        Showtime showtime = showtime(FRIDAY.atTime(19, 0), 1);
+        SeatReservation refunded = fixture.book(showtime, seats.get(0), "PAID");
+        entityManager.flush();
+        soldSeatIndex.rebuild();
+        assertThat(soldSeatIndex.summarize(friday()).get(0).getSoldSeats()).isEqualTo(2);
+
+        refunded.setStatus("CANCELLED");
+        entityManager.flush();
+        soldSeatIndex.onSoldSeatsChanged(new SoldSeatsChangedEvent(showtime.getId(), List.of(), seatIds(0)));
+        SoldSeatSummary summary = soldSeatIndex.summarize(friday()).get(0);
+        assertThat(summary.getSoldSeats()).isEqualTo(1);
+        assertThat(summary.getSoldInAny()).containsExactly(seatIds(1).toArray(Long[]::new));
+
+        soldSeatIndex.onShowtimeChanged(new ShowtimeChangedEvent(showtime.getId()));
+        assertThat(soldSeatIndex.summarize(friday())).isEqualTo(List.of(summary));
+    }
+
+    @Test
+    void changesAnnouncedWhileRebuildingSurviveTheSwap() {
+        ShowtimeRepository showtimes = mock(ShowtimeRepository.class);
+        SeatReservationRepository seatReservations = mock(SeatReservationRepository.class);
+        SoldSeatIndex index = new SoldSeatIndex(showtimes, seatReservations);
+        when(showtimes.streamStarts()).thenReturn(Stream.of(
+            new ShowtimeStart(1L, 2L, 3L, FRIDAY.atTime(19, 0)), new ShowtimeStart(4L, 2L, 3L, FRIDAY.atTime(21, 0))));
+        // Showtime 4 moves to Thursday
+        when(showtimes.findStartsByIdIn(List.of(4L))).thenReturn(List.of(new ShowtimeStart(4L, 2L, 3L, FRIDAY.minusDays(1).atTime(21, 0))));
+        when(seatReservations.findSoldSeatsByShowtimeIdIn(List.of(4L))).thenReturn(List.of(new TakenSeat(4L, 12L)));
+        // Seat 11 sells and showtime 4 moves after the sold seats were read, both announced before the swap
+        when(seatReservations.streamSoldSeats()).thenReturn(Stream.of(new TakenSeat(1L, 10L), new TakenSeat(4L, 12L))
+            .onClose(() -> {
+                index.onSoldSeatsChanged(new SoldSeatsChangedEvent(1L, List.of(11L), List.of()));
+                index.onShowtimeChanged(new ShowtimeChangedEvent(4L));
+            }));
+
+        index.rebuild();
+
+        List<SoldSeatSummary> summaries = index.summarize(friday());
+        assertThat(summaries).hasSize(1);
+        assertThat(summaries.get(0).getShowtimes()).isEqualTo(1);
+        assertThat(summaries.get(0).getSoldInAny()).containsExactly(10L, 11L);
+    }
+
+    @Test
+    void showtimeStaysAndKeepsItsSalesWhileItIsReread() {
+        ShowtimeRepository showtimes = mock(ShowtimeRepository.class);
+        SeatReservationRepository seatReservations = mock(SeatReservationRepository.class);
+        SoldSeatIndex index = new SoldSeatIndex(showtimes, seatReservations);
+        when(showtimes.streamStarts()).thenReturn(Stream.of(new ShowtimeStart(1L, 2L, 3L, FRIDAY.atTime(19, 0))));
+        when(seatReservations.streamSoldSeats()).thenReturn(Stream.of(new TakenSeat(1L, 10L)));
+        index.rebuild();
+        List<List<SoldSeatSummary>> duringReread = new ArrayList<>();
+        // Seat 11 sells while the rescheduled showtime is read back, before its sold seats are
+        when(showtimes.findStartsByIdIn(List.of(1L))).thenAnswer(invocation -> {
+            duringReread.add(index.summarize(friday()));
+            index.onSoldSeatsChanged(new SoldSeatsChangedEvent(1L, List.of(11L), List.of()));
+            return List.of(new ShowtimeStart(1L, 2L, 3L, FRIDAY.atTime(20, 0)));
+        });
+        when(seatReservations.findSoldSeatsByShowtimeIdIn(List.of(1L))).thenReturn(List.of(new TakenSeat(1L, 10L)));
+
+        index.onShowtimeChanged(new ShowtimeChangedEvent(1L));
+
+        assertThat(duringReread.get(0)).extracting(SoldSeatSummary::getShowtimes).containsExactly(1);
+        List<SoldSeatSummary> summaries = index.summarize(friday());
+        assertThat(summaries).extracting(SoldSeatSummary::getShowtimes).containsExactly(1);
+        assertThat(summaries.get(0).getSoldInAny()).containsExactly(10L, 11L);
+    }
+
+    private static ShowtimeSelection friday() {
+        return new ShowtimeSelection(FRIDAY.atStartOfDay(), FRIDAY.plusDays(1).atStartOfDay(), null, null, null, null, null);
+    }
+
+    private List<Long> seatIds(int... indexes) {
+        List<Long> ids = new ArrayList<>();
+        for (int index : indexes) {
+            ids.add(seats.get(index).getId());
+        }
+        return ids;
+    }
+
+    private Showtime showtime(LocalDateTime start, int... soldSeats) {
+        Showtime showtime = fixture.showtime(movie, screen, start);
+        for (int index : soldSeats) {
+            fixture.book(showtime, seats.get(index), "PAID");
+        }
+        return showtime;
+    }
+}
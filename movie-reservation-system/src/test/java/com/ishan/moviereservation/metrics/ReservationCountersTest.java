@@ -0,0 +1,170 @@
+package com.ishan.moviereservation.metrics;
+
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.StatusCount;
+import com.ishan.moviereservation.entity.Reservation;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.entity.Seat;
+import com.ishan.moviereservation.entity.SeatReservation;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.entity.User;
+import com.ishan.moviereservation.event.ReservationStatusChangedEvent;
+import com.ishan.moviereservation.event.SeatStatusChangedEvent;
+import com.ishan.moviereservation.index.ShowtimeOccupancyIndex;
+import com.ishan.moviereservation.repository.ReservationRepository;
+import com.ishan.moviereservation.repository.SeatReservationRepository;
+import com.ishan.moviereservation.service.ReservationService;
+import com.ishan.moviereservation.service.SalesRollupService;
+import com.ishan.moviereservation.service.SeatReservationService;
+import com.ishan.moviereservation.service.ShowtimeOccupancyService;
+import com.ishan.moviereservation.support.BookingFixture;
+import com.ishan.moviereservation.support.H2DataJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counters moved by the announced transitions must equal grouping the tables, and transitions
+ * announced while a resync reads must survive the swap.
+ */
+@H2DataJpaTest
+@Import({ReservationService.class, SeatReservationService.class, ShowtimeOccupancyService.class, SalesRollupService.class,
+    ShowtimeOccupancyIndex.class, ReservationCounters.class, JpaConfig.class})
+@RecordApplicationEvents
+class ReservationCountersTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private ShowtimeOccupancyService occupancyService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SeatReservationRepository seatReservationRepository;
+
+    @Autowired
+    private ReservationCounters counters;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private BookingFixture fixture;
+
+    private Showtime showtime;
+    private List<Long> seatIds;
+
+    @BeforeEach
+    void setUp() {
+        Screen screen = fixture.screen(fixture.theater(), "Screen 1", 10);
+        seatIds = fixture.row(screen, "A", 10).stream().map(Seat::getId).toList();
+        showtime = fixture.showtime(fixture.movie(), screen, LocalDateTime.now().plusDays(1));
+        entityManager.flush();
+        occupancyService.initialize(List.of(showtime.getId()));
+    }
+
+    @Test
+    void countersFollowEveryBookingPathExactly() {
+        counters.resync();
+
+        Long confirmed = openReservation();
+        seatReservationService.holdSeats(confirmed, seatIds.subList(0, 2));
+        reservationService.confirmReservation(confirmed);
+        Long cancelled = openReservation();
+        seatReservationService.holdSeats(cancelled, seatIds.subList(2, 4));
+        reservationService.cancelReservation(cancelled);
+        Long lapsed = openReservation();
+        seatReservationService.holdSeats(lapsed, seatIds.subList(4, 6));
+        entityManager.find(Reservation.class, lapsed).setHoldExpiry(LocalDateTime.now().minusMinutes(1));
+        entityManager.flush();
+        assertThat(reservationService.expireLapsedHolds(10)).isEqualTo(1);
+        Long pending = openReservation();
+        List<SeatReservation> held = seatReservationService.holdSeats(pending, seatIds.subList(6, 9));
+        seatReservationService.cancelSeatReservation(held.get(0).getId());
+        entityManager.flush();
+
+        // After-commit listeners never run inside the test transaction, so deliver what the booking path announced
+        events.stream(ReservationStatusChangedEvent.class).forEach(counters::onReservationStatusChanged);
+        events.stream(SeatStatusChangedEvent.class).forEach(counters::onSeatStatusChanged);
+
+        assertThat(nonZero(counters.getReservationCountByStatus()))
+            .isEqualTo(nonZero(reservationRepository.findReservationCountByStatus()))
+            .containsEntry("CONFIRMED", 1L).containsEntry("CANCELLED", 2L).containsEntry("PENDING", 1L);
+        assertThat(nonZero(counters.getSeatReservationCountByStatus()))
+            .isEqualTo(nonZero(seatReservationRepository.findSeatReservationCountByStatus()));
+
+        Map<String, Object> moved = counters.getCounts();
+        counters.resync();
+        assertThat(withoutZeros(moved)).isEqualTo(withoutZeros(counters.getCounts()));
+    }
+
+    @Test
+    void transitionAnnouncedWhileResyncReadsIsReplayed() {
+        ReservationRepository reservations = mock(ReservationRepository.class);
+        SeatReservationRepository seatReservations = mock(SeatReservationRepository.class);
+        ReservationCounters resyncing = new ReservationCounters(reservations, seatReservations);
+        ReservationStatusChangedEvent confirmation = new ReservationStatusChangedEvent(1L, 2L, "PENDING", "CONFIRMED", 2, BigDecimal.TEN);
+        // The confirmation commits after the movie counts were read and is announced before the swap
+        when(reservations.countByMovieAndStatus()).thenReturn(Stream.of(new StatusCount(1L, "PENDING", 2))
+            .onClose(() -> resyncing.onReservationStatusChanged(confirmation)));
+        when(reservations.countByTheaterAndStatus()).thenReturn(Stream.of(new StatusCount(2L, "PENDING", 2)));
+        when(seatReservations.findSeatReservationCountByStatus()).thenReturn(List.of());
+
+        resyncing.resync();
+
+        assertThat(nonZero(resyncing.getReservationCountByStatus())).containsOnly(Map.entry("PENDING", 1L), Map.entry("CONFIRMED", 1L));
+        assertThat(resyncing.getCounts().get("theaters")).isEqualTo(Map.of(2L, Map.of("PENDING", 1L, "CONFIRMED", 1L)));
+    }
+
+    private Long openReservation() {
+        User user = entityManager.persist(new User("user" + System.nanoTime(), System.nanoTime() + "@example.com", "x"));
+        Reservation reservation = reservationService.createReservation(new Reservation(user, showtime, new BigDecimal("1.00"), "PENDING"));
+        entityManager.flush();
+        return reservation.getId();
+    }
+
+    private static Map<String, Long> nonZero(List<Object[]> rows) {
+        Map<String, Long> byStatus = new TreeMap<>();
+        rows.stream().filter(row -> (Long) row[1] != 0).forEach(row -> byStatus.put((String) row[0], (Long) row[1]));
+        return byStatus;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object withoutZeros(Object counts) {
+        if (counts instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new TreeMap<>();
+            ((Map<Object, Object>) map).forEach((key, value) -> {
+                Object stripped = withoutZeros(value);
+                if (!(stripped instanceof Long count && count == 0) && !(stripped instanceof Map<?, ?> inner && inner.isEmpty())) {
+                    copy.put(key, stripped);
+                }
+            });
+            return copy;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ishan.moviereservation.metrics;
+
+import com.ishan.moviereservation.dto.SalesMinute;
+import com.ishan.moviereservation.event.ReservationStatusChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SalesTickerTest {
+
+    private final SalesTicker ticker = new SalesTicker();
+
+    @Test
+    void confirmationsSellAndCancellationsRefund() {
+        ticker.onReservationStatusChanged(new ReservationStatusChangedEvent(1L, 2L, "PENDING", "CONFIRMED", 3, new BigDecimal("30.00")));
+        ticker.onReservationStatusChanged(new ReservationStatusChangedEvent(1L, 2L, "CONFIRMED", "COMPLETED", 3, new BigDecimal("30.00")));
+        ticker.onReservationStatusChanged(new ReservationStatusChangedEvent(1L, 2L, "PENDING", "CONFIRMED", 2, new BigDecimal("25.50")));
+        ticker.onReservationStatusChanged(new ReservationStatusChangedEvent(1L, 2L, "CONFIRMED", "CANCELLED", 2, new BigDecimal("25.50")));
+        ticker.onReservationStatusChanged(new ReservationStatusChangedEvent(1L, 2L, null, "PENDING", 0, new BigDecimal("1.00")));
+
+        List<SalesMinute> sales = ticker.getLast24Hours();
+        assertThat(sales).hasSize(1);
+        assertThat(sales.get(0).getReservations()).isEqualTo(1);
+        assertThat(sales.get(0).getTickets()).isEqualTo(3);
+        assertThat(sales.get(0).getAmount()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void slotsAreReusedOnceTheirMinuteIsADayOld() {
+        long start = 1_000_000;
+        ticker.record(start, 1, 2, new BigDecimal("20.00"));
+        ticker.record(start + 1, 1, 1, new BigDecimal("10.00"));
+        ticker.record(start + SalesTicker.MINUTES, 1, 4, new BigDecimal("40.00"));
+
+        List<SalesMinute> window = ticker.range(start + 1, start + SalesTicker.MINUTES);
+        assertThat(window).extracting(SalesMinute::getTickets).containsExactly(1L, 4L);
+        assertThat(ticker.range(start, start)).isEmpty();
+    }
+}
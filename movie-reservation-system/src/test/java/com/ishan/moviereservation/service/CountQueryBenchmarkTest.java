@@ -0,0 +1,166 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.entity.Reservation;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.entity.Seat;
+import com.ishan.moviereservation.entity.SeatReservation;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.entity.Theater;
+import com.ishan.moviereservation.entity.User;
+import com.ishan.moviereservation.repository.ReservationRepository;
+import com.ishan.moviereservation.repository.SeatRepository;
+import com.ishan.moviereservation.repository.SeatReservationRepository;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
+import com.ishan.moviereservation.support.H2DataJpaTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the old load-the-list-and-size() counts and collection-emptiness guards with the aggregate
+ * queries that replaced them, on a seeded dataset of ~45k rows. Opt-in, since it takes a while:
+ * <pre>mvn test -Dtest=CountQueryBenchmarkTest -Dbenchmark=true</pre>
+ */
+@H2DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CountQueryBenchmarkTest {
+
+    private static final int ROWS = 40;
+    private static final int SEATS_PER_ROW = 25;
+    private static final int SHOWTIMES = 40;
+    private static final int SEATS_PER_RESERVATION = 10;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SeatReservationRepository seatReservationRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Test
+    void aggregateQueriesBeatLoadingLists() {
+        Seeded data = seed();
+
+        System.out.printf("%n%-40s %14s %14s %16s %16s%n", "operation", "list ms", "count ms", "list bytes", "count bytes");
+        compare("showtimes of screen",
+            () -> showtimeRepository.findByScreenId(data.screenId).size(),
+            () -> showtimeRepository.countByScreenId(data.screenId));
+        compare("reservations by status",
+            () -> reservationRepository.findByStatus("CONFIRMED", Pageable.unpaged()).getNumberOfElements(),
+            () -> reservationRepository.countByStatus("CONFIRMED"));
+        compare("seat reservations of showtime",
+            () -> seatReservationRepository.findByShowtimeId(data.showtimeId).size(),
+            () -> seatReservationRepository.countByShowtimeId(data.showtimeId));
+        compare("active seat reservations",
+            () -> seatReservationRepository.findActiveSeatReservations(Pageable.unpaged()).getNumberOfElements(),
+            () -> seatReservationRepository.countByStatusNot("CANCELLED"));
+        compare("available seats for showtime",
+            () -> seatRepository.findAvailableSeatsForShowtime(data.screenId, data.emptyShowtimeId).size(),
+            () -> seatRepository.countAvailableSeatsForShowtime(data.screenId, data.emptyShowtimeId));
+        compare("showtime delete guard",
+            () -> showtimeRepository.findByIdWithReservations(data.showtimeId).orElseThrow().getReservations().isEmpty() ? 0 : 1,
+            () -> reservationRepository.existsByShowtimeId(data.showtimeId) ? 1 : 0);
+    }
+
+    private void compare(String operation, LongSupplier listBased, LongSupplier aggregate) {
+        Sample list = measure(listBased);
+        Sample count = measure(aggregate);
+        System.out.printf("%-40s %14.2f %14.2f %16d %16d%n", operation,
+            list.nanos / 1e6, count.nanos / 1e6, list.bytes, count.bytes);
+
+        assertThat(count.result).isEqualTo(list.result);
+        assertThat(count.bytes).isLessThan(list.bytes);
+    }
+
+    private Sample measure(LongSupplier operation) {
+        long result = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            result = operation.getAsLong();
+            entityManager.clear();
+        }
+        long nanos = 0;
+        long bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            result = operation.getAsLong();
+            nanos += System.nanoTime() - start;
+            bytes += THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            entityManager.clear();
+        }
+        return new Sample(result, nanos / ITERATIONS, bytes / ITERATIONS);
+    }
+
+    private Seeded seed() {
+        User user = entityManager.persist(new User("bench", "bench@example.com", "x"));
+        Movie movie = entityManager.persist(new Movie("Benchmark", "long description", 120, "Drama"));
+        Theater theater = entityManager.persist(new Theater("Bench Theater", "1 Bench Street"));
+        Screen screen = entityManager.persist(new Screen(theater, "Screen 1", ROWS * SEATS_PER_ROW));
+
+        List<Seat> seats = new ArrayList<>(ROWS * SEATS_PER_ROW);
+        for (int row = 0; row < ROWS; row++) {
+            String rowLabel = "R" + row;
+            for (int col = 1; col <= SEATS_PER_ROW; col++) {
+                seats.add(entityManager.persist(new Seat(screen, rowLabel + "-" + col, rowLabel, col)));
+            }
+        }
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        Showtime first = null;
+        for (int s = 0; s < SHOWTIMES; s++) {
+            LocalDateTime showStart = start.plusHours(3L * s);
+            Showtime showtime = entityManager.persist(
+                new Showtime(movie, screen, showStart, showStart.plusMinutes(120), new BigDecimal("10.00")));
+            first = first == null ? showtime : first;
+            // Every seat sold, in reservations of a few seats each
+            for (int offset = 0; offset < seats.size(); offset += SEATS_PER_RESERVATION) {
+                Reservation reservation = entityManager.persist(
+                    new Reservation(user, showtime, new BigDecimal("100.00"), offset % 3 == 0 ? "HELD" : "CONFIRMED"));
+                for (int i = offset; i < offset + SEATS_PER_RESERVATION; i++) {
+                    entityManager.persist(new SeatReservation(reservation, seats.get(i), showtime, "PAID"));
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        LocalDateTime emptyStart = start.plusHours(3L * SHOWTIMES);
+        Showtime empty = entityManager.persist(
+            new Showtime(movie, entityManager.find(Screen.class, screen.getId()), emptyStart, emptyStart.plusMinutes(120), new BigDecimal("10.00")));
+        entityManager.flush();
+        entityManager.clear();
+        return new Seeded(screen.getId(), first.getId(), empty.getId());
+    }
+
+    private record Seeded(Long screenId, Long showtimeId, Long emptyShowtimeId) {
+    }
+
+    private record Sample(long result, long nanos, long bytes) {
+    }
+}
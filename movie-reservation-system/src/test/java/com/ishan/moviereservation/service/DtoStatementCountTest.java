@@ -0,0 +1,166 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.MovieResponse;
+import com.ishan.moviereservation.dto.ScreenResponse;
+import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.entity.Theater;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
+import com.ishan.moviereservation.repository.TheaterRepository;
+import com.ishan.moviereservation.support.H2DataJpaTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements behind each DTO-producing read so N+1 regressions fail the build.
+ */
+@H2DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "app.jpa.strict-transactions=true"
+})
+@Import({ScreenService.class, MovieService.class, JpaConfig.class})
+class DtoStatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ScreenService screenService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    private Statistics statistics;
+    private Long theaterId;
+    private Long screenId;
+    private Long movieId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Movie movie = entityManager.persist(new Movie("Alien", "space horror", 117, "Horror"));
+        entityManager.persist(new Movie("Heat", "crime", 170, "Crime"));
+        movieId = movie.getId();
+
+        for (int t = 0; t < 3; t++) {
+            Theater theater = entityManager.persist(new Theater("Theater " + t, "Street " + t));
+            theaterId = theater.getId();
+            for (int s = 0; s < 4; s++) {
+                Screen screen = entityManager.persist(new Screen(theater, "Screen " + s, 100));
+                screenId = screen.getId();
+                LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10 + 3 * s);
+                entityManager.persist(new Showtime(movie, screen, start, start.plusMinutes(117), new BigDecimal("10.00")));
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void screenPageIsOneSelectAndOneCount() {
+        assertThat(screenService.getAllScreens(PageRequest.of(0, 5)).getContent())
+            .hasSize(5)
+            .allSatisfy(screen -> assertThat(screen.getTheaterName()).isNotNull());
+        assertStatements(2);
+    }
+
+    @Test
+    void screenDetailFetchesTheaterInSameQuery() {
+        ScreenResponse screen = screenService.getScreenById(screenId);
+        assertThat(screen.getTheaterName()).isEqualTo("Theater 2");
+        assertStatements(1);
+    }
+
+    @Test
+    void screensOfTheaterAreOneQuery() {
+        assertThat(screenService.getScreensByTheater(theaterId))
+            .hasSize(4)
+            .allSatisfy(screen -> assertThat(screen.getTheaterName()).isEqualTo("Theater 2"));
+        assertStatements(1);
+    }
+
+    @Test
+    void moviePageIsOneSelectAndOneCount() {
+        assertThat(movieService.getAllMovies(PageRequest.of(0, 1)).getContent()).hasSize(1);
+        assertStatements(2);
+    }
+
+    @Test
+    void movieDetailIsOneQuery() {
+        MovieResponse movie = movieService.getMovieById(movieId);
+        assertThat(movie.getTitle()).isEqualTo("Alien");
+        assertThat(movie.getDescription()).isEqualTo("space horror");
+        assertStatements(1);
+    }
+
+    @Test
+    void movieSearchIsOneQueryWithoutDescriptions() {
+        assertThat(movieService.searchMovies("e", null))
+            .hasSize(2)
+            .allSatisfy(movie -> assertThat(movie.getDescription()).isNull());
+        assertStatements(1);
+    }
+
+    @Test
+    void loadingMovieLeavesTextColumnsUnfetched() {
+        Movie movie = entityManager.find(Movie.class, movieId);
+        assertThat(Hibernate.isPropertyInitialized(movie, "description")).isFalse();
+        assertThat(Hibernate.isPropertyInitialized(movie, "posterUrl")).isFalse();
+        assertStatements(1);
+
+        assertThat(movie.getDescription()).isEqualTo("space horror");
+        assertStatements(2);
+    }
+
+    @Test
+    void showtimesOfMovieFetchMovieScreenAndTheaterInSameQuery() {
+        List<Showtime> showtimes = showtimeRepository.findWithMovieAndScreenByMovieIdOrderByStartTimeAsc(movieId);
+        assertThat(showtimes).hasSize(12);
+        showtimes.forEach(showtime -> {
+            assertThat(showtime.getMovie().getTitle()).isEqualTo("Alien");
+            assertThat(showtime.getScreen().getTheater().getName()).startsWith("Theater");
+        });
+        assertStatements(1);
+    }
+
+    @Test
+    void lazyCollectionsAreBatchFetched() {
+        List<Theater> theaters = theaterRepository.findAll();
+        assertThat(theaters).hasSize(3);
+        theaters.forEach(theater -> assertThat(theater.getScreens()).hasSize(4));
+        // One query for the theaters and one batch for all of their screens
+        assertStatements(2);
+    }
+
+    private void assertStatements(long expected) {
+        assertThat(statistics.getPrepareStatementCount()).as("prepared SQL statements").isEqualTo(expected);
+    }
+}
@@ -0,0 +1,93 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.OccupancyHeatmap;
+import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.entity.Theater;
+import com.ishan.moviereservation.index.ShowtimeOccupancyIndex;
+import com.ishan.moviereservation.support.BookingFixture;
+import com.ishan.moviereservation.support.H2DataJpaTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The heatmap must add up every showtime of the theater in its screen, day and starting hour, whatever
+ * way the fork-join reduction splits the rows.
+ */
+@H2DataJpaTest
+@Import({OccupancyReportService.class, ShowtimeOccupancyService.class, ShowtimeOccupancyIndex.class, JpaConfig.class})
+class OccupancyReportTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OccupancyReportService occupancyReportService;
+
+    @Autowired
+    private ShowtimeOccupancyService occupancyService;
+
+    @Autowired
+    private BookingFixture fixture;
+
+    @Test
+    void showtimesAreSummedByScreenDayAndStartingHour() {
+        Movie movie = fixture.movie();
+        Theater theater = fixture.theater();
+        Theater elsewhere = entityManager.persist(new Theater("Elsewhere", "Avenue"));
+        Screen first = screen(theater, "Screen 1", 4);
+        Screen second = screen(theater, "Screen, 2", 2);
+        Screen other = screen(elsewhere, "Other", 2);
+        LocalDate day = LocalDate.of(2030, 1, 1);
+
+        List<Showtime> showtimes = new ArrayList<>();
+        // Enough showtimes at 10:00 on the first screen for the reduction to fork
+        for (int i = 0; i < 5000; i++) {
+            showtimes.add(fixture.showtime(movie, first, day.atTime(10, i % 60)));
+        }
+        Showtime evening = fixture.showtime(movie, second, day.plusDays(1).atTime(21, 30));
+        fixture.showtime(movie, other, day.atTime(10, 0));
+        fixture.showtime(movie, first, day.plusDays(2).atTime(10, 0));
+        entityManager.flush();
+        occupancyService.initialize(showtimes.stream().map(Showtime::getId).toList());
+        occupancyService.initialize(List.of(evening.getId()));
+        occupancyService.adjust(showtimes.get(0).getId(), 3, 0);
+        occupancyService.adjust(evening.getId(), 1, 1);
+        entityManager.clear();
+
+        OccupancyHeatmap heatmap = occupancyReportService.getHeatmap(theater.getId(), day, day.plusDays(1));
+
+        assertThat(heatmap.getScreenIds()).containsExactly(first.getId(), second.getId());
+        assertThat(heatmap.getDays()).hasSize(2);
+        OccupancyHeatmap.Day morning = heatmap.getDays().get(0);
+        assertThat(morning.getShowtimes()[0][10]).isEqualTo(5000);
+        assertThat(morning.getCapacity()[0][10]).isEqualTo(20000);
+        assertThat(morning.getSold()[0][10]).isEqualTo(3);
+        assertThat(morning.getShowtimes()[1][10]).isZero();
+        OccupancyHeatmap.Day next = heatmap.getDays().get(1);
+        assertThat(next.getShowtimes()[1][21]).isEqualTo(1);
+        assertThat(next.getOccupancyPercent()[1][21]).isEqualTo(50);
+        assertThat(next.getShowtimes()[0]).containsOnly(0);
+
+        assertThat(occupancyReportService.toCsv(heatmap)).isEqualTo(
+            "date,screen_id,screen_name,hour,showtimes,sold,capacity,occupancy_pct\n"
+                + "2030-01-01," + first.getId() + ",Screen 1,10,5000,3,20000,0\n"
+                + "2030-01-02," + second.getId() + ",\"Screen, 2\",21,1,1,2,50\n");
+    }
+
+    private Screen screen(Theater theater, String name, int seats) {
+        Screen screen = fixture.screen(theater, name, seats);
+        fixture.row(screen, "A", seats);
+        return screen;
+    }
+}
@@ -0,0 +1,244 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.SalesSummary;
+import com.ishan.moviereservation.entity.DailySales;
+import com.ishan.moviereservation.exception.ResultSetTooLargeException;
+import com.ishan.moviereservation.entity.HourlySales;
+import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.entity.Reservation;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.entity.Seat;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.entity.User;
+import com.ishan.moviereservation.index.ShowtimeOccupancyIndex;
+import com.ishan.moviereservation.metrics.ReservationCounters;
+import com.ishan.moviereservation.repository.DailySalesRepository;
+import com.ishan.moviereservation.repository.HourlySalesRepository;
+import com.ishan.moviereservation.repository.ReservationRepository;
+import com.ishan.moviereservation.support.BookingFixture;
+import com.ishan.moviereservation.support.H2DataJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The sales rollups kept by the booking path must match a recount from the reservations table,
+ * and revenue read from them must match summing the reservations directly.
+ */
+@H2DataJpaTest(properties = {
+    "app.jpa.max-unbounded-rows=" + SalesRollupTest.MAX_UNBOUNDED_ROWS
+})
+@Import({ReservationService.class, SeatReservationService.class, ShowtimeOccupancyService.class, SalesRollupService.class,
+    ShowtimeOccupancyIndex.class, ReservationCounters.class, JpaConfig.class})
+class SalesRollupTest {
+
+    static final int MAX_UNBOUNDED_ROWS = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private HourlySalesRepository hourlySalesRepository;
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private BookingFixture fixture;
+
+    private Movie movie;
+    private Showtime showtime;
+    private List<Long> seatIds;
+
+    @BeforeEach
+    void setUp() {
+        movie = fixture.movie();
+        Screen screen = fixture.screen(fixture.theater(), "Screen 1", 10);
+        seatIds = fixture.row(screen, "A", 10).stream().map(Seat::getId).toList();
+        showtime = fixture.showtime(movie, screen, LocalDateTime.now().plusDays(1));
+        entityManager.flush();
+    }
+
+    @Test
+    void bookingPathKeepsRollupsEqualToARecount() {
+        Long confirmed = openReservation();
+        seatReservationService.holdSeats(confirmed, seatIds.subList(0, 3));
+        reservationService.confirmReservation(confirmed);
+        Long cancelled = openReservation();
+        seatReservationService.holdSeats(cancelled, seatIds.subList(3, 5));
+        reservationService.cancelReservation(cancelled);
+        Long pending = openReservation();
+        seatReservationService.holdSeats(pending, seatIds.subList(5, 9));
+        seatReservationService.deleteById(seatReservationService.findByReservationId(pending).get(0).getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<HourlySales> hourly = hourlySalesRepository.findAll();
+        List<DailySales> daily = dailySalesRepository.findAll();
+        assertThat(hourly).extracting(HourlySales::getStatus, HourlySales::getReservations, HourlySales::getTickets, HourlySales::getAmount)
+            .contains(
+                tuple("CONFIRMED", 1L, 3L, new BigDecimal("31.00")),
+                tuple("CANCELLED", 1L, 0L, new BigDecimal("21.00")),
+                tuple("PENDING", 1L, 3L, new BigDecimal("41.00")));
+        entityManager.clear();
+
+        salesRollupService.rebuildDay(LocalDate.now());
+        entityManager.flush();
+        entityManager.clear();
+        assertThat(hourlySalesRepository.findAll()).filteredOn(row -> row.getReservations() != 0).containsExactlyInAnyOrderElementsOf(
+            hourly.stream().filter(row -> row.getReservations() != 0).toList());
+        assertThat(dailySalesRepository.findAll()).filteredOn(row -> row.getReservations() != 0).containsExactlyInAnyOrderElementsOf(
+            daily.stream().filter(row -> row.getReservations() != 0).toList());
+    }
+
+    @Test
+    void revenueFromRollupsMatchesSummingReservations() {
+        LocalDateTime base = LocalDate.now().minusDays(5).atStartOfDay();
+        List<LocalDateTime> createdAt = List.of(base.plusMinutes(10), base.plusHours(1).plusMinutes(59), base.plusHours(5),
+            base.plusDays(1).plusHours(12).plusMinutes(30), base.plusDays(2).plusMinutes(1), base.plusDays(3).plusHours(23).plusMinutes(59));
+        for (LocalDateTime time : createdAt) {
+            Long id = openReservation();
+            seatReservationService.holdSeats(id, seatIds.subList(createdAt.indexOf(time), createdAt.indexOf(time) + 1));
+            reservationService.confirmReservation(id);
+            entityManager.flush();
+            entityManager.getEntityManager().createQuery("UPDATE Reservation r SET r.createdAt = :createdAt WHERE r.id = :id")
+                .setParameter("createdAt", time).setParameter("id", id).executeUpdate();
+        }
+        for (int day = 0; day < 4; day++) {
+            salesRollupService.rebuildDay(base.toLocalDate().plusDays(day));
+        }
+        entityManager.flush();
+
+        List<LocalDateTime> bounds = List.of(base.minusHours(1), base, base.plusMinutes(5), base.plusMinutes(30), base.plusHours(1).plusMinutes(59),
+            base.plusHours(2), base.plusDays(1).plusHours(3).plusMinutes(20), base.plusDays(2), base.plusDays(3).plusHours(23).plusMinutes(59).plusSeconds(1),
+            base.plusDays(4));
+        for (LocalDateTime from : bounds) {
+            for (LocalDateTime to : bounds) {
+                BigDecimal expected = from.isBefore(to)
+                    ? reservationRepository.sumAmountByStatusAndCreatedAtRange("CONFIRMED", from, to) : BigDecimal.ZERO;
+                assertThat(salesRollupService.getRevenue(from, to)).as("revenue from %s to %s", from, to).isEqualByComparingTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void migrationBackfillMatchesRebuildingEachDay() throws IOException {
+        LocalDateTime base = LocalDate.now().minusDays(3).atStartOfDay();
+        List<LocalDateTime> createdAt = List.of(base.plusMinutes(5), base.plusMinutes(50), base.plusHours(13).plusMinutes(20),
+            base.plusDays(1).minusMinutes(1), base.plusDays(1), base.plusDays(2).plusHours(23).plusMinutes(59));
+        int nextSeat = 0;
+        for (int i = 0; i < createdAt.size(); i++) {
+            Long id = openReservation();
+            int seats = 1 + i % 2;
+            seatReservationService.holdSeats(id, seatIds.subList(nextSeat, nextSeat + seats));
+            nextSeat += seats;
+            if (i % 3 == 0) {
+                reservationService.confirmReservation(id);
+            } else if (i % 3 == 1) {
+                reservationService.cancelReservation(id);
+            }
+            entityManager.flush();
+            entityManager.getEntityManager().createQuery("UPDATE Reservation r SET r.createdAt = :createdAt WHERE r.id = :id")
+                .setParameter("createdAt", createdAt.get(i)).setParameter("id", id).executeUpdate();
+        }
+        hourlySalesRepository.deleteAllInBatch();
+        dailySalesRepository.deleteAllInBatch();
+        for (int day = 0; day < 3; day++) {
+            salesRollupService.rebuildDay(base.toLocalDate().plusDays(day));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<HourlySales> hourly = hourlySalesRepository.findAll();
+        List<DailySales> daily = dailySalesRepository.findAll();
+        assertThat(hourly).hasSize(6);
+        assertThat(daily).hasSize(5);
+
+        hourlySalesRepository.deleteAllInBatch();
+        dailySalesRepository.deleteAllInBatch();
+        String migration = new ClassPathResource("db/migration/V7__create_sales_rollups.sql").getContentAsString(StandardCharsets.UTF_8);
+        for (String statement : migration.replaceAll("(?m)^--.*$", "").split(";")) {
+            if (statement.strip().startsWith("INSERT")) {
+                entityManager.getEntityManager().createNativeQuery(statement).executeUpdate();
+            }
+        }
+        entityManager.clear();
+
+        assertThat(hourlySalesRepository.findAll()).containsExactlyInAnyOrderElementsOf(hourly);
+        assertThat(dailySalesRepository.findAll()).containsExactlyInAnyOrderElementsOf(daily);
+    }
+
+    @Test
+    void salesReportGroupsDailyRowsByMovie() {
+        Long reservationId = openReservation();
+        seatReservationService.holdSeats(reservationId, seatIds.subList(0, 2));
+        reservationService.confirmReservation(reservationId);
+        entityManager.flush();
+
+        Page<SalesSummary> sales = salesRollupService.getSales("day", "movie", LocalDate.now(), LocalDate.now(), PageRequest.of(0, 20));
+        assertThat(sales.getContent()).filteredOn(summary -> summary.getStatus().equals("CONFIRMED")).singleElement()
+            .isEqualTo(new SalesSummary(LocalDate.now().atStartOfDay(), movie.getId(), "CONFIRMED", 1, 2, new BigDecimal("21.00")));
+    }
+
+    @Test
+    void salesReportLargerThanTheUnboundedLimitIsReadInPages() {
+        LocalDateTime hour = LocalDate.now().minusDays(1).atStartOfDay();
+        int rows = MAX_UNBOUNDED_ROWS * 2 + 5;
+        for (int i = 0; i < rows; i++) {
+            hourlySalesRepository.add(hour.plusHours(i % 24), 1000L + i, "CONFIRMED", movie.getId(), 1L, 1, 2, new BigDecimal("5.00"));
+        }
+        entityManager.flush();
+
+        assertThatThrownBy(() -> salesRollupService.getSales("hour", "showtime", hour.toLocalDate(), hour.toLocalDate(), Pageable.unpaged()))
+            .isInstanceOf(ResultSetTooLargeException.class);
+
+        for (String groupBy : List.of("movie", "showtime")) {
+            List<SalesSummary> all = new ArrayList<>();
+            Page<SalesSummary> page = salesRollupService.getSales("hour", groupBy, hour.toLocalDate(), hour.toLocalDate(), PageRequest.of(0, MAX_UNBOUNDED_ROWS));
+            all.addAll(page.getContent());
+            while (page.hasNext()) {
+                page = salesRollupService.getSales("hour", groupBy, hour.toLocalDate(), hour.toLocalDate(), page.nextPageable());
+                all.addAll(page.getContent());
+            }
+            assertThat(all).as(groupBy).hasSize((int) page.getTotalElements()).hasSizeGreaterThan(MAX_UNBOUNDED_ROWS);
+            assertThat(all.stream().mapToLong(SalesSummary::getReservations).sum()).as(groupBy).isEqualTo(rows);
+        }
+    }
+
+    private Long openReservation() {
+        User user = entityManager.persist(new User("user" + System.nanoTime(), System.nanoTime() + "@example.com", "x"));
+        Reservation reservation = reservationService.createReservation(new Reservation(user, showtime, new BigDecimal("1.00"), "PENDING"));
+        entityManager.flush();
+        return reservation.getId();
+    }
+}
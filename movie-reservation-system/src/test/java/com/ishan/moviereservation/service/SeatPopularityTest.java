@@ -0,0 +1,89 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.config.CacheConfig;
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.SeatPopularity;
+import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.entity.Seat;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.event.SeatLayoutChangedEvent;
+import com.ishan.moviereservation.index.ShowtimeOccupancyIndex;
+import com.ishan.moviereservation.support.BookingFixture;
+import com.ishan.moviereservation.support.H2DataJpaTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seat popularity must count held and sold seats of showtimes in the range, lined up with the screen layout.
+ */
+@H2DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({SeatService.class, SeatPopularityCacheEvictor.class, ShowtimeOccupancyService.class, ShowtimeOccupancyIndex.class,
+    CacheConfig.class, JpaConfig.class})
+class SeatPopularityTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private SeatPopularityCacheEvictor cacheEvictor;
+
+    @Autowired
+    private BookingFixture fixture;
+
+    @Test
+    void bookingsOfShowtimesInRangeAreCountedPerSeatAndCached() {
+        Movie movie = fixture.movie();
+        Screen screen = fixture.screen(fixture.theater(), "Screen 1", 4);
+        // Persisted out of layout order
+        List<Seat> seats = new ArrayList<>();
+        for (String label : List.of("B1", "A2", "A1", "B2")) {
+            seats.add(entityManager.persist(new Seat(screen, label, label.substring(0, 1), Integer.parseInt(label.substring(1)))));
+        }
+        Seat b1 = seats.get(0);
+        Seat a2 = seats.get(1);
+        LocalDate day = LocalDate.of(2030, 1, 1);
+        Showtime first = fixture.showtime(movie, screen, day.atTime(18, 0));
+        Showtime second = fixture.showtime(movie, screen, day.plusDays(1).atTime(23, 30));
+        Showtime outside = fixture.showtime(movie, screen, day.plusDays(2).atTime(0, 0));
+        fixture.book(first, a2, "PAID");
+        fixture.book(first, b1, "HELD");
+        fixture.book(second, a2, "PAID");
+        fixture.book(second, b1, "CANCELLED");
+        fixture.book(outside, a2, "PAID");
+        entityManager.flush();
+        entityManager.clear();
+
+        SeatPopularity popularity = seatService.getSeatPopularity(screen.getId(), day, day.plusDays(1));
+
+        assertThat(popularity.getLabels()).containsExactly("A1", "A2", "B1", "B2");
+        assertThat(popularity.getBookings()).containsExactly(0, 2, 1, 0);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(seatService.getSeatPopularity(screen.getId(), day, day.plusDays(1))).isSameAs(popularity);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        cacheEvictor.onSeatLayoutChanged(new SeatLayoutChangedEvent(screen.getId()));
+        assertThat(seatService.getSeatPopularity(screen.getId(), day, day.plusDays(1))).isNotSameAs(popularity);
+    }
+}
@@ -0,0 +1,281 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.config.JpaConfig;
+import com.ishan.moviereservation.dto.OccupancySummary;
+import com.ishan.moviereservation.dto.SeatPosition;
+import com.ishan.moviereservation.dto.ShowtimeSummary;
+import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.entity.Reservation;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.entity.Seat;
+import com.ishan.moviereservation.entity.SeatReservation;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.entity.ShowtimeOccupancy;
+import com.ishan.moviereservation.event.SeatAvailabilityChangedEvent;
+import com.ishan.moviereservation.event.SeatLayoutChangedEvent;
+import com.ishan.moviereservation.index.ContiguousSeatIndex;
+import com.ishan.moviereservation.index.ShowtimeOccupancyIndex;
+import com.ishan.moviereservation.metrics.ReservationCounters;
+import com.ishan.moviereservation.repository.SeatRepository;
+import com.ishan.moviereservation.repository.SeatReservationRepository;
+import com.ishan.moviereservation.repository.ShowtimeOccupancyRepository;
+import com.ishan.moviereservation.support.BookingFixture;
+import com.ishan.moviereservation.support.H2DataJpaTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The occupancy counters must follow every seat transition of the booking path exactly.
+ */
+@H2DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ReservationService.class, SeatReservationService.class, ShowtimeOccupancyService.class, SalesRollupService.class,
+    ShowtimeOccupancyIndex.class, ContiguousSeatIndex.class, ReservationCounters.class, JpaConfig.class})
+class ShowtimeOccupancyTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private ShowtimeOccupancyService occupancyService;
+
+    @Autowired
+    private ShowtimeOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private ContiguousSeatIndex contiguousSeatIndex;
+
+    @Autowired
+    private BookingFixture fixture;
+
+    private Movie movie;
+    private Screen screen;
+    private Showtime showtime;
+    private List<Long> seatIds;
+
+    @BeforeEach
+    void setUp() {
+        movie = fixture.movie();
+        screen = fixture.screen(fixture.theater(), "Screen 1", 10);
+        seatIds = fixture.row(screen, "A", 10).stream().map(Seat::getId).toList();
+        showtime = persistShowtime(LocalDateTime.now().plusDays(1));
+        entityManager.flush();
+        occupancyService.initialize(List.of(showtime.getId()));
+    }
+
+    @Test
+    void newShowtimeStartsEmptyWithScreenCapacity() {
+        assertOccupancy(10, 0, 0);
+    }
+
+    @Test
+    void holdThenConfirmMovesSeatsFromHeldToSold() {
+        Long reservationId = openReservation();
+        seatReservationService.holdSeats(reservationId, seatIds.subList(0, 3));
+        assertOccupancy(10, 0, 3);
+
+        reservationService.confirmReservation(reservationId);
+        assertOccupancy(10, 3, 0);
+    }
+
+    @Test
+    void cancellingReleasesSeatsForRebooking() {
+        Long paid = openReservation();
+        seatReservationService.holdSeats(paid, seatIds.subList(0, 2));
+        reservationService.confirmReservation(paid);
+        Long held = openReservation();
+        seatReservationService.holdSeats(held, seatIds.subList(2, 5));
+        assertOccupancy(10, 2, 3);
+
+        reservationService.cancelReservation(held);
+        reservationService.cancelReservation(paid);
+        assertOccupancy(10, 0, 0);
+
+        seatReservationService.holdSeats(openReservation(), seatIds.subList(0, 5));
+        assertOccupancy(10, 0, 5);
+    }
+
+    @Test
+    void lapsedHoldsAreExpiredAndReleased() {
+        Long lapsed = openReservation();
+        seatReservationService.holdSeats(lapsed, seatIds.subList(0, 4));
+        Long current = openReservation();
+        seatReservationService.holdSeats(current, seatIds.subList(4, 6));
+        entityManager.find(Reservation.class, lapsed).setHoldExpiry(LocalDateTime.now().minusMinutes(1));
+        entityManager.flush();
+
+        assertThat(reservationService.expireLapsedHolds(10)).isEqualTo(1);
+        assertOccupancy(10, 0, 2);
+        entityManager.clear();
+        assertThat(entityManager.find(Reservation.class, lapsed).getStatus()).isEqualTo("CANCELLED");
+        assertThat(entityManager.find(Reservation.class, current).getStatus()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void singleSeatTransitionsAreCounted() {
+        Long reservationId = openReservation();
+        List<SeatReservation> held = seatReservationService.holdSeats(reservationId, seatIds.subList(0, 2));
+        seatReservationService.cancelSeatReservation(held.get(0).getId());
+        assertOccupancy(10, 0, 1);
+
+        seatReservationService.deleteById(held.get(1).getId());
+        assertOccupancy(10, 0, 0);
+    }
+
+    @Test
+    void occupancyOfManyShowtimesIsOneQueryThenMemory() {
+        List<Long> showtimeIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            showtimeIds.add(persistShowtime(LocalDateTime.now().plusDays(2).plusHours(3L * i)).getId());
+        }
+        entityManager.flush();
+        occupancyService.initialize(showtimeIds);
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(occupancyService.getOccupancy(showtimeIds).values())
+            .hasSize(200)
+            .allSatisfy(occupancy -> assertThat(occupancy.getAvailable()).isEqualTo(10));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        occupancyService.getOccupancy(showtimeIds);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void availabilityCountsShowtimesWithoutCountersInOneGroupedQuery() {
+        Long reservationId = openReservation();
+        seatReservationService.holdSeats(reservationId, seatIds.subList(0, 3));
+        reservationService.confirmReservation(reservationId);
+        seatReservationService.holdSeats(openReservation(), seatIds.subList(3, 5));
+        Showtime uncounted = persistShowtime(LocalDateTime.now().plusDays(3));
+        occupancyRepository.deleteById(showtime.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<OccupancySummary> availability = occupancyService.getAvailability(List.of(showtime.getId(), uncounted.getId(), -1L));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        assertThat(availability).extracting(OccupancySummary::getShowtimeId).containsExactly(showtime.getId(), uncounted.getId());
+        assertThat(availability.get(0)).isEqualTo(new OccupancySummary(showtime.getId(), 10, 3, 2));
+        assertThat(availability.get(0).getAvailable()).isEqualTo(5);
+        assertThat(availability.get(1)).isEqualTo(new OccupancySummary(uncounted.getId(), 10, 0, 0));
+    }
+
+    @Test
+    void seatsTogetherFollowHeldSeatsWithinRows() {
+        Showtime other = persistShowtime(LocalDateTime.now().plusDays(4));
+        fixture.row(screen, "B", 2);
+        seatReservationService.holdSeats(openReservation(), List.of(seatIds.get(2), seatIds.get(6)));
+        entityManager.flush();
+        ShowtimeSummary held = summary(showtime);
+        ShowtimeSummary empty = summary(other);
+
+        // A3 and A7 held leave A4-A6 and A8-A10; row B's two seats never join row A's
+        assertThat(contiguousSeatIndex.maxSeatsTogether(held)).isEqualTo(3);
+        assertThat(contiguousSeatIndex.maxSeatsTogether(empty)).isEqualTo(10);
+        assertThat(contiguousSeatIndex.withSeatsTogether(List.of(empty, held), 3)).containsExactly(empty, held);
+        assertThat(contiguousSeatIndex.withSeatsTogether(List.of(empty, held), 4)).containsExactly(empty);
+
+        contiguousSeatIndex.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(showtime.getId(), List.of(), List.of(seatIds.get(6))));
+        assertThat(contiguousSeatIndex.withSeatsTogether(List.of(empty, held), 7)).containsExactly(empty, held);
+    }
+
+    @Test
+    void holdAnnouncedWhileSeatRunsLoadIsReplayed() {
+        SeatRepository seats = mock(SeatRepository.class);
+        SeatReservationRepository seatReservations = mock(SeatReservationRepository.class);
+        ContiguousSeatIndex index = new ContiguousSeatIndex(seats, seatReservations);
+        when(seats.findPositionsByScreenIdIn(List.of(2L))).thenReturn(List.of(
+            new SeatPosition(11L, 2L, "A", 1), new SeatPosition(12L, 2L, "A", 2), new SeatPosition(13L, 2L, "A", 3)));
+        // A2 is held and announced after the taken seats were read
+        when(seatReservations.findTakenSeatsByShowtimeIdIn(List.of(1L))).thenAnswer(invocation -> {
+            index.onSeatAvailabilityChanged(new SeatAvailabilityChangedEvent(1L, List.of(12L), List.of()));
+            return List.of();
+        });
+
+        assertThat(index.maxSeatsTogether(summary(1L, 2L))).isEqualTo(1);
+        assertThat(index.maxSeatsTogether(summary(1L, 2L))).isEqualTo(1);
+        verify(seatReservations, times(1)).findTakenSeatsByShowtimeIdIn(any());
+    }
+
+    @Test
+    void layoutDroppedWhileSeatRunsLoadIsServedButNotKept() {
+        SeatRepository seats = mock(SeatRepository.class);
+        SeatReservationRepository seatReservations = mock(SeatReservationRepository.class);
+        ContiguousSeatIndex index = new ContiguousSeatIndex(seats, seatReservations);
+        when(seats.findPositionsByScreenIdIn(List.of(2L))).thenReturn(List.of(
+            new SeatPosition(11L, 2L, "A", 1), new SeatPosition(12L, 2L, "A", 2)));
+        when(seatReservations.findTakenSeatsByShowtimeIdIn(List.of(1L))).thenReturn(List.of());
+        assertThat(index.maxSeatsTogether(summary(1L, 2L))).isEqualTo(2);
+        // The cached layout goes away between being picked up and being laid out
+        when(seatReservations.findTakenSeatsByShowtimeIdIn(List.of(3L))).thenAnswer(invocation -> {
+            index.onSeatLayoutChanged(new SeatLayoutChangedEvent(2L));
+            return List.of();
+        });
+
+        assertThat(index.maxSeatsTogether(summary(3L, 2L))).isEqualTo(2);
+        assertThat(index.maxSeatsTogether(summary(3L, 2L))).isEqualTo(2);
+        verify(seats, times(2)).findPositionsByScreenIdIn(List.of(2L));
+        verify(seatReservations, times(2)).findTakenSeatsByShowtimeIdIn(List.of(3L));
+    }
+
+    private static ShowtimeSummary summary(Long showtimeId, Long screenId) {
+        return new ShowtimeSummary(showtimeId, null, null, screenId, null, null, null, null, null);
+    }
+
+    private ShowtimeSummary summary(Showtime showtime) {
+        return new ShowtimeSummary(showtime.getId(), movie.getId(), movie.getTitle(), screen.getId(), screen.getName(),
+            screen.getTheater().getId(), showtime.getStartTime(), showtime.getEndTime(), showtime.getTicketPrice());
+    }
+
+    private Showtime persistShowtime(LocalDateTime start) {
+        return fixture.showtime(movie, screen, start);
+    }
+
+    private Long openReservation() {
+        Reservation reservation = entityManager.persist(new Reservation(null, showtime, new BigDecimal("1.00"), "PENDING"));
+        entityManager.flush();
+        return reservation.getId();
+    }
+
+    private void assertOccupancy(int capacity, int sold, int held) {
+        entityManager.flush();
+        entityManager.clear();
+        ShowtimeOccupancy occupancy = occupancyRepository.findById(showtime.getId()).orElseThrow();
+        assertThat(occupancy.getCapacity()).isEqualTo(capacity);
+        assertThat(occupancy.getSold()).isEqualTo(sold);
+        assertThat(occupancy.getHeld()).isEqualTo(held);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ishan.moviereservation.service;
+
+import com.ishan.moviereservation.index.TheaterGeoIndex;
+import com.ishan.moviereservation.repository.ScreenRepository;
+import com.ishan.moviereservation.repository.ShowtimeRepository;
+import com.ishan.moviereservation.repository.TheaterRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class TheaterServiceTest {
+
+    private final TheaterRepository theaterRepository = mock(TheaterRepository.class);
+    private final TheaterGeoIndex geoIndex = mock(TheaterGeoIndex.class);
+    private final TheaterService theaterService = new TheaterService(theaterRepository,
+        mock(ShowtimeRepository.class), mock(ScreenRepository.class), geoIndex, mock(ApplicationEventPublisher.class));
+
+    @ParameterizedTest
+    @CsvSource({
+        "NaN, 0, 10",
+        "0, NaN, 10",
+        "Infinity, 0, 10",
+        "0, -Infinity, 10",
+        "91, 0, 10",
+        "0, 0, NaN",
+        "0, 0, Infinity",
+        "0, 0, 0"
+    })
+    void nearbySearchRejectsNonFiniteOrOutOfRangeInput(double latitude, double longitude, double radiusKm) {
+        assertThatThrownBy(() -> theaterService.findNearbyTheaters(latitude, longitude, radiusKm, 5))
+            .isInstanceOf(RuntimeException.class);
+        verifyNoInteractions(geoIndex);
+    }
+
+    @Test
+    void searchEscapesOnlyTheLikePatternAndRanksByTheRawTerm() {
+        theaterService.searchTheaters("  50%_off\\  ");
+
+        verify(theaterRepository).findByNameOrAddressContainingIgnoreCase("50\\%\\_off\\\\", "50%_off\\");
+    }
+}
@@ -0,0 +1,67 @@
+package com.ishan.moviereservation.support;
+
+import com.ishan.moviereservation.entity.Movie;
+import com.ishan.moviereservation.entity.Reservation;
+import com.ishan.moviereservation.entity.Screen;
+import com.ishan.moviereservation.entity.Seat;
+import com.ishan.moviereservation.entity.SeatReservation;
+import com.ishan.moviereservation.entity.Showtime;
+import com.ishan.moviereservation.entity.Theater;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists the movie, theater, screens, seats and showtimes the JPA tests book against
+ */
+@TestComponent
+public class BookingFixture {
+
+    private final TestEntityManager entityManager;
+
+    public BookingFixture(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public Movie movie() {
+        return entityManager.persist(new Movie("Alien", "space horror", 117, "Horror"));
+    }
+
+    public Theater theater() {
+        return entityManager.persist(new Theater("Theater", "Street"));
+    }
+
+    public Screen screen(Theater theater, String name, int capacity) {
+        return entityManager.persist(new Screen(theater, name, capacity));
+    }
+
+    /**
+     * Seats {@code 1..seats} of a row, labelled like {@code A1}
+     */
+    public List<Seat> row(Screen screen, String row, int seats) {
+        List<Seat> persisted = new ArrayList<>();
+        for (int col = 1; col <= seats; col++) {
+            persisted.add(entityManager.persist(new Seat(screen, row + col, row, col)));
+        }
+        return persisted;
+    }
+
+    /**
+     * A showtime running for the movie's 117 minutes at 10.00 a ticket
+     */
+    public Showtime showtime(Movie movie, Screen screen, LocalDateTime start) {
+        return entityManager.persist(new Showtime(movie, screen, start, start.plusMinutes(117), new BigDecimal("10.00")));
+    }
+
+    /**
+     * A confirmed reservation holding a single seat in the given status
+     */
+    public SeatReservation book(Showtime showtime, Seat seat, String status) {
+        Reservation reservation = entityManager.persist(new Reservation(null, showtime, new BigDecimal("10.00"), "CONFIRMED"));
+        return entityManager.persist(new SeatReservation(reservation, seat, showtime, status));
+    }
+}
@@ -0,0 +1,33 @@
+package com.ishan.moviereservation.support;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A {@link DataJpaTest} on embedded H2 with the entity-generated schema of the {@code jpa-test} profile,
+ * and a {@link BookingFixture} to persist the catalog with.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest
+@ActiveProfiles("jpa-test")
+@Import(BookingFixture.class)
+public @interface H2DataJpaTest {
+
+    /**
+     * Properties added on top of the {@code jpa-test} profile for this test only
+     */
+    @AliasFor(annotation = DataJpaTest.class, attribute = "properties")
+    String[] properties() default {};
+}